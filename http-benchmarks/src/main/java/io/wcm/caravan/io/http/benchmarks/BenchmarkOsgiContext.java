@@ -0,0 +1,38 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.benchmarks;
+
+import org.apache.sling.testing.mock.osgi.context.OsgiContextImpl;
+
+/**
+ * OSGi mock context with public lifecycle methods, so it can be used from JMH setup and teardown methods instead of
+ * a JUnit rule.
+ */
+class BenchmarkOsgiContext extends OsgiContextImpl {
+
+  void setUp() {
+    setUpContext();
+  }
+
+  void tearDown() {
+    tearDownContext();
+  }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableMap;
+
+import io.wcm.caravan.io.http.CaravanHttpClient;
+import io.wcm.caravan.io.http.impl.ApacheHttpClient;
+import io.wcm.caravan.io.http.impl.ArchaiusConfig;
+import io.wcm.caravan.io.http.impl.CaravanHttpClientConfig;
+import io.wcm.caravan.io.http.impl.CaravanHttpClientImpl;
+import io.wcm.caravan.io.http.impl.CaravanHttpServiceConfig;
+import io.wcm.caravan.io.http.impl.ribbon.CachingLoadBalancerFactory;
+import io.wcm.caravan.io.http.impl.ribbon.LoadBalancerCommandFactory;
+import io.wcm.caravan.io.http.impl.ribbon.RibbonHttpClient;
+import io.wcm.caravan.io.http.impl.ribbon.SimpleLoadBalancerFactory;
+import io.wcm.caravan.io.http.impl.servletclient.ServletHttpClient;
+import io.wcm.caravan.io.http.request.CaravanHttpRequest;
+import io.wcm.caravan.io.http.request.CaravanHttpRequestBuilder;
+import io.wcm.caravan.io.http.response.CaravanHttpResponse;
+
+/**
+ * Full {@link CaravanHttpClientImpl#execute(CaravanHttpRequest)} chain: Ribbon server selection, Hystrix command,
+ * exception mapper, performance metrics and the hand-over to the callback threads, with an in-process stand-in for
+ * the Apache HTTP client transport.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClientExecuteBenchmark {
+
+  private static final String SERVICE_ID = "/benchmark/service";
+  private static final String HYSTRIX_THREADPOOL_KEY_OVERRIDE_PROPERTY = "hystrixThreadPoolKeyOverride";
+
+  /**
+   * Hystrix isolation: "SEMAPHORE" executes on the calling thread, "THREAD" on a Hystrix thread pool.
+   */
+  @Param({ "SEMAPHORE", "THREAD" })
+  public String isolation;
+
+  /**
+   * If true, all but the first request are answered from the in-memory response cache.
+   */
+  @Param({ "false", "true" })
+  public boolean responseCache;
+
+  private BenchmarkOsgiContext context;
+  private CaravanHttpClient client;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    ArchaiusConfig.initialize();
+    context = new BenchmarkOsgiContext();
+    context.setUp();
+
+    context.registerInjectActivateService(new SimpleLoadBalancerFactory());
+    context.registerInjectActivateService(new CachingLoadBalancerFactory());
+    context.registerInjectActivateService(new LoadBalancerCommandFactory());
+    context.registerService(ApacheHttpClient.class, new InProcessApacheHttpClient());
+    context.registerInjectActivateService(new ServletHttpClient());
+    context.registerInjectActivateService(new RibbonHttpClient());
+
+    ImmutableMap.Builder<String, Object> serviceConfig = ImmutableMap.<String, Object>builder()
+        .put(CaravanHttpServiceConfig.SERVICE_ID_PROPERTY, SERVICE_ID)
+        .put(CaravanHttpServiceConfig.RIBBON_HOSTS_PROPERTY, "localhost:8080");
+    if ("THREAD".equals(isolation)) {
+      serviceConfig.put(HYSTRIX_THREADPOOL_KEY_OVERRIDE_PROPERTY, "benchmark");
+    }
+    context.registerInjectActivateService(new CaravanHttpServiceConfig(), serviceConfig.build());
+
+    context.registerInjectActivateService(new CaravanHttpClientConfig(), ImmutableMap.<String, Object>of(
+        CaravanHttpClientConfig.RESPONSE_CACHE_ENABLED, responseCache));
+
+    client = context.registerInjectActivateService(new CaravanHttpClientImpl());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.tearDown();
+  }
+
+  @Benchmark
+  public CaravanHttpResponse executeServiceRequest() {
+    CaravanHttpRequest request = new CaravanHttpRequestBuilder(SERVICE_ID)
+        .append("/content/products/4711.json")
+        .build();
+    return client.execute(request).toBlocking().single();
+  }
+
+  @Benchmark
+  public CaravanHttpResponse executeRequestWithoutServiceId() {
+    CaravanHttpRequest request = new CaravanHttpRequestBuilder()
+        .append("http://localhost:8080/content/products/4711.json")
+        .build();
+    return client.execute(request).toBlocking().single();
+  }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.lang3.StringUtils;
+
+import io.wcm.caravan.io.http.impl.ApacheHttpClient;
+import io.wcm.caravan.io.http.impl.ResolvedRequest;
+import io.wcm.caravan.io.http.request.CaravanHttpRequest;
+import io.wcm.caravan.io.http.response.CaravanHttpResponse;
+import io.wcm.caravan.io.http.response.CaravanHttpResponseBuilder;
+import rx.Observable;
+
+/**
+ * Transport stand-in that answers every request immediately with a new response instance, so the benchmarks measure
+ * the overhead of the client pipeline without any network I/O.
+ */
+class InProcessApacheHttpClient extends ApacheHttpClient {
+
+  static final byte[] BODY = StringUtils.repeat("{\"id\":4711,\"name\":\"caravan\"},", 64).getBytes(StandardCharsets.UTF_8);
+
+  @Override
+  public Observable<CaravanHttpResponse> execute(CaravanHttpRequest request) {
+    return respond();
+  }
+
+  @Override
+  public Observable<CaravanHttpResponse> execute(ResolvedRequest resolvedRequest) {
+    // called by the ribbon client for each attempt
+    return respond();
+  }
+
+  private static Observable<CaravanHttpResponse> respond() {
+    return Observable.create(subscriber -> {
+      subscriber.onNext(new CaravanHttpResponseBuilder()
+          .status(200)
+          .reason("OK")
+          .header("Content-Type", "application/json;charset=UTF-8")
+          .header("Cache-Control", "max-age=3600")
+          .body(BODY)
+          .build());
+      subscriber.onCompleted();
+    });
+  }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableMap;
+
+import io.wcm.caravan.io.http.request.CaravanHttpRequest;
+import io.wcm.caravan.io.http.request.CaravanHttpRequestBuilder;
+
+/**
+ * Building requests with {@link CaravanHttpRequestBuilder}, including the RFC 6570 URI template expansion of URL and
+ * headers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestBuilderBenchmark {
+
+  private static final String SERVICE_ID = "/benchmark/service";
+
+  private final Map<String, Object> parameters = ImmutableMap.<String, Object>of(
+      "id", "4711",
+      "query", "caravan io",
+      "page", 2,
+      "locale", "de_DE");
+
+  /**
+   * Static URL and headers without any template variables.
+   */
+  @Benchmark
+  public CaravanHttpRequest buildStatic() {
+    return new CaravanHttpRequestBuilder(SERVICE_ID)
+        .append("/content/products/4711.json")
+        .header("Accept", "application/json")
+        .header("Accept-Language", "de")
+        .build();
+  }
+
+  /**
+   * Path and query variables plus one templated header.
+   */
+  @Benchmark
+  public CaravanHttpRequest buildTemplate() {
+    return new CaravanHttpRequestBuilder(SERVICE_ID)
+        .append("/content/products/{id}.json{?query,page}")
+        .header("Accept", "application/json")
+        .header("Accept-Language", "{locale}")
+        .build(parameters);
+  }
+
+  /**
+   * Query parameters added one by one, as done by most callers that do not use a template string.
+   */
+  @Benchmark
+  public CaravanHttpRequest buildQuery() {
+    return new CaravanHttpRequestBuilder(SERVICE_ID)
+        .append("/content/search")
+        .query("query", "caravan io")
+        .query("page", 2)
+        .query("size", 20)
+        .header("Accept", "application/json")
+        .build();
+  }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.Header;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.message.BasicHeader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.Multimap;
+
+import io.wcm.caravan.io.http.impl.RequestUtil;
+import io.wcm.caravan.io.http.request.CaravanHttpRequest;
+import io.wcm.caravan.io.http.request.CaravanHttpRequestBuilder;
+
+/**
+ * Conversion between Caravan and Apache HTTP client requests and headers in {@link RequestUtil}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestUtilBenchmark {
+
+  private final CaravanHttpRequest getRequest = new CaravanHttpRequestBuilder("/benchmark/service")
+      .append("http://localhost:8080/content/products/4711.json?query=caravan&page=2")
+      .header("Accept", "application/json")
+      .header("Accept-Language", "de")
+      .header("Cache-Control", "max-age=60")
+      .build();
+
+  private final CaravanHttpRequest postRequest = new CaravanHttpRequestBuilder("/benchmark/service")
+      .method("POST")
+      .append("http://localhost:8080/content/products")
+      .header("Content-Type", "application/json")
+      .body("{\"id\":4711,\"name\":\"caravan\"}".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8)
+      .build();
+
+  private final Header[] responseHeaders = new Header[] {
+      new BasicHeader("Date", "Sat, 17 Oct 2026 10:00:00 GMT"),
+      new BasicHeader("Content-Type", "application/json;charset=UTF-8"),
+      new BasicHeader("Content-Length", "2048"),
+      new BasicHeader("Cache-Control", "public, max-age=60"),
+      new BasicHeader("ETag", "\"5f3a2b1c\""),
+      new BasicHeader("Last-Modified", "Fri, 16 Oct 2026 08:00:00 GMT"),
+      new BasicHeader("Vary", "Accept-Encoding"),
+      new BasicHeader("Vary", "Accept-Language"),
+      new BasicHeader("Server", "Apache"),
+      new BasicHeader("X-Correlation-Id", "0a1b2c3d4e5f")
+  };
+
+  @Benchmark
+  public HttpUriRequest buildGetRequest() {
+    return RequestUtil.buildHttpRequest(getRequest);
+  }
+
+  @Benchmark
+  public HttpUriRequest buildPostRequest() {
+    return RequestUtil.buildHttpRequest(postRequest);
+  }
+
+  @Benchmark
+  public Multimap<String, String> toHeadersMap() {
+    return RequestUtil.toHeadersMap(responseHeaders);
+  }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.Multimap;
+
+import io.wcm.caravan.io.http.response.CaravanHttpResponse;
+import io.wcm.caravan.io.http.response.CaravanHttpResponseBuilder;
+
+/**
+ * Construction of {@link CaravanHttpResponse} instances as done by the transports for every response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseBuilderBenchmark {
+
+  private final Multimap<String, String> headers = ImmutableListMultimap.<String, String>builder()
+      .put("Date", "Sat, 17 Oct 2026 10:00:00 GMT")
+      .put("Content-Type", "application/json;charset=UTF-8")
+      .put("Content-Length", "2048")
+      .put("Cache-Control", "public, max-age=60")
+      .put("ETag", "\"5f3a2b1c\"")
+      .put("Vary", "Accept-Encoding")
+      .put("Vary", "Accept-Language")
+      .put("Server", "Apache")
+      .build();
+
+  private final byte[] body = StringUtils.repeat("{\"id\":4711,\"name\":\"caravan\"},", 64).getBytes(StandardCharsets.UTF_8);
+
+  @Benchmark
+  public CaravanHttpResponse buildWithHeaderMap() {
+    return new CaravanHttpResponseBuilder()
+        .status(200)
+        .reason("OK")
+        .headers(headers)
+        .body(body)
+        .build();
+  }
+
+  @Benchmark
+  public CaravanHttpResponse buildWithSingleHeaders() {
+    return new CaravanHttpResponseBuilder()
+        .status(200)
+        .reason("OK")
+        .header("Content-Type", "application/json;charset=UTF-8")
+        .header("Content-Length", "2048")
+        .header("Cache-Control", "public, max-age=60")
+        .header("ETag", "\"5f3a2b1c\"")
+        .body(body)
+        .build();
+  }
+
+  /**
+   * Reading the Cache-Control header is part of every cache lookup.
+   */
+  @Benchmark
+  public Map<String, String> buildAndReadCacheControl() {
+    return buildWithHeaderMap().getCacheControl();
+  }
+
+}
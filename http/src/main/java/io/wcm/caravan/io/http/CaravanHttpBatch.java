@@ -0,0 +1,206 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.osgi.annotation.versioning.ProviderType;
+
+import com.google.common.collect.ImmutableList;
+
+import io.wcm.caravan.common.performance.PerformanceMetrics;
+import io.wcm.caravan.io.http.request.CaravanHttpRequest;
+import io.wcm.caravan.io.http.response.CaravanHttpResponse;
+import rx.Observable;
+import rx.Observable.Operator;
+import rx.Subscriber;
+import rx.functions.Func1;
+
+/**
+ * A batch of requests executed together with {@link CaravanHttpClient#execute(CaravanHttpBatch)}. At most
+ * {@link #maxConcurrency(int)} requests of the batch are in flight at the same time. The execution of the whole batch
+ * is tracked by a single {@link PerformanceMetrics} entry.
+ */
+@ProviderType
+public final class CaravanHttpBatch {
+
+  /**
+   * Default number of requests of a batch in flight at the same time
+   */
+  public static final int DEFAULT_MAX_CONCURRENCY = 10;
+
+  private final List<CaravanHttpRequest> requests;
+  private final PerformanceMetrics performanceMetrics;
+  private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+  private boolean ordered = true;
+  private boolean failFast = true;
+
+  /**
+   * @param requests Requests to execute
+   */
+  public CaravanHttpBatch(List<CaravanHttpRequest> requests) {
+    this.requests = ImmutableList.copyOf(checkNotNull(requests, "requests"));
+    String correlationId = this.requests.isEmpty() ? null : this.requests.get(0).getCorrelationId();
+    this.performanceMetrics = PerformanceMetrics.createNew("BATCH : " + this.requests.size() + " requests",
+        this.requests.isEmpty() ? "" : this.requests.get(0).getUrl(), correlationId);
+  }
+
+  /**
+   * @param value Max. number of requests in flight at the same time
+   * @return Batch
+   */
+  public CaravanHttpBatch maxConcurrency(int value) {
+    checkArgument(value > 0, "maxConcurrency must be positive: %s", value);
+    this.maxConcurrency = value;
+    return this;
+  }
+
+  /**
+   * @param value If true, results are emitted in the order of the requests. Otherwise they are emitted as they
+   *          complete.
+   * @return Batch
+   */
+  public CaravanHttpBatch ordered(boolean value) {
+    this.ordered = value;
+    return this;
+  }
+
+  /**
+   * @param value If true, the first failed request terminates the batch with its error and cancels the remaining
+   *          requests. Otherwise all requests are executed and failed requests are emitted as results with an error.
+   * @return Batch
+   */
+  public CaravanHttpBatch failFast(boolean value) {
+    this.failFast = value;
+    return this;
+  }
+
+  /**
+   * @return Requests
+   */
+  public List<CaravanHttpRequest> getRequests() {
+    return this.requests;
+  }
+
+  /**
+   * @return Max. number of requests in flight at the same time
+   */
+  public int getMaxConcurrency() {
+    return this.maxConcurrency;
+  }
+
+  /**
+   * @return true if results are emitted in the order of the requests
+   */
+  public boolean isOrdered() {
+    return this.ordered;
+  }
+
+  /**
+   * @return true if the first failed request terminates the batch
+   */
+  public boolean isFailFast() {
+    return this.failFast;
+  }
+
+  /**
+   * @return Combined performance metrics of the batch execution
+   */
+  public PerformanceMetrics getPerformanceMetrics() {
+    return this.performanceMetrics;
+  }
+
+  /**
+   * Executes the requests of this batch.
+   * @param executor Function executing a single request
+   * @return Results of the requests
+   */
+  public Observable<CaravanHttpBatchResult> execute(Func1<CaravanHttpRequest, Observable<CaravanHttpResponse>> executor) {
+    Observable<Observable<CaravanHttpBatchResult>> results = Observable.range(0, requests.size())
+        .map(index -> executeRequest(index, executor));
+    Observable<CaravanHttpBatchResult> merged = Observable.merge(results, maxConcurrency);
+    if (ordered) {
+      merged = merged.lift(new ReorderOperator());
+    }
+    return merged
+        .doOnSubscribe(performanceMetrics.getStartAction())
+        .doOnNext(performanceMetrics.getOnNextAction())
+        .doOnTerminate(performanceMetrics.getEndAction());
+  }
+
+  private Observable<CaravanHttpBatchResult> executeRequest(int index, Func1<CaravanHttpRequest, Observable<CaravanHttpResponse>> executor) {
+    CaravanHttpRequest request = requests.get(index);
+    Observable<CaravanHttpBatchResult> result = executor.call(request)
+        .take(1)
+        .map(response -> new CaravanHttpBatchResult(index, request, response, null));
+    if (failFast) {
+      return result;
+    }
+    return result.onErrorReturn(ex -> new CaravanHttpBatchResult(index, request, null, ex));
+  }
+
+  /**
+   * Buffers results that complete before their predecessors and emits them in the order of the requests.
+   */
+  private static class ReorderOperator implements Operator<CaravanHttpBatchResult, CaravanHttpBatchResult> {
+
+    @Override
+    public Subscriber<? super CaravanHttpBatchResult> call(Subscriber<? super CaravanHttpBatchResult> subscriber) {
+      Subscriber<CaravanHttpBatchResult> parent = new Subscriber<CaravanHttpBatchResult>() {
+
+        private final Map<Integer, CaravanHttpBatchResult> pending = new HashMap<>();
+        private int next;
+
+        @Override
+        public void onNext(CaravanHttpBatchResult result) {
+          pending.put(result.getIndex(), result);
+          CaravanHttpBatchResult nextResult;
+          while ((nextResult = pending.remove(next)) != null) {
+            next++;
+            subscriber.onNext(nextResult);
+          }
+        }
+
+        @Override
+        public void onError(Throwable ex) {
+          subscriber.onError(ex);
+        }
+
+        @Override
+        public void onCompleted() {
+          pending.values().stream()
+              .sorted((a, b) -> Integer.compare(a.getIndex(), b.getIndex()))
+              .forEach(subscriber::onNext);
+          subscriber.onCompleted();
+        }
+
+      };
+      subscriber.add(parent);
+      return parent;
+    }
+
+  }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http;
+
+import org.osgi.annotation.versioning.ProviderType;
+
+import io.wcm.caravan.io.http.request.CaravanHttpRequest;
+import io.wcm.caravan.io.http.response.CaravanHttpResponse;
+
+/**
+ * Outcome of a single request of a {@link CaravanHttpBatch}: Either the response or the error of the request.
+ */
+@ProviderType
+public final class CaravanHttpBatchResult {
+
+  private final int index;
+  private final CaravanHttpRequest request;
+  private final CaravanHttpResponse response;
+  private final Throwable error;
+
+  CaravanHttpBatchResult(int index, CaravanHttpRequest request, CaravanHttpResponse response, Throwable error) {
+    this.index = index;
+    this.request = request;
+    this.response = response;
+    this.error = error;
+  }
+
+  /**
+   * @return Position of the request in the batch
+   */
+  public int getIndex() {
+    return this.index;
+  }
+
+  /**
+   * @return Request
+   */
+  public CaravanHttpRequest getRequest() {
+    return this.request;
+  }
+
+  /**
+   * @return Response or null if the request failed
+   */
+  public CaravanHttpResponse getResponse() {
+    return this.response;
+  }
+
+  /**
+   * @return Error or null if a response was received
+   */
+  public Throwable getError() {
+    return this.error;
+  }
+
+  /**
+   * @return true if a response was received
+   */
+  public boolean isSuccess() {
+    return this.error == null;
+  }
+
+  @Override
+  public String toString() {
+    return "#" + index + " " + request.getMethod() + " " + request.getUrl() + ": " + (isSuccess() ? response.status() : error.getMessage());
+  }
+
+}
@@ -19,6 +19,8 @@
  */
 package io.wcm.caravan.io.http;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.osgi.annotation.versioning.ProviderType;
 
 import io.wcm.caravan.io.http.request.CaravanHttpRequest;
@@ -47,6 +49,33 @@ public interface CaravanHttpClient {
    */
   Observable<CaravanHttpResponse> execute(CaravanHttpRequest request, Observable<CaravanHttpResponse> fallback);
 
+  /**
+   * Execute request asynchronously. The future may be completed on a transport thread, so callers should use the
+   * async variants of the {@link CompletableFuture} methods for expensive processing of the response.
+   * @param request Request
+   * @return Future of the response. Cancelling the future cancels the request.
+   */
+  CompletableFuture<CaravanHttpResponse> executeAsync(CaravanHttpRequest request);
+
+  /**
+   * Execute request and wait for the response. Intended for callers running on virtual threads, which are only parked
+   * while the request is in flight.
+   * @param request Request
+   * @return Response
+   * @throws RequestFailedRuntimeException if the request failed before a response was received
+   * @throws IllegalResponseRuntimeException if the response is not valid
+   */
+  CaravanHttpResponse executeBlocking(CaravanHttpRequest request);
+
+  /**
+   * Execute a batch of requests.
+   * @param batch Batch of requests
+   * @return Results of the requests
+   */
+  default Observable<CaravanHttpBatchResult> execute(CaravanHttpBatch batch) {
+    return batch.execute(this::execute);
+  }
+
   /**
    * Checks if a valid configuration exists for the given service ID. This does not mean that the host
    * name is correct or returns correct responses, it only checks that the minimum required configuration
@@ -21,25 +21,41 @@ package io.wcm.caravan.io.http.impl;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.SocketTimeoutException;
-
+import java.net.URI;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.felix.scr.annotations.Activate;
 import org.apache.felix.scr.annotations.Component;
+import org.apache.felix.scr.annotations.Deactivate;
 import org.apache.felix.scr.annotations.Reference;
+import org.apache.felix.scr.annotations.ReferenceCardinality;
 import org.apache.felix.scr.annotations.Service;
+import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.StatusLine;
+import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.concurrent.FutureCallback;
-import org.apache.http.entity.BufferedHttpEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
 import org.apache.http.util.EntityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.codahale.metrics.MetricRegistry;
 import com.google.common.base.Stopwatch;
 import com.netflix.hystrix.HystrixCommandProperties.ExecutionIsolationStrategy;
 
@@ -48,11 +64,17 @@ import io.wcm.caravan.commons.httpclient.HttpClientFactory;
 import io.wcm.caravan.io.http.CaravanHttpClient;
 import io.wcm.caravan.io.http.IllegalResponseRuntimeException;
 import io.wcm.caravan.io.http.RequestFailedRuntimeException;
+import io.wcm.caravan.io.http.impl.buffer.ByteBufferPool;
+import io.wcm.caravan.io.http.impl.buffer.PooledBufferBody;
+import io.wcm.caravan.io.http.impl.buffer.PooledBufferOutputStream;
+import io.wcm.caravan.io.http.impl.pool.ServiceConnectionPool;
+import io.wcm.caravan.io.http.impl.pool.ServiceConnectionPools;
 import io.wcm.caravan.io.http.request.CaravanHttpRequest;
 import io.wcm.caravan.io.http.response.CaravanHttpResponse;
 import io.wcm.caravan.io.http.response.CaravanHttpResponseBuilder;
 import rx.Observable;
 import rx.Subscriber;
+import rx.subscriptions.Subscriptions;
 
 /**
  * Simple implementation just executing the Apache HTTP client. Does not support a fallback.
@@ -69,68 +91,203 @@ public class ApacheHttpClient implements CaravanHttpClient {
   @Reference
   private HttpAsyncClientFactory httpAsyncClientFactory;
 
+  @Reference(cardinality = ReferenceCardinality.OPTIONAL_UNARY)
+  private MetricRegistry metricRegistry;
+
+  private final Http2Client http2Client = new Http2Client();
+  private final VirtualThreadExecutor virtualThreadExecutor = new VirtualThreadExecutor();
+  private final Set<String> asyncStreamingWarnings = ConcurrentHashMap.newKeySet();
+  private ServiceConnectionPools connectionPools;
+
+  @Activate
+  void activate() {
+    connectionPools = new ServiceConnectionPools(metricRegistry);
+  }
+
+  @Deactivate
+  void deactivate() {
+    connectionPools.close();
+  }
+
   @Override
   public Observable<CaravanHttpResponse> execute(CaravanHttpRequest request) {
+    return execute(ResolvedRequest.unresolved(request));
+  }
+
+  /**
+   * Executes a request on the server chosen by the load balancer.
+   * @param resolvedRequest Request with server and full URL
+   * @return Observable emitting the response
+   */
+  public Observable<CaravanHttpResponse> execute(ResolvedRequest resolvedRequest) {
+    CaravanHttpRequest request = resolvedRequest.getRequest();
+    if (CaravanHttpServiceConfigValidator.isHttp2(request.getServiceId())) {
+      boolean blocking = HttpHystrixCommand.getIsolationStrategy(request) == ExecutionIsolationStrategy.THREAD;
+      // apply the same timeouts as the HTTP/1.1 transport, URL errors are emitted by the observable
+      return Observable.defer(() -> {
+        URI uri = URI.create(resolvedRequest.getUrl());
+        RequestConfig requestConfig = blocking ? httpClientFactory.getDefaultRequestConfig(uri)
+            : httpAsyncClientFactory.getDefaultRequestConfig(uri);
+        return http2Client.execute(request, resolvedRequest.getUrl(), requestConfig, blocking);
+      });
+    }
     return Observable.create(new Observable.OnSubscribe<CaravanHttpResponse>() {
 
       @Override
       public void call(final Subscriber<? super CaravanHttpResponse> subscriber) {
-        HttpUriRequest httpRequest = RequestUtil.buildHttpRequest(request);
+        HttpUriRequest httpRequest = RequestUtil.buildHttpRequest(resolvedRequest.getUrl(), request);
+        ServiceConnectionPool connectionPool = connectionPools.get(request.getServiceId());
 
         if (LOG.isTraceEnabled()) {
           LOG.trace("Initiating request for {},\n{},\n{}", httpRequest.getURI(), request.toString(), request.getCorrelationId());
         }
 
-        if (HttpHystrixCommand.getIsolationStrategy(request) == ExecutionIsolationStrategy.THREAD) {
-          executeBlocking(subscriber, httpRequest);
+        if (HttpHystrixCommand.isVirtualThreadExecution(request)) {
+          executeOnVirtualThread(subscriber, httpRequest, connectionPool);
+        }
+        else if (HttpHystrixCommand.getIsolationStrategy(request) == ExecutionIsolationStrategy.THREAD) {
+          executeBlocking(subscriber, httpRequest, connectionPool);
         }
         else {
-          executeAsync(subscriber, httpRequest);
+          executeAsync(subscriber, httpRequest, connectionPool);
         }
       }
 
-      private void executeBlocking(final Subscriber<? super CaravanHttpResponse> subscriber, HttpUriRequest httpRequest) {
+      private void executeOnVirtualThread(final Subscriber<? super CaravanHttpResponse> subscriber, HttpUriRequest httpRequest,
+          ServiceConnectionPool connectionPool) {
+
+        ServiceSettings settings = ServiceSettingsRegistry.get(request.getServiceId());
+        String threadPoolName = settings.getThreadPoolName();
+        int maxConcurrent = settings.getMaxConcurrentVirtualThreads();
+
+        if (!virtualThreadExecutor.execute(threadPoolName, maxConcurrent, () -> executeBlocking(subscriber, httpRequest, connectionPool))) {
+          subscriber.onError(new RequestFailedRuntimeException(request,
+              "Thread pool '" + threadPoolName + "' rejected the request, " + maxConcurrent + " requests are already executing", null));
+        }
+      }
+
+      private void executeBlocking(final Subscriber<? super CaravanHttpResponse> subscriber, HttpUriRequest httpRequest,
+          ServiceConnectionPool connectionPool) {
+        Subscriber<? super CaravanHttpResponse> respondingSubscriber = abortUntilResponded(subscriber, httpRequest);
+        if (subscriber.isUnsubscribed()) {
+          return;
+        }
 
         if (LOG.isTraceEnabled()) {
           LOG.trace("Obtaining blocking http client to request " + httpRequest.getURI()
           + ", because a hystrixThreadPoolKeyOverride is configured for this serviceId");
         }
 
-        CloseableHttpClient httpClient = (CloseableHttpClient)httpClientFactory.get(httpRequest.getURI());
+        CloseableHttpClient httpClient;
+        if (connectionPool != null) {
+          ((HttpRequestBase)httpRequest).setConfig(httpClientFactory.getDefaultRequestConfig(httpRequest.getURI()));
+          httpClient = connectionPool.getHttpClient();
+        }
+        else {
+          httpClient = (CloseableHttpClient)httpClientFactory.get(httpRequest.getURI());
+        }
 
         Stopwatch stopwatch = Stopwatch.createStarted();
-        try (CloseableHttpResponse result = httpClient.execute(httpRequest)) {
+        CloseableHttpResponse result = null;
+        try {
+          result = httpClient.execute(httpRequest);
           LOG.debug("Received response from {} in {} ms\n{}", httpRequest.getURI().toString(), stopwatch.elapsed(MILLISECONDS), request.getCorrelationId());
 
-          processResponse(httpRequest, subscriber, result);
+          if (CaravanHttpServiceConfigValidator.isResponseStreaming(request.getServiceId())) {
+            // the connection is released when the body of the emitted response is closed or fully consumed
+            CloseableHttpResponse connection = result;
+            result = null;
+            processResponse(httpRequest, respondingSubscriber, connection, connection);
+          }
+          else {
+            processResponse(httpRequest, respondingSubscriber, result, null);
+          }
 
         }
         catch (Throwable ex) {
           LOG.info("Caught exception requesting {} after {} ms\n{}", httpRequest.getURI().toString(), stopwatch.elapsed(MILLISECONDS),
               request.getCorrelationId());
 
-          processExeption(httpRequest, subscriber, ex);
+          processExeption(httpRequest, respondingSubscriber, ex);
         }
+        finally {
+          IOUtils.closeQuietly(result);
+        }
+      }
+
+      /**
+       * Aborts the blocking request when the subscriber unsubscribes before a response or error was emitted, e.g. on
+       * Hystrix timeouts or if a hedged request was faster. This also closes the connection of a response that is no
+       * longer needed. A streamed body is not affected once the response was emitted.
+       */
+      private Subscriber<? super CaravanHttpResponse> abortUntilResponded(final Subscriber<? super CaravanHttpResponse> subscriber,
+          HttpUriRequest httpRequest) {
+        AtomicBoolean responded = new AtomicBoolean();
+        subscriber.add(Subscriptions.create(() -> {
+          if (!responded.get()) {
+            httpRequest.abort();
+          }
+        }));
+        return new Subscriber<CaravanHttpResponse>(subscriber) {
+
+          @Override
+          public void onNext(CaravanHttpResponse response) {
+            responded.set(true);
+            subscriber.onNext(response);
+          }
+
+          @Override
+          public void onError(Throwable ex) {
+            responded.set(true);
+            subscriber.onError(ex);
+          }
+
+          @Override
+          public void onCompleted() {
+            subscriber.onCompleted();
+          }
+
+        };
       }
 
-      private void executeAsync(final Subscriber<? super CaravanHttpResponse> subscriber, HttpUriRequest httpRequest) {
+      private void executeAsync(final Subscriber<? super CaravanHttpResponse> subscriber, HttpUriRequest httpRequest,
+          ServiceConnectionPool connectionPool) {
 
         if (LOG.isTraceEnabled()) {
           LOG.trace("Obtaining async http client to request " + httpRequest.getURI()
           + ", because a hystrixThreadPoolKeyOverride is *not* configured for this serviceId");
         }
 
-        CloseableHttpAsyncClient httpClient = (CloseableHttpAsyncClient)httpAsyncClientFactory.get(httpRequest.getURI());
+        if (CaravanHttpServiceConfigValidator.isResponseStreaming(request.getServiceId())
+            && asyncStreamingWarnings.add(StringUtils.defaultString(request.getServiceId()))) {
+          LOG.warn("Response streaming is configured for service {}, but the asynchronous HTTP client receives the complete body. "
+              + "Configure a Hystrix thread pool or HTTP/2 for the service to stream response bodies.", request.getServiceId());
+        }
 
         Stopwatch stopwatch = Stopwatch.createStarted();
 
-        httpClient.execute(httpRequest, new FutureCallback<HttpResponse>() {
+        CloseableHttpAsyncClient httpClient;
+        if (connectionPool != null) {
+          ((HttpRequestBase)httpRequest).setConfig(httpAsyncClientFactory.getDefaultRequestConfig(httpRequest.getURI()));
+          try {
+            httpClient = connectionPool.getHttpAsyncClient();
+          }
+          catch (IOException ex) {
+            processExeption(httpRequest, subscriber, ex);
+            return;
+          }
+        }
+        else {
+          httpClient = (CloseableHttpAsyncClient)httpAsyncClientFactory.get(httpRequest.getURI());
+        }
+
+        Future<HttpResponse> future = httpClient.execute(httpRequest, new FutureCallback<HttpResponse>() {
 
           @Override
           public void completed(HttpResponse result) {
             LOG.debug("Received response from {} in {} ms\n{}", httpRequest.getURI().toString(), stopwatch.elapsed(MILLISECONDS), request.getCorrelationId());
 
-            processResponse(httpRequest, subscriber, result);
+            processResponse(httpRequest, subscriber, result, null);
 
           }
 
@@ -144,6 +301,11 @@ public class ApacheHttpClient implements CaravanHttpClient {
 
           @Override
           public void cancelled() {
+            if (subscriber.isUnsubscribed()) {
+              LOG.debug("Cancelled request for {} after {} ms as the response is no longer needed\n{}", httpRequest.getURI().toString(),
+                  stopwatch.elapsed(MILLISECONDS), request.getCorrelationId());
+              return;
+            }
             LOG.warn("Cancelled request for {} after {} ms\n{}", httpRequest.getURI().toString(), stopwatch.elapsed(MILLISECONDS), request.getCorrelationId());
 
             subscriber.onError(
@@ -151,6 +313,9 @@ public class ApacheHttpClient implements CaravanHttpClient {
           }
 
         });
+
+        // e.g. on Hystrix timeouts or if a hedged request was faster
+        subscriber.add(Subscriptions.create(() -> future.cancel(true)));
       }
 
       void processExeption(HttpUriRequest httpRequest, Subscriber<? super CaravanHttpResponse> subscriber, Throwable ex) {
@@ -165,47 +330,108 @@ public class ApacheHttpClient implements CaravanHttpClient {
         }
       }
 
-      void processResponse(HttpUriRequest httpRequest, final Subscriber<? super CaravanHttpResponse> subscriber, HttpResponse result) {
-
+      /**
+       * @param connection Connection to release when the streamed body is closed. If null, the body is read into pooled
+       *          buffers unless streaming is configured for an asynchronous request whose body was already received
+       *          completely.
+       */
+      void processResponse(HttpUriRequest httpRequest, final Subscriber<? super CaravanHttpResponse> subscriber, HttpResponse result,
+          Closeable connection) {
+
+        if (subscriber.isUnsubscribed()) {
+          // the response is no longer needed, e.g. after a Hystrix timeout or if a hedged request was faster
+          LOG.debug("Dropping response from {} as the subscriber has unsubscribed\n{}", httpRequest.getURI(), request.getCorrelationId());
+          IOUtils.closeQuietly(connection);
+          return;
+        }
+        boolean streaming = connection != null || CaravanHttpServiceConfigValidator.isResponseStreaming(request.getServiceId());
         try {
           StatusLine status = result.getStatusLine();
-          HttpEntity entity = new BufferedHttpEntity(result.getEntity());
-          EntityUtils.consume(entity);
+          HttpEntity entity = result.getEntity();
+          PooledBufferBody bufferedBody = streaming ? null : readBody(entity);
 
           boolean throwExceptionForStatus500 = CaravanHttpServiceConfigValidator.throwExceptionForStatus500(request.getServiceId());
           if (status.getStatusCode() >= 500 && throwExceptionForStatus500) {
             IllegalResponseRuntimeException illegalResponseRuntimeException = new IllegalResponseRuntimeException(request,
                 httpRequest.getURI().toString(),
                 status.getStatusCode(),
-                EntityUtils.toString(entity),
+                bufferedBody != null ? bufferedBody.asString() : EntityUtils.toString(entity),
                 "Executing '" + httpRequest.getURI() + "' failed: " + result.getStatusLine());
 
-            subscriber.onError(illegalResponseRuntimeException);
+            IOUtils.closeQuietly(bufferedBody);
             EntityUtils.consumeQuietly(entity);
+            IOUtils.closeQuietly(connection);
+            subscriber.onError(illegalResponseRuntimeException);
           }
           else {
 
-            CaravanHttpResponse response = new CaravanHttpResponseBuilder()
+            CaravanHttpResponseBuilder builder = new CaravanHttpResponseBuilder()
                 .status(status.getStatusCode())
-                .reason(status.getReasonPhrase())
-                .headers(RequestUtil.toHeadersMap(result.getAllHeaders()))
-                .body(entity.getContent(), entity.getContentLength() > 0 ? (int)entity.getContentLength() : null)
-                .build();
+                .reason(status.getReasonPhrase());
+            for (Header header : result.getAllHeaders()) {
+              builder.header(header.getName(), header.getValue());
+            }
+            if (streaming) {
+              builder.body(getContent(entity, connection), getContentLength(entity));
+            }
+            else {
+              builder.body(bufferedBody);
+            }
+            CaravanHttpResponse response = builder.build();
 
             subscriber.onNext(response);
             subscriber.onCompleted();
           }
         }
         catch (IOException ex) {
+          IOUtils.closeQuietly(connection);
           subscriber.onError(new IOException("Reading response of '" + httpRequest.getURI() + "' failed", ex));
         }
         // CHECKSTYLE:OFF - yes we really wan to catch all exceptions here
         catch (Exception ex) {
           // CHECKSTYLE:ON
+          IOUtils.closeQuietly(connection);
           subscriber.onError(new IOException("Processing response of '" + httpRequest.getURI() + "' failed", ex));
         }
       }
 
+      /**
+       * Reads the entity completely into pooled buffers.
+       */
+      private PooledBufferBody readBody(HttpEntity entity) throws IOException {
+        if (entity == null) {
+          return null;
+        }
+        Integer length = getContentLength(entity);
+        try (PooledBufferOutputStream buffer = new PooledBufferOutputStream(ByteBufferPool.getDefault(), length != null ? length : 0);
+            InputStream content = entity.getContent()) {
+          if (content != null) {
+            buffer.readFrom(content);
+          }
+          return buffer.toBody();
+        }
+      }
+
+      private InputStream getContent(HttpEntity entity, Closeable connection) throws IOException {
+        if (entity == null) {
+          IOUtils.closeQuietly(connection);
+          return null;
+        }
+        InputStream content = entity.getContent();
+        if (connection == null || content == null) {
+          IOUtils.closeQuietly(connection);
+          return content;
+        }
+        return new ConnectionReleasingInputStream(content, connection);
+      }
+
+      private Integer getContentLength(HttpEntity entity) {
+        if (entity == null || entity.getContentLength() <= 0 || entity.getContentLength() > Integer.MAX_VALUE) {
+          return null;
+        }
+        return (int)entity.getContentLength();
+      }
+
     });
   }
 
@@ -214,6 +440,16 @@ public class ApacheHttpClient implements CaravanHttpClient {
     return execute(request);
   }
 
+  @Override
+  public CompletableFuture<CaravanHttpResponse> executeAsync(CaravanHttpRequest request) {
+    return CaravanHttpFutures.toCompletableFuture(execute(request));
+  }
+
+  @Override
+  public CaravanHttpResponse executeBlocking(CaravanHttpRequest request) {
+    return CaravanHttpFutures.await(request, executeAsync(request));
+  }
+
   @Override
   public boolean hasValidConfiguration(String serviceId) {
     return true;
@@ -0,0 +1,124 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import rx.Observable.Operator;
+import rx.Subscriber;
+import rx.functions.Func1;
+
+/**
+ * Emits all notifications on the callback executor, like observeOn with a scheduler created from the executor. Unlike
+ * observeOn, a callback rejected by the executor is not lost: The subscriber receives the error returned by the
+ * rejection mapper instead, on the thread that emitted the notification.
+ * @param <T> Value type
+ */
+final class CallbackExecutorOperator<T> implements Operator<T, T> {
+
+  private final Executor executor;
+  private final Func1<RejectedExecutionException, Throwable> rejectionMapper;
+
+  /**
+   * @param executor Callback executor
+   * @param rejectionMapper Maps the rejection to the error to emit
+   */
+  CallbackExecutorOperator(Executor executor, Func1<RejectedExecutionException, Throwable> rejectionMapper) {
+    this.executor = executor;
+    this.rejectionMapper = rejectionMapper;
+  }
+
+  @Override
+  public Subscriber<? super T> call(Subscriber<? super T> child) {
+    CallbackSubscriber parent = new CallbackSubscriber(child);
+    child.add(parent);
+    return parent;
+  }
+
+  private class CallbackSubscriber extends Subscriber<T> implements Runnable {
+
+    private final Subscriber<? super T> child;
+    private final Queue<Runnable> notifications = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger wip = new AtomicInteger();
+    private volatile boolean rejected;
+
+    CallbackSubscriber(Subscriber<? super T> child) {
+      this.child = child;
+    }
+
+    @Override
+    public void onNext(T value) {
+      schedule(() -> child.onNext(value));
+    }
+
+    @Override
+    public void onError(Throwable ex) {
+      schedule(() -> child.onError(ex));
+    }
+
+    @Override
+    public void onCompleted() {
+      schedule(child::onCompleted);
+    }
+
+    private void schedule(Runnable notification) {
+      if (rejected) {
+        return;
+      }
+      notifications.offer(notification);
+      if (wip.getAndIncrement() == 0) {
+        try {
+          executor.execute(this);
+        }
+        catch (RejectedExecutionException ex) {
+          rejected = true;
+          notifications.clear();
+          unsubscribe();
+          child.onError(rejectionMapper.call(ex));
+        }
+      }
+    }
+
+    @Override
+    public void run() {
+      int missed = 1;
+      while (true) {
+        Runnable notification;
+        while ((notification = notifications.poll()) != null) {
+          if (child.isUnsubscribed()) {
+            notifications.clear();
+            return;
+          }
+          notification.run();
+        }
+        missed = wip.addAndGet(-missed);
+        if (missed == 0) {
+          return;
+        }
+      }
+    }
+
+  }
+
+}
@@ -1,8 +1,8 @@
 /* Copyright (c) pro!vision GmbH. All rights reserved. */
 package io.wcm.caravan.io.http.impl;
 
-import java.util.List;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -11,14 +11,18 @@ import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import rx.schedulers.Schedulers;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 
 /**
  * A thread pool executor that is used to do perform all callbacks to the subscribers of Observables returned by
  * {@link CaravanHttpClientImpl#execute(io.wcm.caravan.io.http.request.CaravanHttpRequest)}. This is desired to avoid
- * the threads that actually execute the HTTP request are being blocked by client code. This thread pool has a core size
- * of just four threads, but if all of these threads are used by slow callback code, additional threads are
- * automatically spawned on demand.
+ * the threads that actually execute the HTTP request are being blocked by client code. The thread pool starts with
+ * its core size, but as soon as all threads are used by slow callback code, an additional thread is spawned for the
+ * next callback immediately, up to the maximum size. Only then callbacks are queued, and if the bounded queue is full
+ * as well, they are rejected with a {@link RejectedExecutionException}.
  */
 public class CaravanHttpCallbackExecutor extends ThreadPoolExecutor {
 
@@ -28,103 +32,177 @@ public class CaravanHttpCallbackExecutor extends ThreadPoolExecutor {
 
   private static final AtomicInteger THREAD_INDEX_COUNTER = new AtomicInteger();
 
-  private static final int THREAD_POOL_CORE_SIZE = 4;
-  private static final int THREAD_POOL_MAX_SIZE = 1000;
-  private static final int IDLE_THREAD_KEEP_ALIVE_SECONDS = 10;
-
-  private static final int WATCHDOG_INTERVAL_SECONDS = 1;
+  static final int DEFAULT_CORE_SIZE = 4;
+  static final int DEFAULT_MAX_SIZE = 1000;
+  static final int DEFAULT_QUEUE_SIZE = 10000;
 
-  private final rx.Scheduler.Worker watchdogWorker;
+  private static final int IDLE_THREAD_KEEP_ALIVE_SECONDS = 10;
 
-  CaravanHttpCallbackExecutor() {
-    // by using a LinkedBlockingQueue, the ThreadPoolExecutor will not automatically spawn any new threads when all core threads are in use,
-    // instead, additional tasks will be queued up. If this happens, the periodically called ::increaseCoreSizeIfJobsAreQeueued method will adjust the core size
-    super(THREAD_POOL_CORE_SIZE, THREAD_POOL_MAX_SIZE, IDLE_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
-        new RejectionHandler());
+  private static final String METRICS_PREFIX = "caravan.http.callbacks.";
+  private static final String[] METRIC_NAMES = new String[] {
+      "queueDepth", "queueWait", "activeThreads", "poolSize", "rejected"
+  };
+
+  private final AtomicInteger submittedCount = new AtomicInteger();
+  private final Timer queueWait = new Timer();
+  private final Meter rejected = new Meter();
+
+  /**
+   * @param coreSize Number of threads kept when idle, default size if not positive
+   * @param maxSize Max. number of threads, default size if not positive
+   * @param queueSize Max. number of callbacks waiting when all threads are used, default size if not positive
+   */
+  CaravanHttpCallbackExecutor(int coreSize, int maxSize, int queueSize) {
+    super(orDefault(coreSize, DEFAULT_CORE_SIZE), Math.max(orDefault(coreSize, DEFAULT_CORE_SIZE), orDefault(maxSize, DEFAULT_MAX_SIZE)),
+        IDLE_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new GrowingQueue(orDefault(queueSize, DEFAULT_QUEUE_SIZE)), new RejectionHandler());
+    ((GrowingQueue)getQueue()).executor = this;
 
+    setThreadFactory(runnable -> new Thread(runnable, THREAD_GROUP_NAME + "-" + THREAD_INDEX_COUNTER.getAndIncrement()));
+  }
 
-    watchdogWorker = Schedulers.computation().createWorker();
-    watchdogWorker.schedulePeriodically(this::increaseCoreSizeIfJobsAreQeueued, 5, WATCHDOG_INTERVAL_SECONDS, TimeUnit.SECONDS);
+  private static int orDefault(int value, int defaultValue) {
+    return value > 0 ? value : defaultValue;
+  }
 
-    setThreadFactory(runnable -> new Thread(runnable, THREAD_GROUP_NAME + "-" + THREAD_INDEX_COUNTER.getAndIncrement()));
+  @Override
+  public void execute(Runnable command) {
+    submittedCount.incrementAndGet();
+    try {
+      super.execute(new QueuedCallback(command));
+    }
+    catch (RejectedExecutionException ex) {
+      submittedCount.decrementAndGet();
+      rejected.mark();
+      throw ex;
+    }
   }
 
   @Override
-  public void shutdown() {
+  protected void beforeExecute(Thread t, Runnable r) {
 
-    watchdogWorker.unsubscribe();
+    if (r instanceof QueuedCallback) {
+      queueWait.update(System.nanoTime() - ((QueuedCallback)r).queuedAt, TimeUnit.NANOSECONDS);
+    }
 
-    super.shutdown();
+    if (LOG.isTraceEnabled()) {
+      LOG.trace("Executing HTTP callback on thread " + t + ", current pool size is " + getPoolSize());
+    }
+
+    super.beforeExecute(t, r);
   }
 
   @Override
-  public List<Runnable> shutdownNow() {
-
-    watchdogWorker.unsubscribe();
+  protected void afterExecute(Runnable r, Throwable t) {
+    submittedCount.decrementAndGet();
+    super.afterExecute(r, t);
+  }
 
-    return super.shutdownNow();
+  /**
+   * @return Number of callbacks waiting for a thread
+   */
+  public int getQueueDepth() {
+    return getQueue().size();
   }
 
-  private void increaseCoreSizeIfJobsAreQeueued() {
+  /**
+   * @return Time callbacks waited for a thread
+   */
+  public Timer getQueueWait() {
+    return this.queueWait;
+  }
 
-    // This is based on "Idea #2" described in the following comment
-    // http://stackoverflow.com/questions/9622599/java-threadpoolexecutor-strategy-direct-handoff-with-queue#answer-9623100
+  /**
+   * @return Rejected callbacks
+   */
+  public Meter getRejected() {
+    return this.rejected;
+  }
 
-    // the idea is that we don't allow ThreadPoolExecutor to decide when to spawn new thread on its own, as this could lead to a huge threadpool if many
-    // http requests are initiated at once. As long as the callbacks are executed fast, the system should work well by just using the core threadpool
+  /**
+   * Registers gauges for queue depth, active threads and pool size as well as the queue wait timer and rejection meter
+   * with the names "caravan.http.callbacks.*".
+   * @param metricRegistry Metric registry
+   */
+  public void registerMetrics(MetricRegistry metricRegistry) {
+    metricRegistry.register(METRICS_PREFIX + "queueDepth", (Gauge<Integer>)this::getQueueDepth);
+    metricRegistry.register(METRICS_PREFIX + "queueWait", queueWait);
+    metricRegistry.register(METRICS_PREFIX + "activeThreads", (Gauge<Integer>)this::getActiveCount);
+    metricRegistry.register(METRICS_PREFIX + "poolSize", (Gauge<Integer>)this::getPoolSize);
+    metricRegistry.register(METRICS_PREFIX + "rejected", rejected);
+  }
 
-    int queueSize = getQueue().size();
-    int currentPoolSize = getPoolSize();
-    int corePoolSize = getCorePoolSize();
-    int activeCount = getActiveCount();
-    try {
+  /**
+   * Removes the metrics registered by {@link #registerMetrics(MetricRegistry)}.
+   * @param metricRegistry Metric registry
+   */
+  public void unregisterMetrics(MetricRegistry metricRegistry) {
+    for (String name : METRIC_NAMES) {
+      metricRegistry.remove(METRICS_PREFIX + name);
+    }
+  }
 
-      if (LOG.isTraceEnabled()) {
-        LOG.trace(
-            "Checking if threadool core size should be adjusted: queueSize=" + queueSize + ". poolSize=" + currentPoolSize + ", activeCount=" + activeCount);
-      }
+  /**
+   * A ThreadPoolExecutor only spawns threads above the core size if its queue refuses a task. This queue refuses tasks
+   * as long as there are more callbacks than threads and the max. pool size is not reached yet.
+   */
+  private static class GrowingQueue extends LinkedBlockingQueue<Runnable> {
 
-      if (queueSize > 0 && activeCount == currentPoolSize && currentPoolSize < getMaximumPoolSize()) {
-        int newCoreSize = Math.min(currentPoolSize + queueSize, getMaximumPoolSize());
-        LOG.warn(
-            "Increasing thread pool core size to " + newCoreSize + ", because there are " + queueSize + " callbacks waiting in the queue, and all of "
-                + currentPoolSize + " threads are blocked.");
+    private static final long serialVersionUID = 1L;
 
-        setCorePoolSize(newCoreSize);
-      }
-      else if (queueSize == 0 && activeCount < currentPoolSize && corePoolSize > THREAD_POOL_CORE_SIZE) {
-        int newCoreSize = corePoolSize - 1;
+    private transient CaravanHttpCallbackExecutor executor;
 
-        LOG.info(
-            "Decreasing thread pool core size to " + newCoreSize + ", because there are no callbacks waiting in the queue, and only " + activeCount + " of "
-                + currentPoolSize + " threads are blocked.");
+    GrowingQueue(int capacity) {
+      super(capacity);
+    }
 
-        setCorePoolSize(newCoreSize);
+    @Override
+    public boolean offer(Runnable runnable) {
+      int poolSize = executor.getPoolSize();
+      if (poolSize < executor.getMaximumPoolSize() && executor.submittedCount.get() > poolSize) {
+        return false;
       }
+      return super.offer(runnable);
     }
-    catch (IllegalArgumentException ex) {
-      LOG.error("Failed to adjust core size queueSize=" + queueSize + ". poolSize=" + currentPoolSize + ", activeCount=" + activeCount, ex);
+
+    boolean forceOffer(Runnable runnable) {
+      return super.offer(runnable);
     }
 
   }
 
-  @Override
-  protected void beforeExecute(Thread t, Runnable r) {
+  private static class RejectionHandler implements RejectedExecutionHandler {
 
-    if (LOG.isTraceEnabled()) {
-      LOG.trace("Executing HTTP callback on thread " + t + ", current pool size is " + getPoolSize());
+    @Override
+    public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+      // another thread may have been spawned concurrently and the maximum was reached, try to queue the callback instead
+      if (!executor.isShutdown() && ((GrowingQueue)executor.getQueue()).forceOffer(r)) {
+        return;
+      }
+      LOG.error("Rejected to execute async http callback " + r.toString() + " because the maximum number of threads (" + executor.getMaximumPoolSize()
+      + ") has been reached and " + executor.getQueue().size() + " callbacks are queued");
+      throw new RejectedExecutionException("Maximum number of " + executor.getMaximumPoolSize() + " callback threads reached and "
+          + executor.getQueue().size() + " callbacks queued");
     }
 
-    super.beforeExecute(t, r);
   }
 
+  private static class QueuedCallback implements Runnable {
 
-  private static class RejectionHandler implements RejectedExecutionHandler {
+    private final Runnable callback;
+    private final long queuedAt = System.nanoTime();
+
+    QueuedCallback(Runnable callback) {
+      this.callback = callback;
+    }
 
     @Override
-    public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
-      LOG.error("Rejected to execute async http callback " + r.toString() + " because the maximum number of threads (" + executor.getMaximumPoolSize()
-      + ") has been reached");
+    public void run() {
+      callback.run();
+    }
+
+    @Override
+    public String toString() {
+      return callback.toString();
     }
 
   }
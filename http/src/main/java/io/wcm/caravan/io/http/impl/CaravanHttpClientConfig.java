@@ -27,6 +27,8 @@ import org.apache.felix.scr.annotations.Property;
 import org.apache.felix.scr.annotations.Service;
 import org.apache.sling.commons.osgi.PropertiesUtil;
 
+import io.wcm.caravan.io.http.impl.buffer.ByteBufferPool;
+
 /**
  * Caravan HTTP client configuration.
  */
@@ -47,13 +49,169 @@ public class CaravanHttpClientConfig {
   private static final boolean SERVLET_CLIENT_ENABLED_DEFAULT = false;
   private boolean servletClientEnabled;
 
+  /**
+   * Response cache toggle
+   */
+  @Property(label = "Response cache enabled",
+      description = "Answers repeated GET requests to configured services from a shared in-memory cache, "
+          + "honoring the Cache-Control headers of request and response.",
+      boolValue = CaravanHttpClientConfig.RESPONSE_CACHE_ENABLED_DEFAULT)
+  public static final String RESPONSE_CACHE_ENABLED = "responseCacheEnabled";
+  private static final boolean RESPONSE_CACHE_ENABLED_DEFAULT = false;
+  private boolean responseCacheEnabled;
+
+  /**
+   * Response cache size
+   */
+  @Property(label = "Response cache size",
+      description = "Maximum number of bytes of response bodies kept in the response cache.",
+      longValue = CaravanHttpClientConfig.RESPONSE_CACHE_MAX_BYTES_DEFAULT)
+  public static final String RESPONSE_CACHE_MAX_BYTES = "responseCacheMaxBytes";
+  private static final long RESPONSE_CACHE_MAX_BYTES_DEFAULT = 64L * 1024 * 1024;
+  private long responseCacheMaxBytes;
+
+  /**
+   * Off-heap response cache toggle
+   */
+  @Property(label = "Response cache off-heap",
+      description = "Keeps the bodies of cached responses in direct buffers outside of the Java heap.",
+      boolValue = CaravanHttpClientConfig.RESPONSE_CACHE_OFF_HEAP_DEFAULT)
+  public static final String RESPONSE_CACHE_OFF_HEAP = "responseCacheOffHeap";
+  private static final boolean RESPONSE_CACHE_OFF_HEAP_DEFAULT = false;
+  private boolean responseCacheOffHeap;
+
+  /**
+   * Disk response cache directory
+   */
+  @Property(label = "Response cache directory",
+      description = "Directory for a persistent second level of the response cache that survives restarts. "
+          + "Responses are kept in memory-mapped segment files. Leave empty to disable.")
+  public static final String RESPONSE_CACHE_DISK_DIRECTORY = "responseCacheDiskDirectory";
+  private String responseCacheDiskDirectory;
+
+  /**
+   * Disk response cache size
+   */
+  @Property(label = "Response cache directory size",
+      description = "Maximum number of bytes of the segment files in the response cache directory.",
+      longValue = CaravanHttpClientConfig.RESPONSE_CACHE_DISK_MAX_BYTES_DEFAULT)
+  public static final String RESPONSE_CACHE_DISK_MAX_BYTES = "responseCacheDiskMaxBytes";
+  private static final long RESPONSE_CACHE_DISK_MAX_BYTES_DEFAULT = 1024L * 1024 * 1024;
+  private long responseCacheDiskMaxBytes;
+
+  /**
+   * Request coalescing toggle
+   */
+  @Property(label = "Request coalescing enabled",
+      description = "Identical GET requests to a configured service that are executed while another one is still in flight "
+          + "share the response of that request instead of calling the service again.",
+      boolValue = CaravanHttpClientConfig.REQUEST_COALESCING_ENABLED_DEFAULT)
+  public static final String REQUEST_COALESCING_ENABLED = "requestCoalescingEnabled";
+  private static final boolean REQUEST_COALESCING_ENABLED_DEFAULT = false;
+  private boolean requestCoalescingEnabled;
+
+  /**
+   * Direct buffers toggle
+   */
+  @Property(label = "Direct body buffers",
+      description = "If true, response bodies are kept in pooled direct (off-heap) buffers instead of pooled heap buffers.",
+      boolValue = CaravanHttpClientConfig.BUFFER_POOL_DIRECT_DEFAULT)
+  public static final String BUFFER_POOL_DIRECT = "bufferPoolDirect";
+  private static final boolean BUFFER_POOL_DIRECT_DEFAULT = false;
+
+  /**
+   * Buffer pool size
+   */
+  @Property(label = "Body buffer pool size",
+      description = "Maximum number of bytes of released body buffers kept for reuse.",
+      longValue = ByteBufferPool.DEFAULT_MAX_POOLED_BYTES)
+  public static final String BUFFER_POOL_MAX_BYTES = "bufferPoolMaxBytes";
+
+  /**
+   * Callback thread pool core size
+   */
+  @Property(label = "Callback threads",
+      description = "Number of threads kept for emitting responses to subscribers.",
+      intValue = CaravanHttpClientConfig.CALLBACK_THREAD_POOL_CORE_SIZE_DEFAULT)
+  public static final String CALLBACK_THREAD_POOL_CORE_SIZE = "callbackThreadPoolCoreSize";
+  private static final int CALLBACK_THREAD_POOL_CORE_SIZE_DEFAULT = CaravanHttpCallbackExecutor.DEFAULT_CORE_SIZE;
+  private int callbackThreadPoolCoreSize;
+
+  /**
+   * Callback thread pool max size
+   */
+  @Property(label = "Max. callback threads",
+      description = "Maximum number of threads for emitting responses. Additional threads are spawned as soon as all threads are busy.",
+      intValue = CaravanHttpClientConfig.CALLBACK_THREAD_POOL_MAX_SIZE_DEFAULT)
+  public static final String CALLBACK_THREAD_POOL_MAX_SIZE = "callbackThreadPoolMaxSize";
+  private static final int CALLBACK_THREAD_POOL_MAX_SIZE_DEFAULT = CaravanHttpCallbackExecutor.DEFAULT_MAX_SIZE;
+  private int callbackThreadPoolMaxSize;
+
+  /**
+   * Callback queue size
+   */
+  @Property(label = "Callback queue size",
+      description = "Maximum number of responses waiting for a callback thread once the maximum number of threads is reached. "
+          + "Further responses are rejected with an error.",
+          intValue = CaravanHttpClientConfig.CALLBACK_QUEUE_SIZE_DEFAULT)
+  public static final String CALLBACK_QUEUE_SIZE = "callbackQueueSize";
+  private static final int CALLBACK_QUEUE_SIZE_DEFAULT = CaravanHttpCallbackExecutor.DEFAULT_QUEUE_SIZE;
+  private int callbackQueueSize;
+
   @Activate
   protected void activate(Map<String, Object> config) {
     servletClientEnabled = PropertiesUtil.toBoolean(config.get(SERVLET_CLIENT_ENABLED), SERVLET_CLIENT_ENABLED_DEFAULT);
+    responseCacheEnabled = PropertiesUtil.toBoolean(config.get(RESPONSE_CACHE_ENABLED), RESPONSE_CACHE_ENABLED_DEFAULT);
+    responseCacheMaxBytes = PropertiesUtil.toLong(config.get(RESPONSE_CACHE_MAX_BYTES), RESPONSE_CACHE_MAX_BYTES_DEFAULT);
+    responseCacheOffHeap = PropertiesUtil.toBoolean(config.get(RESPONSE_CACHE_OFF_HEAP), RESPONSE_CACHE_OFF_HEAP_DEFAULT);
+    responseCacheDiskDirectory = PropertiesUtil.toString(config.get(RESPONSE_CACHE_DISK_DIRECTORY), null);
+    responseCacheDiskMaxBytes = PropertiesUtil.toLong(config.get(RESPONSE_CACHE_DISK_MAX_BYTES), RESPONSE_CACHE_DISK_MAX_BYTES_DEFAULT);
+    requestCoalescingEnabled = PropertiesUtil.toBoolean(config.get(REQUEST_COALESCING_ENABLED), REQUEST_COALESCING_ENABLED_DEFAULT);
+    ByteBufferPool.configureDefault(PropertiesUtil.toBoolean(config.get(BUFFER_POOL_DIRECT), BUFFER_POOL_DIRECT_DEFAULT),
+        PropertiesUtil.toLong(config.get(BUFFER_POOL_MAX_BYTES), ByteBufferPool.DEFAULT_MAX_POOLED_BYTES));
+    callbackThreadPoolCoreSize = PropertiesUtil.toInteger(config.get(CALLBACK_THREAD_POOL_CORE_SIZE), CALLBACK_THREAD_POOL_CORE_SIZE_DEFAULT);
+    callbackThreadPoolMaxSize = PropertiesUtil.toInteger(config.get(CALLBACK_THREAD_POOL_MAX_SIZE), CALLBACK_THREAD_POOL_MAX_SIZE_DEFAULT);
+    callbackQueueSize = PropertiesUtil.toInteger(config.get(CALLBACK_QUEUE_SIZE), CALLBACK_QUEUE_SIZE_DEFAULT);
   }
 
   public boolean isServletClientEnabled() {
     return this.servletClientEnabled;
   }
 
+  public boolean isResponseCacheEnabled() {
+    return this.responseCacheEnabled;
+  }
+
+  public long getResponseCacheMaxBytes() {
+    return this.responseCacheMaxBytes;
+  }
+
+  public boolean isResponseCacheOffHeap() {
+    return this.responseCacheOffHeap;
+  }
+
+  public String getResponseCacheDiskDirectory() {
+    return this.responseCacheDiskDirectory;
+  }
+
+  public long getResponseCacheDiskMaxBytes() {
+    return this.responseCacheDiskMaxBytes;
+  }
+
+  public boolean isRequestCoalescingEnabled() {
+    return this.requestCoalescingEnabled;
+  }
+
+  public int getCallbackThreadPoolCoreSize() {
+    return this.callbackThreadPoolCoreSize;
+  }
+
+  public int getCallbackThreadPoolMaxSize() {
+    return this.callbackThreadPoolMaxSize;
+  }
+
+  public int getCallbackQueueSize() {
+    return this.callbackQueueSize;
+  }
+
 }
@@ -19,22 +19,38 @@
  */
 package io.wcm.caravan.io.http.impl;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import org.apache.commons.lang3.StringUtils;
 import org.apache.felix.scr.annotations.Activate;
 import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Deactivate;
 import org.apache.felix.scr.annotations.Reference;
+import org.apache.felix.scr.annotations.ReferenceCardinality;
 import org.apache.felix.scr.annotations.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
 import com.netflix.client.ClientException;
+import com.netflix.hystrix.exception.HystrixBadRequestException;
 import com.netflix.hystrix.exception.HystrixRuntimeException;
 
 import io.wcm.caravan.common.performance.PerformanceMetrics;
+import io.wcm.caravan.io.http.CaravanHttpBatch;
+import io.wcm.caravan.io.http.CaravanHttpBatchResult;
 import io.wcm.caravan.io.http.CaravanHttpClient;
+import io.wcm.caravan.io.http.ConcurrencyLimitExceededRuntimeException;
 import io.wcm.caravan.io.http.IllegalResponseRuntimeException;
 import io.wcm.caravan.io.http.RequestFailedRuntimeException;
+import io.wcm.caravan.io.http.impl.cache.CaravanHttpResponseCache;
+import io.wcm.caravan.io.http.impl.cache.DiskResponseCache;
+import io.wcm.caravan.io.http.impl.cache.RequestCoalescer;
+import io.wcm.caravan.io.http.impl.limit.ConcurrencyLimiters;
 import io.wcm.caravan.io.http.impl.ribbon.RibbonHttpClient;
 import io.wcm.caravan.io.http.impl.servletclient.NotSupportedByRequestMapperException;
 import io.wcm.caravan.io.http.impl.servletclient.ServletHttpClient;
@@ -42,9 +58,7 @@ import io.wcm.caravan.io.http.request.CaravanHttpRequest;
 import io.wcm.caravan.io.http.response.CaravanHttpResponse;
 import rx.Observable;
 import rx.Observable.Operator;
-import rx.Scheduler;
 import rx.Subscriber;
-import rx.schedulers.Schedulers;
 
 /**
  * Default implementation of {@link CaravanHttpClient}.
@@ -55,6 +69,8 @@ public class CaravanHttpClientImpl implements CaravanHttpClient {
 
   private static final Logger LOG = LoggerFactory.getLogger(CaravanHttpClientImpl.class);
 
+  private static final String SLOW_DIRECT_CALLBACKS_METRIC = "caravan.http.callbacks.slowDirect";
+
   @Reference
   private CaravanHttpClientConfig config;
   @Reference
@@ -63,37 +79,133 @@ public class CaravanHttpClientImpl implements CaravanHttpClient {
   private RibbonHttpClient ribbonClient;
   @Reference
   private ApacheHttpClient apacheHttpClient;
+  @Reference(cardinality = ReferenceCardinality.OPTIONAL_UNARY)
+  private MetricRegistry metricRegistry;
 
   private CaravanHttpCallbackExecutor callbackExecutor;
-  private Scheduler callbackScheduler;
+  private final Meter slowDirectCallbacks = new Meter();
+  private CaravanHttpResponseCache responseCache;
+  private RequestCoalescer requestCoalescer;
+  private final ConcurrencyLimiters concurrencyLimiters = new ConcurrencyLimiters();
 
   @Activate
   void activate() {
-    callbackExecutor = new CaravanHttpCallbackExecutor();
-    callbackScheduler = Schedulers.from(callbackExecutor);
+    callbackExecutor = new CaravanHttpCallbackExecutor(config.getCallbackThreadPoolCoreSize(), config.getCallbackThreadPoolMaxSize(),
+        config.getCallbackQueueSize());
+    if (metricRegistry != null) {
+      callbackExecutor.registerMetrics(metricRegistry);
+      metricRegistry.register(SLOW_DIRECT_CALLBACKS_METRIC, slowDirectCallbacks);
+    }
+    if (config.isResponseCacheEnabled()) {
+      responseCache = new CaravanHttpResponseCache(config.getResponseCacheMaxBytes(), config.isResponseCacheOffHeap(),
+          createDiskResponseCache());
+      if (metricRegistry != null) {
+        responseCache.registerMetrics(metricRegistry);
+      }
+    }
+    if (config.isRequestCoalescingEnabled()) {
+      requestCoalescer = new RequestCoalescer();
+    }
   }
 
   @Deactivate
   void deactivate() {
+    if (metricRegistry != null) {
+      callbackExecutor.unregisterMetrics(metricRegistry);
+      metricRegistry.remove(SLOW_DIRECT_CALLBACKS_METRIC);
+    }
     callbackExecutor.shutdownNow();
+    if (responseCache != null) {
+      if (metricRegistry != null) {
+        responseCache.unregisterMetrics(metricRegistry);
+      }
+      responseCache.clear();
+      if (responseCache.getDiskCache() != null) {
+        responseCache.getDiskCache().close();
+      }
+    }
+  }
+
+  private DiskResponseCache createDiskResponseCache() {
+    String directory = config.getResponseCacheDiskDirectory();
+    if (StringUtils.isBlank(directory)) {
+      return null;
+    }
+    try {
+      return new DiskResponseCache(new File(directory), config.getResponseCacheDiskMaxBytes());
+    }
+    catch (IOException ex) {
+      LOG.error("Unable to open response cache directory " + directory + ", caching responses in memory only.", ex);
+      return null;
+    }
   }
 
   @Override
   public Observable<CaravanHttpResponse> execute(CaravanHttpRequest request) {
     Context ctx = new Context(request, null);
     return execute(ctx)
-        .observeOn(callbackScheduler);
+        .lift(onCallbackExecutor(request));
   }
 
   @Override
   public Observable<CaravanHttpResponse> execute(CaravanHttpRequest request, Observable<CaravanHttpResponse> fallback) {
     Context ctx = new Context(request, fallback);
     return execute(ctx)
-        .observeOn(callbackScheduler);
+        .lift(onCallbackExecutor(request));
+  }
+
+  @Override
+  public CompletableFuture<CaravanHttpResponse> executeAsync(CaravanHttpRequest request) {
+    // no hop to the callback executor, the future is completed on the thread delivering the response
+    return CaravanHttpFutures.toCompletableFuture(execute(new Context(request, null)));
+  }
+
+  @Override
+  public CaravanHttpResponse executeBlocking(CaravanHttpRequest request) {
+    return CaravanHttpFutures.await(request, executeAsync(request));
+  }
+
+  @Override
+  public Observable<CaravanHttpBatchResult> execute(CaravanHttpBatch batch) {
+    Observable<CaravanHttpBatchResult> results = batch.execute(request -> execute(new Context(request, null)));
+    List<CaravanHttpRequest> requests = batch.getRequests();
+    if (requests.isEmpty()) {
+      return results;
+    }
+    // switch to the callback executor once for the whole batch instead of once per request. callbacks are only
+    // executed directly if all services of the batch are configured for it, rejections are reported for the first request
+    boolean directCallbacks = requests.stream().allMatch(CaravanHttpClientImpl::isDirectCallbacks);
+    return results.lift(onCallbackExecutor(requests.get(0), directCallbacks));
+  }
+
+  private <T> Operator<T, T> onCallbackExecutor(CaravanHttpRequest request) {
+    return onCallbackExecutor(request, isDirectCallbacks(request));
+  }
+
+  private <T> Operator<T, T> onCallbackExecutor(CaravanHttpRequest request, boolean directCallbacks) {
+    if (directCallbacks) {
+      return new DirectCallbackOperator<>(request, CaravanHttpServiceConfigValidator.getSlowCallbackThresholdMs(request.getServiceId()),
+          slowDirectCallbacks);
+    }
+    return new CallbackExecutorOperator<>(callbackExecutor,
+        ex -> new RequestFailedRuntimeException(request, "Callback for the response was rejected: " + ex.getMessage(), ex));
+  }
+
+  private static boolean isDirectCallbacks(CaravanHttpRequest request) {
+    String serviceId = request.getServiceId();
+    return StringUtils.isNotEmpty(serviceId) && CaravanHttpServiceConfigValidator.isDirectCallbacks(serviceId);
   }
 
   private Observable<CaravanHttpResponse> execute(Context ctx) {
 
+    if (isResponseCachePossible(ctx)) {
+      return createCachedResponse(ctx);
+    }
+    return executeUncached(ctx);
+  }
+
+  private Observable<CaravanHttpResponse> executeUncached(Context ctx) {
+
     if (isRequestWithoutServiceId(ctx)) {
       return createApacheResponse(ctx);
     }
@@ -109,25 +221,75 @@ public class CaravanHttpClientImpl implements CaravanHttpClient {
     return StringUtils.isEmpty(ctx.request.getServiceId());
   }
 
+  private boolean isResponseCachePossible(Context ctx) {
+    return responseCache != null && responseCache.isCacheable(ctx.request);
+  }
+
+  private Observable<CaravanHttpResponse> createCachedResponse(Context ctx) {
+    return Observable.defer(() -> {
+      CaravanHttpResponse cachedResponse = responseCache.get(ctx.request);
+      if (cachedResponse != null) {
+        LOG.debug("Serving response for {} from cache\n{}", ctx.request.getUrl(), ctx.request.getCorrelationId());
+        return addMetrics(ctx, Observable.just(cachedResponse));
+      }
+      return executeUncached(ctx);
+    });
+  }
+
+  private Observable<CaravanHttpResponse> storeInResponseCache(Context ctx, Observable<CaravanHttpResponse> clientResponse) {
+    if (!isResponseCachePossible(ctx)) {
+      return clientResponse;
+    }
+    return clientResponse.flatMap(response -> {
+      try {
+        return Observable.just(responseCache.put(ctx.request, response));
+      }
+      catch (IOException ex) {
+        return Observable.<CaravanHttpResponse>error(new IOException("Reading response to store it in the cache failed", ex));
+      }
+    });
+  }
+
+  private Observable<CaravanHttpResponse> coalesce(Context ctx, Observable<CaravanHttpResponse> clientResponse) {
+    if (requestCoalescer == null || !requestCoalescer.isCoalescable(ctx.request)) {
+      return clientResponse;
+    }
+    return requestCoalescer.execute(ctx.request, clientResponse);
+  }
+
   private Observable<CaravanHttpResponse> createApacheResponse(Context ctx) {
     Observable<CaravanHttpResponse> response = apacheHttpClient.execute(ctx.request);
     return addHystrixAndErrorMapperAndMetrics(ctx, response);
   }
 
   private Observable<CaravanHttpResponse> createRibbonResponse(Context ctx) {
-    Observable<CaravanHttpResponse> response = ribbonClient.execute(ctx.request);
+    Observable<CaravanHttpResponse> upstreamResponse = limitConcurrency(ctx, ribbonClient.execute(ctx.request));
+    Observable<CaravanHttpResponse> response = coalesce(ctx, storeInResponseCache(ctx, upstreamResponse));
     return addHystrixAndErrorMapperAndMetrics(ctx, response);
   }
 
+  /**
+   * Limits and measures the upstream requests only, so coalesced requests and fallbacks do not count as requests in
+   * flight and do not distort the measured response times.
+   */
+  private Observable<CaravanHttpResponse> limitConcurrency(Context ctx, Observable<CaravanHttpResponse> upstreamResponse) {
+    return concurrencyLimiters.limit(ctx.request, upstreamResponse)
+        .onErrorResumeNext(ex -> {
+          // rejected requests must neither count as failure for the circuit breaker nor trigger the fallback
+          if (ex instanceof ConcurrencyLimitExceededRuntimeException) {
+            return Observable.error(new HystrixBadRequestException(ex.getMessage(), ex));
+          }
+          return Observable.error(ex);
+        });
+  }
+
   private boolean isServletClientPossible(Context ctx) {
-    boolean isGetRequest = "GET".equalsIgnoreCase(ctx.request.getMethod());
-    return isGetRequest
-        && config.isServletClientEnabled()
+    return config.isServletClientEnabled()
         && servletClient.hasValidConfiguration(ctx.request.getServiceId());
   }
 
   private Observable<CaravanHttpResponse> createServletClientResponse(Context ctx, Observable<CaravanHttpResponse> ribbonResponse) {
-    Observable<CaravanHttpResponse> localhostResponse = servletClient.execute(ctx.request)
+    Observable<CaravanHttpResponse> localhostResponse = storeInResponseCache(ctx, servletClient.execute(ctx.request))
         .lift(new ErrorDisassembleroperator(ctx, ribbonResponse));
     return addHystrixAndErrorMapperAndMetrics(ctx, localhostResponse);
   }
@@ -149,10 +311,12 @@ public class CaravanHttpClientImpl implements CaravanHttpClient {
   }
 
   private Throwable mapToKnownException(CaravanHttpRequest request, Throwable ex) {
-    if (ex instanceof RequestFailedRuntimeException || ex instanceof IllegalResponseRuntimeException) {
+    if (ex instanceof RequestFailedRuntimeException || ex instanceof IllegalResponseRuntimeException
+        || ex instanceof ConcurrencyLimitExceededRuntimeException) {
       return ex;
     }
-    if ((ex instanceof HystrixRuntimeException || ex instanceof ClientException) && ex.getCause() != null) {
+    if ((ex instanceof HystrixRuntimeException || ex instanceof HystrixBadRequestException || ex instanceof ClientException)
+        && ex.getCause() != null) {
       return mapToKnownException(request, ex.getCause());
     }
     throw new RequestFailedRuntimeException(request, StringUtils.defaultString(ex.getMessage(), ex.getClass().getSimpleName()), ex);
@@ -0,0 +1,90 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.apache.commons.lang3.StringUtils;
+
+import io.wcm.caravan.io.http.RequestFailedRuntimeException;
+import io.wcm.caravan.io.http.request.CaravanHttpRequest;
+import io.wcm.caravan.io.http.response.CaravanHttpResponse;
+import rx.Observable;
+import rx.Subscription;
+
+/**
+ * Bridges the observable based request execution to {@link CompletableFuture} and blocking callers.
+ */
+public final class CaravanHttpFutures {
+
+  private CaravanHttpFutures() {
+    // static methods only
+  }
+
+  /**
+   * Subscribes to the response observable. The future is completed on the thread that emits the response, cancelling
+   * the future unsubscribes from the observable.
+   * @param response Observable executing the request
+   * @return Future of the response
+   */
+  public static CompletableFuture<CaravanHttpResponse> toCompletableFuture(Observable<CaravanHttpResponse> response) {
+    CompletableFuture<CaravanHttpResponse> future = new CompletableFuture<>();
+    Subscription subscription = response
+        .single()
+        .subscribe(future::complete, future::completeExceptionally);
+    future.whenComplete((result, ex) -> {
+      if (ex instanceof CancellationException) {
+        subscription.unsubscribe();
+      }
+    });
+    return future;
+  }
+
+  /**
+   * Waits for the response. Blocking in a virtual thread only parks the virtual thread, so this is cheap there.
+   * @param request Request
+   * @param future Future of the response
+   * @return Response
+   * @throws RequestFailedRuntimeException if the thread was interrupted or the request failed with a checked exception
+   */
+  public static CaravanHttpResponse await(CaravanHttpRequest request, CompletableFuture<CaravanHttpResponse> future) {
+    try {
+      return future.get();
+    }
+    catch (InterruptedException ex) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new RequestFailedRuntimeException(request, "Interrupted while waiting for response", ex);
+    }
+    catch (ExecutionException ex) {
+      Throwable cause = ex.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException)cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error)cause;
+      }
+      throw new RequestFailedRuntimeException(request, StringUtils.defaultString(cause.getMessage(), cause.getClass().getSimpleName()), cause);
+    }
+  }
+
+}
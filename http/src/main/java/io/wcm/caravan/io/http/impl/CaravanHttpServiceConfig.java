@@ -40,6 +40,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.wcm.caravan.io.http.impl.ribbon.CachingLoadBalancerFactory;
+import io.wcm.caravan.io.http.impl.ribbon.LatencyAwareLoadBalancer;
 import io.wcm.caravan.io.http.impl.ribbon.LoadBalancerFactory;
 
 /**
@@ -75,6 +76,19 @@ public class CaravanHttpServiceConfig {
   )
   public static final String THROW_EXCEPTION_FOR_STATUS_500 = "exceptionForResponseStatus500";
 
+  static final boolean RESPONSE_STREAMING_DEFAULT = false;
+
+  /**
+   * Stream response bodies
+   */
+  @Property(label = "Response streaming",
+      description = "If true, response bodies are not buffered in memory but read directly from the connection. "
+          + "The connection is released when the body is closed or fully consumed, so callers have to make sure to close it. "
+          + "Only effective for HTTP/2 and for services executed on a Hystrix thread pool or virtual threads, "
+          + "the asynchronous HTTP/1.1 client always receives the complete body.",
+      boolValue = RESPONSE_STREAMING_DEFAULT)
+  public static final String RESPONSE_STREAMING_PROPERTY = "responseStreaming";
+
   /**
    * Hosts
    */
@@ -100,6 +114,132 @@ public class CaravanHttpServiceConfig {
   public static final String PROTOCOL_PROPERTY = "http.protocol";
   static final String PROTOCOL_PROPERTY_DEFAULT = RequestUtil.PROTOCOL_AUTO;
 
+  /**
+   * HTTP version
+   */
+  @Property(label = "HTTP version",
+      description = "Choose between HTTP/1.1 and HTTP/2 for communicating with the Hosts. HTTP/2 multiplexes all requests "
+          + "to a host over a single connection, negotiated via ALPN (h2) for HTTPS and via upgrade (h2c) for HTTP. "
+          + "Hosts not supporting HTTP/2 are transparently requested with HTTP/1.1.",
+          value = CaravanHttpServiceConfig.HTTP_VERSION_PROPERTY_DEFAULT,
+          options = {
+              @PropertyOption(name = RequestUtil.HTTP_VERSION_1_1, value = "HTTP/1.1"),
+              @PropertyOption(name = RequestUtil.HTTP_VERSION_2, value = "HTTP/2")
+  })
+  public static final String HTTP_VERSION_PROPERTY = "http.version";
+  static final String HTTP_VERSION_PROPERTY_DEFAULT = RequestUtil.HTTP_VERSION_1_1;
+
+  /**
+   * Max. connections per route
+   */
+  @Property(label = "Max. Connections per Route",
+      description = "Connection pool: Max number of connections to each of the Hosts. If set to a value > 0 the service gets its own "
+          + "connection pool with the settings below and pool metrics, otherwise the shared pool of the HTTP client factory is used.",
+          intValue = CaravanHttpServiceConfig.POOL_MAX_CONNECTIONS_PER_ROUTE_DEFAULT)
+  public static final String POOL_MAX_CONNECTIONS_PER_ROUTE_PROPERTY = "http.maxConnectionsPerRoute";
+  static final int POOL_MAX_CONNECTIONS_PER_ROUTE_DEFAULT = 0;
+
+  /**
+   * Max. total connections
+   */
+  @Property(label = "Max. Total Connections",
+      description = "Connection pool: Max number of connections to all Hosts of the service. 0 = limited by max. connections per route only.",
+      intValue = CaravanHttpServiceConfig.POOL_MAX_TOTAL_CONNECTIONS_DEFAULT)
+  public static final String POOL_MAX_TOTAL_CONNECTIONS_PROPERTY = "http.maxTotalConnections";
+  static final int POOL_MAX_TOTAL_CONNECTIONS_DEFAULT = 0;
+
+  /**
+   * Connection TTL
+   */
+  @Property(label = "Connection TTL",
+      description = "Connection pool: Time in milliseconds after which a connection is closed instead of being reused. 0 = unlimited.",
+      intValue = CaravanHttpServiceConfig.POOL_CONNECTION_TTL_MS_DEFAULT)
+  public static final String POOL_CONNECTION_TTL_MS_PROPERTY = "http.connectionTtlMs";
+  static final int POOL_CONNECTION_TTL_MS_DEFAULT = 0;
+
+  /**
+   * Idle connection timeout
+   */
+  @Property(label = "Idle Connection Timeout",
+      description = "Connection pool: Time in milliseconds after which idle connections are evicted from the pool. 0 = never.",
+      intValue = CaravanHttpServiceConfig.POOL_IDLE_CONNECTION_TIMEOUT_MS_DEFAULT)
+  public static final String POOL_IDLE_CONNECTION_TIMEOUT_MS_PROPERTY = "http.idleConnectionTimeoutMs";
+  static final int POOL_IDLE_CONNECTION_TIMEOUT_MS_DEFAULT = 0;
+
+  /**
+   * Hedged requests
+   */
+  @Property(label = "Hedged Requests",
+      description = "If true, a GET request that was not answered within the hedge delay is sent a second time to a different server. "
+          + "The first response is used, the other request is cancelled.",
+          boolValue = CaravanHttpServiceConfig.HEDGING_ENABLED_DEFAULT)
+  public static final String HEDGING_ENABLED_PROPERTY = "http.hedgingEnabled";
+  static final boolean HEDGING_ENABLED_DEFAULT = false;
+
+  /**
+   * Hedge delay
+   */
+  @Property(label = "Hedge Delay",
+      description = "Hedged requests: Time in milliseconds after which the second request is sent. "
+          + "0 = the 95th percentile of the observed response times of the service.",
+          intValue = CaravanHttpServiceConfig.HEDGE_DELAY_MS_DEFAULT)
+  public static final String HEDGE_DELAY_MS_PROPERTY = "http.hedgeDelayMs";
+  static final int HEDGE_DELAY_MS_DEFAULT = 0;
+
+  /**
+   * Load balancer
+   */
+  @Property(label = "Load Balancer",
+      description = "Ribbon: 'Default' uses the load balancer configured for Ribbon (round robin). 'Latency aware' chooses the "
+          + "better of two random Hosts, comparing their moving average response time and the number of requests in flight.",
+          value = CaravanHttpServiceConfig.RIBBON_LOADBALANCER_DEFAULT,
+          options = {
+              @PropertyOption(name = CaravanHttpServiceConfig.LOADBALANCER_DEFAULT, value = "Default"),
+              @PropertyOption(name = CaravanHttpServiceConfig.LOADBALANCER_LATENCY_AWARE, value = "Latency aware")
+  })
+  public static final String RIBBON_LOADBALANCER_PROPERTY = "ribbonLoadBalancer";
+  static final String LOADBALANCER_DEFAULT = "default";
+  static final String LOADBALANCER_LATENCY_AWARE = "latencyAware";
+  static final String RIBBON_LOADBALANCER_DEFAULT = LOADBALANCER_DEFAULT;
+
+  /**
+   * Adaptive concurrency limit
+   */
+  @Property(label = "Adaptive Concurrency Limit",
+      description = "If true, the number of requests in flight is limited to a value adapted to the observed response times. "
+          + "Requests exceeding the limit are rejected immediately with a ConcurrencyLimitExceededRuntimeException.",
+          boolValue = CaravanHttpServiceConfig.ADAPTIVE_CONCURRENCY_LIMIT_DEFAULT)
+  public static final String ADAPTIVE_CONCURRENCY_LIMIT_PROPERTY = "http.adaptiveConcurrencyLimit";
+  static final boolean ADAPTIVE_CONCURRENCY_LIMIT_DEFAULT = false;
+
+  /**
+   * Max. concurrent requests
+   */
+  @Property(label = "Max. Concurrent Requests",
+      description = "Adaptive concurrency limit: Upper bound of the number of requests in flight.",
+      intValue = CaravanHttpServiceConfig.MAX_CONCURRENT_REQUESTS_DEFAULT)
+  public static final String MAX_CONCURRENT_REQUESTS_PROPERTY = "http.maxConcurrentRequests";
+  static final int MAX_CONCURRENT_REQUESTS_DEFAULT = 1000;
+
+  /**
+   * Direct callbacks
+   */
+  @Property(label = "Direct Callbacks",
+      description = "If true, responses are emitted directly on the thread that received them instead of the callback thread pool. "
+          + "Saves a thread handoff per request, but subscribers must not block.",
+          boolValue = CaravanHttpServiceConfig.DIRECT_CALLBACKS_DEFAULT)
+  public static final String DIRECT_CALLBACKS_PROPERTY = "http.directCallbacks";
+  static final boolean DIRECT_CALLBACKS_DEFAULT = false;
+
+  /**
+   * Slow callback threshold
+   */
+  @Property(label = "Slow Callback Threshold",
+      description = "Direct callbacks: Time in milliseconds after which a callback is logged as slow.",
+      intValue = CaravanHttpServiceConfig.SLOW_CALLBACK_THRESHOLD_MS_DEFAULT)
+  public static final String SLOW_CALLBACK_THRESHOLD_MS_PROPERTY = "http.slowCallbackThresholdMs";
+  static final int SLOW_CALLBACK_THRESHOLD_MS_DEFAULT = 20;
+
   /**
    * Max. Auto Retries
    */
@@ -201,6 +341,7 @@ public class CaravanHttpServiceConfig {
   static final String RIBBON_PARAM_MAXAUTORETRIES = ".ribbon.MaxAutoRetries";
   static final String RIBBON_PARAM_MAXAUTORETRIESONSERVER = ".ribbon.MaxAutoRetriesNextServer";
   static final String RIBBON_PARAM_OKTORETRYONALLOPERATIONS = ".ribbon.OkToRetryOnAllOperations";
+  static final String RIBBON_PARAM_LOADBALANCER_CLASSNAME = ".ribbon.NFLoadBalancerClassName";
 
   static final String HYSTRIX_COMMAND_PREFIX = "hystrix.command.";
   static final String HYSTRIX_PARAM_TIMEOUT_MS = ".execution.isolation.thread.timeoutInMilliseconds";
@@ -218,6 +359,42 @@ public class CaravanHttpServiceConfig {
    */
   public static final String HTTP_PARAM_PROTOCOL = ".http.protocol";
 
+  /**
+   * Custom archiaus property for response streaming
+   */
+  public static final String HTTP_PARAM_RESPONSE_STREAMING = ".http.responseStreaming";
+
+  /**
+   * Custom archiaus property for the HTTP version
+   */
+  public static final String HTTP_PARAM_HTTP_VERSION = ".http.version";
+
+  /**
+   * Custom archiaus properties for the connection pool
+   */
+  public static final String HTTP_PARAM_MAX_CONNECTIONS_PER_ROUTE = ".http.maxConnectionsPerRoute";
+  public static final String HTTP_PARAM_MAX_TOTAL_CONNECTIONS = ".http.maxTotalConnections";
+  public static final String HTTP_PARAM_CONNECTION_TTL_MS = ".http.connectionTtlMs";
+  public static final String HTTP_PARAM_IDLE_CONNECTION_TIMEOUT_MS = ".http.idleConnectionTimeoutMs";
+
+  /**
+   * Custom archiaus properties for hedged requests
+   */
+  public static final String HTTP_PARAM_HEDGING_ENABLED = ".http.hedgingEnabled";
+  public static final String HTTP_PARAM_HEDGE_DELAY_MS = ".http.hedgeDelayMs";
+
+  /**
+   * Custom archiaus properties for the adaptive concurrency limit
+   */
+  public static final String HTTP_PARAM_ADAPTIVE_CONCURRENCY_LIMIT = ".http.adaptiveConcurrencyLimit";
+  public static final String HTTP_PARAM_MAX_CONCURRENT_REQUESTS = ".http.maxConcurrentRequests";
+
+  /**
+   * Custom archiaus properties for direct callbacks
+   */
+  public static final String HTTP_PARAM_DIRECT_CALLBACKS = ".http.directCallbacks";
+  public static final String HTTP_PARAM_SLOW_CALLBACK_THRESHOLD_MS = ".http.slowCallbackThresholdMs";
+
   static final String LIST_SEPARATOR = ",";
 
   private static final Logger log = LoggerFactory.getLogger(CaravanHttpServiceConfig.class);
@@ -227,6 +404,7 @@ public class CaravanHttpServiceConfig {
     String serviceId = getServiceId(config);
     if (CaravanHttpServiceConfigValidator.isValidServiceConfig(serviceId, config)) {
       setArchiausProperties(serviceId, config);
+      ServiceSettingsRegistry.publish(serviceId);
     }
   }
 
@@ -235,6 +413,7 @@ public class CaravanHttpServiceConfig {
     // clear configuration by writing empty properties
     String serviceId = getServiceId(config);
     clearArchiausProperties(serviceId);
+    ServiceSettingsRegistry.remove(serviceId);
     // remove load balancer from caching factory
     if (loadBalancerFactory != null && loadBalancerFactory instanceof CachingLoadBalancerFactory) {
       ((CachingLoadBalancerFactory)loadBalancerFactory).unregister(serviceId);
@@ -262,6 +441,13 @@ public class CaravanHttpServiceConfig {
     archaiusConfig.setProperty(serviceId + RIBBON_PARAM_MAXAUTORETRIESONSERVER,
         PropertiesUtil.toInteger(config.get(RIBBON_MAXAUTORETRIESNEXTSERVER_PROPERTY), RIBBON_MAXAUTORETRIESONSERVER_DEFAULT));
     archaiusConfig.setProperty(serviceId + RIBBON_PARAM_OKTORETRYONALLOPERATIONS, "true");
+    if (StringUtils.equals(PropertiesUtil.toString(config.get(RIBBON_LOADBALANCER_PROPERTY), RIBBON_LOADBALANCER_DEFAULT),
+        LOADBALANCER_LATENCY_AWARE)) {
+      archaiusConfig.setProperty(serviceId + RIBBON_PARAM_LOADBALANCER_CLASSNAME, LatencyAwareLoadBalancer.class.getName());
+    }
+    else {
+      archaiusConfig.clearProperty(serviceId + RIBBON_PARAM_LOADBALANCER_CLASSNAME);
+    }
 
     // hystrix parameters
     archaiusConfig.setProperty("hystrix.threadpool.default.maxQueueSize", CaravanHttpThreadPoolConfig.HYSTRIX_THREADPOOL_MAXQUEUESIZE_DEFAULT);
@@ -295,6 +481,30 @@ public class CaravanHttpServiceConfig {
     archaiusConfig.setProperty(serviceId + HTTP_PARAM_PROTOCOL, PropertiesUtil.toString(config.get(PROTOCOL_PROPERTY), PROTOCOL_PROPERTY_DEFAULT));
     archaiusConfig.setProperty(serviceId + THROW_EXCEPTION_FOR_STATUS_500, PropertiesUtil.toBoolean(config.get(THROW_EXCEPTION_FOR_STATUS_500),
       THROW_EXCEPTION_FOR_STATUS_500_DEFAULT));
+    archaiusConfig.setProperty(serviceId + HTTP_PARAM_RESPONSE_STREAMING, PropertiesUtil.toBoolean(config.get(RESPONSE_STREAMING_PROPERTY),
+        RESPONSE_STREAMING_DEFAULT));
+    archaiusConfig.setProperty(serviceId + HTTP_PARAM_HTTP_VERSION, PropertiesUtil.toString(config.get(HTTP_VERSION_PROPERTY),
+        HTTP_VERSION_PROPERTY_DEFAULT));
+    archaiusConfig.setProperty(serviceId + HTTP_PARAM_MAX_CONNECTIONS_PER_ROUTE,
+        PropertiesUtil.toInteger(config.get(POOL_MAX_CONNECTIONS_PER_ROUTE_PROPERTY), POOL_MAX_CONNECTIONS_PER_ROUTE_DEFAULT));
+    archaiusConfig.setProperty(serviceId + HTTP_PARAM_MAX_TOTAL_CONNECTIONS,
+        PropertiesUtil.toInteger(config.get(POOL_MAX_TOTAL_CONNECTIONS_PROPERTY), POOL_MAX_TOTAL_CONNECTIONS_DEFAULT));
+    archaiusConfig.setProperty(serviceId + HTTP_PARAM_CONNECTION_TTL_MS,
+        PropertiesUtil.toInteger(config.get(POOL_CONNECTION_TTL_MS_PROPERTY), POOL_CONNECTION_TTL_MS_DEFAULT));
+    archaiusConfig.setProperty(serviceId + HTTP_PARAM_IDLE_CONNECTION_TIMEOUT_MS,
+        PropertiesUtil.toInteger(config.get(POOL_IDLE_CONNECTION_TIMEOUT_MS_PROPERTY), POOL_IDLE_CONNECTION_TIMEOUT_MS_DEFAULT));
+    archaiusConfig.setProperty(serviceId + HTTP_PARAM_HEDGING_ENABLED,
+        PropertiesUtil.toBoolean(config.get(HEDGING_ENABLED_PROPERTY), HEDGING_ENABLED_DEFAULT));
+    archaiusConfig.setProperty(serviceId + HTTP_PARAM_HEDGE_DELAY_MS,
+        PropertiesUtil.toInteger(config.get(HEDGE_DELAY_MS_PROPERTY), HEDGE_DELAY_MS_DEFAULT));
+    archaiusConfig.setProperty(serviceId + HTTP_PARAM_ADAPTIVE_CONCURRENCY_LIMIT,
+        PropertiesUtil.toBoolean(config.get(ADAPTIVE_CONCURRENCY_LIMIT_PROPERTY), ADAPTIVE_CONCURRENCY_LIMIT_DEFAULT));
+    archaiusConfig.setProperty(serviceId + HTTP_PARAM_MAX_CONCURRENT_REQUESTS,
+        PropertiesUtil.toInteger(config.get(MAX_CONCURRENT_REQUESTS_PROPERTY), MAX_CONCURRENT_REQUESTS_DEFAULT));
+    archaiusConfig.setProperty(serviceId + HTTP_PARAM_DIRECT_CALLBACKS,
+        PropertiesUtil.toBoolean(config.get(DIRECT_CALLBACKS_PROPERTY), DIRECT_CALLBACKS_DEFAULT));
+    archaiusConfig.setProperty(serviceId + HTTP_PARAM_SLOW_CALLBACK_THRESHOLD_MS,
+        PropertiesUtil.toInteger(config.get(SLOW_CALLBACK_THRESHOLD_MS_PROPERTY), SLOW_CALLBACK_THRESHOLD_MS_DEFAULT));
 
     // update protocol to be used
     applyRibbonHostsProcotol(serviceId);
@@ -356,6 +566,7 @@ public class CaravanHttpServiceConfig {
     archaiusConfig.clearProperty(serviceId + RIBBON_PARAM_MAXAUTORETRIES);
     archaiusConfig.clearProperty(serviceId + RIBBON_PARAM_MAXAUTORETRIESONSERVER);
     archaiusConfig.clearProperty(serviceId + RIBBON_PARAM_OKTORETRYONALLOPERATIONS);
+    archaiusConfig.clearProperty(serviceId + RIBBON_PARAM_LOADBALANCER_CLASSNAME);
 
     // hystrix parameters
     archaiusConfig.clearProperty(HYSTRIX_COMMAND_PREFIX + serviceId + HYSTRIX_PARAM_TIMEOUT_MS);
@@ -370,6 +581,18 @@ public class CaravanHttpServiceConfig {
 
     // others
     archaiusConfig.clearProperty(serviceId + HTTP_PARAM_PROTOCOL);
+    archaiusConfig.clearProperty(serviceId + HTTP_PARAM_RESPONSE_STREAMING);
+    archaiusConfig.clearProperty(serviceId + HTTP_PARAM_HTTP_VERSION);
+    archaiusConfig.clearProperty(serviceId + HTTP_PARAM_MAX_CONNECTIONS_PER_ROUTE);
+    archaiusConfig.clearProperty(serviceId + HTTP_PARAM_MAX_TOTAL_CONNECTIONS);
+    archaiusConfig.clearProperty(serviceId + HTTP_PARAM_CONNECTION_TTL_MS);
+    archaiusConfig.clearProperty(serviceId + HTTP_PARAM_IDLE_CONNECTION_TIMEOUT_MS);
+    archaiusConfig.clearProperty(serviceId + HTTP_PARAM_HEDGING_ENABLED);
+    archaiusConfig.clearProperty(serviceId + HTTP_PARAM_HEDGE_DELAY_MS);
+    archaiusConfig.clearProperty(serviceId + HTTP_PARAM_ADAPTIVE_CONCURRENCY_LIMIT);
+    archaiusConfig.clearProperty(serviceId + HTTP_PARAM_MAX_CONCURRENT_REQUESTS);
+    archaiusConfig.clearProperty(serviceId + HTTP_PARAM_DIRECT_CALLBACKS);
+    archaiusConfig.clearProperty(serviceId + HTTP_PARAM_SLOW_CALLBACK_THRESHOLD_MS);
   }
 
 }
@@ -20,18 +20,17 @@
 package io.wcm.caravan.io.http.impl;
 
 import static io.wcm.caravan.io.http.impl.CaravanHttpServiceConfig.RIBBON_HOSTS_PROPERTY;
-import static io.wcm.caravan.io.http.impl.CaravanHttpServiceConfig.RIBBON_PARAM_LISTOFSERVERS;
 
 import java.util.Map;
 
-import org.apache.commons.configuration.Configuration;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.sling.commons.osgi.PropertiesUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Validates http service configuration for service IDs.
+ * Validates http service configuration for service IDs. The configured values are read from the
+ * {@link ServiceSettings} snapshot of the service.
  */
 public final class CaravanHttpServiceConfigValidator {
 
@@ -49,8 +48,7 @@ public final class CaravanHttpServiceConfigValidator {
    * @return true if configuration is valid
    */
   public static boolean hasValidConfiguration(String serviceId) {
-    Configuration archaiusConfig = ArchaiusConfig.getConfiguration();
-    return StringUtils.isNotEmpty(archaiusConfig.getString(serviceId + RIBBON_PARAM_LISTOFSERVERS));
+    return ServiceSettingsRegistry.get(serviceId).hasValidConfiguration();
   }
 
   /**
@@ -77,8 +75,115 @@ public final class CaravanHttpServiceConfigValidator {
    * @return Configured value
    */
   public static boolean throwExceptionForStatus500(String serviceId) {
-    return ArchaiusConfig.getConfiguration().getBoolean(serviceId + CaravanHttpServiceConfig.THROW_EXCEPTION_FOR_STATUS_500,
-        CaravanHttpServiceConfig.THROW_EXCEPTION_FOR_STATUS_500_DEFAULT);
+    return ServiceSettingsRegistry.get(serviceId).isThrowExceptionForStatus500();
+  }
+
+  /**
+   * get configuration for "RESPONSE_STREAMING"
+   * @param serviceId
+   * @return Configured value
+   */
+  public static boolean isResponseStreaming(String serviceId) {
+    return ServiceSettingsRegistry.get(serviceId).isResponseStreaming();
+  }
+
+  /**
+   * get configuration for "HTTP_VERSION"
+   * @param serviceId
+   * @return true if HTTP/2 is configured
+   */
+  public static boolean isHttp2(String serviceId) {
+    return ServiceSettingsRegistry.get(serviceId).isHttp2();
+  }
+
+  /**
+   * get configuration for "POOL_MAX_CONNECTIONS_PER_ROUTE"
+   * @param serviceId
+   * @return Configured value, 0 if the shared connection pool is used
+   */
+  public static int getMaxConnectionsPerRoute(String serviceId) {
+    return ServiceSettingsRegistry.get(serviceId).getMaxConnectionsPerRoute();
+  }
+
+  /**
+   * get configuration for "POOL_MAX_TOTAL_CONNECTIONS"
+   * @param serviceId
+   * @return Configured value
+   */
+  public static int getMaxTotalConnections(String serviceId) {
+    return ServiceSettingsRegistry.get(serviceId).getMaxTotalConnections();
+  }
+
+  /**
+   * get configuration for "POOL_CONNECTION_TTL_MS"
+   * @param serviceId
+   * @return Configured value
+   */
+  public static int getConnectionTtlMs(String serviceId) {
+    return ServiceSettingsRegistry.get(serviceId).getConnectionTtlMs();
+  }
+
+  /**
+   * get configuration for "POOL_IDLE_CONNECTION_TIMEOUT_MS"
+   * @param serviceId
+   * @return Configured value
+   */
+  public static int getIdleConnectionTimeoutMs(String serviceId) {
+    return ServiceSettingsRegistry.get(serviceId).getIdleConnectionTimeoutMs();
+  }
+
+  /**
+   * get configuration for "HEDGING_ENABLED"
+   * @param serviceId
+   * @return Configured value
+   */
+  public static boolean isHedgingEnabled(String serviceId) {
+    return ServiceSettingsRegistry.get(serviceId).isHedgingEnabled();
+  }
+
+  /**
+   * get configuration for "HEDGE_DELAY_MS"
+   * @param serviceId
+   * @return Configured value, 0 if the observed 95th percentile is to be used
+   */
+  public static int getHedgeDelayMs(String serviceId) {
+    return ServiceSettingsRegistry.get(serviceId).getHedgeDelayMs();
+  }
+
+  /**
+   * get configuration for "ADAPTIVE_CONCURRENCY_LIMIT"
+   * @param serviceId
+   * @return Configured value
+   */
+  public static boolean isAdaptiveConcurrencyLimit(String serviceId) {
+    return ServiceSettingsRegistry.get(serviceId).isAdaptiveConcurrencyLimit();
+  }
+
+  /**
+   * get configuration for "MAX_CONCURRENT_REQUESTS"
+   * @param serviceId
+   * @return Configured value
+   */
+  public static int getMaxConcurrentRequests(String serviceId) {
+    return ServiceSettingsRegistry.get(serviceId).getMaxConcurrentRequests();
+  }
+
+  /**
+   * get configuration for "DIRECT_CALLBACKS"
+   * @param serviceId
+   * @return Configured value
+   */
+  public static boolean isDirectCallbacks(String serviceId) {
+    return ServiceSettingsRegistry.get(serviceId).isDirectCallbacks();
+  }
+
+  /**
+   * get configuration for "SLOW_CALLBACK_THRESHOLD_MS"
+   * @param serviceId
+   * @return Configured value
+   */
+  public static int getSlowCallbackThresholdMs(String serviceId) {
+    return ServiceSettingsRegistry.get(serviceId).getSlowCallbackThresholdMs();
   }
 
 }
@@ -28,6 +28,7 @@ import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.ConfigurationPolicy;
 import org.apache.felix.scr.annotations.Deactivate;
 import org.apache.felix.scr.annotations.Property;
+import org.apache.felix.scr.annotations.PropertyOption;
 import org.apache.sling.commons.osgi.PropertiesUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -75,11 +76,41 @@ public class CaravanHttpThreadPoolConfig {
   public static final String HYSTRIX_THREADPOOL_QUEUESIZEREJECTIONTHRESHOLD_PROPERTY = "hystrixThreadpoolQueuesizerejectionthreshold";
   static final int HYSTRIX_THREADPOOL_QUEUESIZEREJECTIONTHRESHOLD_DEFAULT = 4096;
 
+  /**
+   * Thread execution
+   */
+  @Property(label = "Thread Execution",
+      description = "'Platform' executes blocking requests on the Hystrix thread pool. 'Virtual' executes each blocking request "
+          + "on a new virtual thread, limited by 'Max. Concurrent Virtual Threads'. Requires Java 21, on older versions "
+          + "platform threads are started instead.",
+          value = CaravanHttpThreadPoolConfig.THREAD_EXECUTION_DEFAULT,
+          options = {
+              @PropertyOption(name = CaravanHttpThreadPoolConfig.THREAD_EXECUTION_PLATFORM, value = "Platform"),
+              @PropertyOption(name = CaravanHttpThreadPoolConfig.THREAD_EXECUTION_VIRTUAL, value = "Virtual")
+  })
+  public static final String THREAD_EXECUTION_PROPERTY = "threadExecution";
+  static final String THREAD_EXECUTION_PLATFORM = "platform";
+  static final String THREAD_EXECUTION_VIRTUAL = "virtual";
+  static final String THREAD_EXECUTION_DEFAULT = THREAD_EXECUTION_PLATFORM;
+
+  /**
+   * Max. concurrent virtual threads
+   */
+  @Property(label = "Max. Concurrent Virtual Threads",
+      description = "Virtual thread execution: Maximum number of requests executing concurrently. Further requests are rejected.",
+      intValue = CaravanHttpThreadPoolConfig.MAX_CONCURRENT_VIRTUAL_THREADS_DEFAULT)
+  public static final String MAX_CONCURRENT_VIRTUAL_THREADS_PROPERTY = "maxConcurrentVirtualThreads";
+  static final int MAX_CONCURRENT_VIRTUAL_THREADS_DEFAULT = 1000;
+
   private static final String HYSTRIX_THREADPOOL_PREFIX = "hystrix.threadpool.";
   private static final String HYSTRIX_PARAM_THREADPOOL_CORESIZE = ".coreSize";
   private static final String HYSTRIX_PARAM_THREADPOOL_MAXQUEUESIZE = ".maxQueueSize";
   private static final String HYSTRIX_PARAM_THREADPOOL_QUEUESIZEREJECTIONTHRESHOLD = ".queueSizeRejectionThreshold";
 
+  static final String CARAVAN_THREADPOOL_PREFIX = "caravan.threadpool.";
+  static final String CARAVAN_PARAM_THREAD_EXECUTION = ".threadExecution";
+  static final String CARAVAN_PARAM_MAX_CONCURRENT_VIRTUAL_THREADS = ".maxConcurrentVirtualThreads";
+
   @Activate
   protected void activate(Map<String, Object> config) {
     String threadPoolName = getThreadPoolName(config);
@@ -128,6 +159,11 @@ public class CaravanHttpThreadPoolConfig {
     // dynamic thread queue size
     archaiusConfig.setProperty(HYSTRIX_THREADPOOL_PREFIX + threadPoolName + HYSTRIX_PARAM_THREADPOOL_QUEUESIZEREJECTIONTHRESHOLD,
         PropertiesUtil.toInteger(config.get(HYSTRIX_THREADPOOL_QUEUESIZEREJECTIONTHRESHOLD_PROPERTY), HYSTRIX_THREADPOOL_QUEUESIZEREJECTIONTHRESHOLD_DEFAULT));
+    // platform or virtual threads
+    archaiusConfig.setProperty(CARAVAN_THREADPOOL_PREFIX + threadPoolName + CARAVAN_PARAM_THREAD_EXECUTION,
+        PropertiesUtil.toString(config.get(THREAD_EXECUTION_PROPERTY), THREAD_EXECUTION_DEFAULT));
+    archaiusConfig.setProperty(CARAVAN_THREADPOOL_PREFIX + threadPoolName + CARAVAN_PARAM_MAX_CONCURRENT_VIRTUAL_THREADS,
+        PropertiesUtil.toInteger(config.get(MAX_CONCURRENT_VIRTUAL_THREADS_PROPERTY), MAX_CONCURRENT_VIRTUAL_THREADS_DEFAULT));
   }
 
   /**
@@ -139,6 +175,8 @@ public class CaravanHttpThreadPoolConfig {
     archaiusConfig.clearProperty(HYSTRIX_THREADPOOL_PREFIX + threadPoolName + HYSTRIX_PARAM_THREADPOOL_CORESIZE);
     archaiusConfig.clearProperty(HYSTRIX_THREADPOOL_PREFIX + threadPoolName + HYSTRIX_PARAM_THREADPOOL_MAXQUEUESIZE);
     archaiusConfig.clearProperty(HYSTRIX_THREADPOOL_PREFIX + threadPoolName + HYSTRIX_PARAM_THREADPOOL_QUEUESIZEREJECTIONTHRESHOLD);
+    archaiusConfig.clearProperty(CARAVAN_THREADPOOL_PREFIX + threadPoolName + CARAVAN_PARAM_THREAD_EXECUTION);
+    archaiusConfig.clearProperty(CARAVAN_THREADPOOL_PREFIX + threadPoolName + CARAVAN_PARAM_MAX_CONCURRENT_VIRTUAL_THREADS);
   }
 
 }
@@ -0,0 +1,96 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl;
+
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.codahale.metrics.Meter;
+
+import io.wcm.caravan.io.http.request.CaravanHttpRequest;
+import rx.Observable.Operator;
+import rx.Subscriber;
+
+/**
+ * Emits all notifications directly on the thread that received the response, e.g. an I/O thread of the async HTTP
+ * client. As a slow subscriber blocks that thread for other responses, callbacks taking longer than the configured
+ * threshold are logged and counted.
+ * @param <T> Value type
+ */
+final class DirectCallbackOperator<T> implements Operator<T, T> {
+
+  private static final Logger log = LoggerFactory.getLogger(DirectCallbackOperator.class);
+
+  private final CaravanHttpRequest request;
+  private final long thresholdNanos;
+  private final Meter slowCallbacks;
+
+  /**
+   * @param request Request
+   * @param thresholdMs Callbacks taking longer are logged and counted
+   * @param slowCallbacks Meter for slow callbacks
+   */
+  DirectCallbackOperator(CaravanHttpRequest request, int thresholdMs, Meter slowCallbacks) {
+    this.request = request;
+    this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+    this.slowCallbacks = slowCallbacks;
+  }
+
+  @Override
+  public Subscriber<? super T> call(Subscriber<? super T> child) {
+    return new Subscriber<T>(child) {
+
+      @Override
+      public void onNext(T value) {
+        long start = System.nanoTime();
+        child.onNext(value);
+        checkDuration("onNext", start);
+      }
+
+      @Override
+      public void onError(Throwable ex) {
+        long start = System.nanoTime();
+        child.onError(ex);
+        checkDuration("onError", start);
+      }
+
+      @Override
+      public void onCompleted() {
+        long start = System.nanoTime();
+        child.onCompleted();
+        checkDuration("onCompleted", start);
+      }
+
+    };
+  }
+
+  private void checkDuration(String callback, long start) {
+    long duration = System.nanoTime() - start;
+    if (duration > thresholdNanos) {
+      slowCallbacks.mark();
+      log.warn("Direct {} callback for {} blocked thread {} for {} ms, disable direct callbacks for service {} if this happens regularly.\n{}",
+          callback, request.getUrl(), Thread.currentThread().getName(), TimeUnit.NANOSECONDS.toMillis(duration), request.getServiceId(),
+          request.getCorrelationId());
+    }
+  }
+
+}
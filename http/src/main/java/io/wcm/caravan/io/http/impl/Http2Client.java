@@ -0,0 +1,293 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpClient.Redirect;
+import java.net.http.HttpClient.Version;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.EnglishReasonPhraseCatalog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableSet;
+
+import io.wcm.caravan.io.http.IllegalResponseRuntimeException;
+import io.wcm.caravan.io.http.request.CaravanHttpRequest;
+import io.wcm.caravan.io.http.response.CaravanHttpResponse;
+import io.wcm.caravan.io.http.response.CaravanHttpResponseBuilder;
+import rx.Observable;
+import rx.Subscriber;
+import rx.subscriptions.Subscriptions;
+
+/**
+ * Executes requests with the HTTP/2 capable JDK HTTP client. All requests to a host share a single multiplexed
+ * connection. HTTP/2 is negotiated via ALPN for HTTPS (h2) and via upgrade for HTTP (h2c), hosts not supporting it are
+ * requested with HTTP/1.1. The request URL is the one already resolved by the Ribbon load balancer, so server selection
+ * and retries work the same as for the HTTP/1.1 transport.
+ */
+final class Http2Client {
+
+  /**
+   * Headers set by the JDK client itself, which are not allowed to be set on a request.
+   */
+  static final Set<String> RESTRICTED_HEADERS = ImmutableSet.of("connection", "content-length", "date", "expect", "from", "host",
+      "origin", "referer", "upgrade", "via", "warning");
+
+  private static final String NO_SERVICE_ID = "";
+
+  private static final Logger LOG = LoggerFactory.getLogger(Http2Client.class);
+
+  private final Map<String, ServiceClient> clients = new ConcurrentHashMap<>();
+
+  /**
+   * @param request Request
+   * @param url Full URL to execute the request on
+   * @param requestConfig Request configuration of the HTTP/1.1 transport, provides connect and socket timeout
+   * @param blocking If true, the request is executed in the subscribing thread
+   * @return Observable emitting the response
+   */
+  public Observable<CaravanHttpResponse> execute(CaravanHttpRequest request, String url, RequestConfig requestConfig, boolean blocking) {
+    return Observable.create(subscriber -> {
+      HttpRequest httpRequest;
+      try {
+        httpRequest = buildHttpRequest(url, request, requestConfig.getSocketTimeout());
+      }
+      catch (IllegalArgumentException ex) {
+        subscriber.onError(ex);
+        return;
+      }
+
+      if (LOG.isTraceEnabled()) {
+        LOG.trace("Initiating HTTP/2 request for {},\n{},\n{}", httpRequest.uri(), request.toString(), request.getCorrelationId());
+      }
+
+      HttpClient httpClient = getClient(request.getServiceId(), requestConfig.getConnectTimeout());
+      BodyHandler<?> bodyHandler = CaravanHttpServiceConfigValidator.isResponseStreaming(request.getServiceId())
+          ? BodyHandlers.ofInputStream() : BodyHandlers.ofByteArray();
+      Stopwatch stopwatch = Stopwatch.createStarted();
+
+      if (blocking) {
+        try {
+          HttpResponse<?> response = httpClient.send(httpRequest, bodyHandler);
+          LOG.debug("Received response from {} in {} ms\n{}", httpRequest.uri(), stopwatch.elapsed(MILLISECONDS), request.getCorrelationId());
+          processResponse(request, httpRequest, subscriber, response);
+        }
+        catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+          processException(request, httpRequest, subscriber, stopwatch, ex);
+        }
+        catch (IOException ex) {
+          processException(request, httpRequest, subscriber, stopwatch, ex);
+        }
+      }
+      else {
+        CompletableFuture<? extends HttpResponse<?>> future = httpClient.sendAsync(httpRequest, bodyHandler);
+        future.whenComplete((response, ex) -> {
+          if (ex != null) {
+            processException(request, httpRequest, subscriber, stopwatch, ex);
+          }
+          else {
+            LOG.debug("Received response from {} in {} ms\n{}", httpRequest.uri(), stopwatch.elapsed(MILLISECONDS), request.getCorrelationId());
+            processResponse(request, httpRequest, subscriber, response);
+          }
+        });
+        // e.g. on Hystrix timeouts
+        subscriber.add(Subscriptions.create(() -> future.cancel(true)));
+      }
+    });
+  }
+
+  private HttpClient getClient(String serviceId, int connectTimeoutMs) {
+    String key = StringUtils.defaultString(serviceId, NO_SERVICE_ID);
+    ServiceClient client = clients.get(key);
+    // the connect timeout can only be set on the client, so it is replaced if the timeout was reconfigured
+    if (client == null || client.connectTimeoutMs != connectTimeoutMs) {
+      client = new ServiceClient(connectTimeoutMs);
+      clients.put(key, client);
+    }
+    return client.httpClient;
+  }
+
+  static HttpRequest buildHttpRequest(CaravanHttpRequest request) {
+    return buildHttpRequest(request.getUrl(), request, 0);
+  }
+
+  /**
+   * @param url Full URL to execute the request on
+   * @param request Request
+   * @param socketTimeoutMs Max. time to wait for the response headers, 0 = no timeout
+   * @return Request of the JDK HTTP client
+   */
+  static HttpRequest buildHttpRequest(String url, CaravanHttpRequest request, int socketTimeoutMs) {
+    String method = StringUtils.upperCase(request.getMethod());
+    HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url));
+    if (socketTimeoutMs > 0) {
+      builder.timeout(Duration.ofMillis(socketTimeoutMs));
+    }
+    switch (method) {
+      case "GET":
+      case "DELETE":
+        builder.method(method, BodyPublishers.noBody());
+        break;
+      case "POST":
+      case "PUT":
+        builder.method(method, request.getBody() != null ? BodyPublishers.ofByteArray(request.getBody()) : BodyPublishers.noBody());
+        break;
+      default:
+        throw new IllegalArgumentException("Unsupported HTTP method type: " + request.getMethod());
+    }
+    request.forEachHeader((name, value) -> {
+      if (!RESTRICTED_HEADERS.contains(StringUtils.lowerCase(name, Locale.ENGLISH))) {
+        builder.header(name, value);
+      }
+    });
+    return builder.build();
+  }
+
+  private void processException(CaravanHttpRequest request, HttpRequest httpRequest, Subscriber<? super CaravanHttpResponse> subscriber,
+      Stopwatch stopwatch, Throwable throwable) {
+    Throwable ex = throwable;
+    if ((ex instanceof CompletionException || ex instanceof ExecutionException) && ex.getCause() != null) {
+      ex = ex.getCause();
+    }
+    LOG.info("Caught exception requesting {} after {} ms\n{}", httpRequest.uri(), stopwatch.elapsed(MILLISECONDS), request.getCorrelationId());
+
+    if (ex instanceof HttpTimeoutException) {
+      subscriber.onError(new IOException("Socket timeout requesting '" + httpRequest.uri(), ex));
+    }
+    else if (ex instanceof IOException) {
+      subscriber.onError(new IOException("Connection to '" + httpRequest.uri() + "' failed", ex));
+    }
+    else {
+      subscriber.onError(new IOException("Requesting '" + httpRequest.uri() + "' failed", ex));
+    }
+  }
+
+  private void processResponse(CaravanHttpRequest request, HttpRequest httpRequest, Subscriber<? super CaravanHttpResponse> subscriber,
+      HttpResponse<?> response) {
+    Object body = response.body();
+    try {
+      int status = response.statusCode();
+      String reason = EnglishReasonPhraseCatalog.INSTANCE.getReason(status, Locale.ENGLISH);
+
+      boolean throwExceptionForStatus500 = CaravanHttpServiceConfigValidator.throwExceptionForStatus500(request.getServiceId());
+      if (status >= 500 && throwExceptionForStatus500) {
+        String bodyString = body instanceof InputStream ? IOUtils.toString((InputStream)body, StandardCharsets.UTF_8)
+            : new String((byte[])body, StandardCharsets.UTF_8);
+        IOUtils.closeQuietly(body instanceof InputStream ? (InputStream)body : null);
+        subscriber.onError(new IllegalResponseRuntimeException(request, httpRequest.uri().toString(), status, bodyString,
+            "Executing '" + httpRequest.uri() + "' failed: " + toProtocolVersion(response.version()) + " " + status + " "
+                + StringUtils.defaultString(reason)));
+        return;
+      }
+
+      CaravanHttpResponseBuilder builder = new CaravanHttpResponseBuilder()
+          .status(status)
+          .reason(reason);
+      addHeaders(builder, response);
+      if (body instanceof InputStream) {
+        builder.body((InputStream)body, getContentLength(response));
+      }
+      else {
+        builder.body((byte[])body);
+      }
+
+      subscriber.onNext(builder.build());
+      subscriber.onCompleted();
+    }
+    catch (IOException ex) {
+      subscriber.onError(new IOException("Reading response of '" + httpRequest.uri() + "' failed", ex));
+    }
+    // CHECKSTYLE:OFF - yes we really wan to catch all exceptions here
+    catch (Exception ex) {
+      // CHECKSTYLE:ON
+      IOUtils.closeQuietly(body instanceof InputStream ? (InputStream)body : null);
+      subscriber.onError(new IOException("Processing response of '" + httpRequest.uri() + "' failed", ex));
+    }
+  }
+
+  private static void addHeaders(CaravanHttpResponseBuilder builder, HttpResponse<?> response) {
+    response.headers().map().forEach((name, values) -> {
+      // skip HTTP/2 pseudo headers
+      if (!StringUtils.startsWith(name, ":")) {
+        builder.header(name, values);
+      }
+    });
+  }
+
+  private static String toProtocolVersion(Version version) {
+    return version == Version.HTTP_2 ? "HTTP/2" : "HTTP/1.1";
+  }
+
+  private static Integer getContentLength(HttpResponse<?> response) {
+    long length = response.headers().firstValueAsLong("Content-Length").orElse(-1);
+    if (length <= 0 || length > Integer.MAX_VALUE) {
+      return null;
+    }
+    return (int)length;
+  }
+
+  /**
+   * HTTP client of a service with the connect timeout it was built with.
+   */
+  private static final class ServiceClient {
+
+    private final int connectTimeoutMs;
+    private final HttpClient httpClient;
+
+    ServiceClient(int connectTimeoutMs) {
+      this.connectTimeoutMs = connectTimeoutMs;
+      HttpClient.Builder builder = HttpClient.newBuilder()
+          .version(Version.HTTP_2)
+          .followRedirects(Redirect.NEVER);
+      if (connectTimeoutMs > 0) {
+        builder.connectTimeout(Duration.ofMillis(connectTimeoutMs));
+      }
+      this.httpClient = builder.build();
+    }
+
+  }
+
+}
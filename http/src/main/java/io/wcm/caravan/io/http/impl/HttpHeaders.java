@@ -0,0 +1,308 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Multimap;
+
+/**
+ * Immutable HTTP headers stored as a flat array of names and values. The values of a header name follow each other
+ * in the order the name was added first, and identical name/value pairs are only kept once. Lookups by name are
+ * case-insensitive, a {@link Multimap} view is only built when requested.
+ */
+public final class HttpHeaders {
+
+  /**
+   * Headers without any entry.
+   */
+  public static final HttpHeaders EMPTY = new HttpHeaders(new String[0]);
+
+  private static final Map<String, String> COMMON_NAMES = commonNames(
+      "Accept", "Accept-Encoding", "Accept-Language", "Accept-Ranges", "Age", "Authorization", "Cache-Control", "Connection",
+      "Content-Encoding", "Content-Language", "Content-Length", "Content-Type", "Cookie", "Date", "ETag", "Expires", "Host",
+      "If-Modified-Since", "If-None-Match", "Keep-Alive", "Last-Modified", "Location", "Pragma", "Server", "Set-Cookie",
+      "Transfer-Encoding", "User-Agent", "Vary", "Via", "X-Forwarded-For", "Caravan-Correlation-Id");
+
+  private final String[] namesAndValues;
+  private volatile ImmutableListMultimap<String, String> multimap;
+
+  private HttpHeaders(String[] namesAndValues) {
+    this.namesAndValues = namesAndValues;
+  }
+
+  /**
+   * @param headers Headers to copy
+   * @return Immutable headers
+   */
+  public static HttpHeaders of(Multimap<String, String> headers) {
+    if (headers.isEmpty()) {
+      return EMPTY;
+    }
+    return builder().addAll(headers).build();
+  }
+
+  /**
+   * @return Builder for new headers
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * @return Number of name/value pairs
+   */
+  public int size() {
+    return namesAndValues.length / 2;
+  }
+
+  /**
+   * @return True if there are no headers
+   */
+  public boolean isEmpty() {
+    return namesAndValues.length == 0;
+  }
+
+  /**
+   * @param index Index of the name/value pair
+   * @return Header name
+   */
+  public String name(int index) {
+    return namesAndValues[index * 2];
+  }
+
+  /**
+   * @param index Index of the name/value pair
+   * @return Header value
+   */
+  public String value(int index) {
+    return namesAndValues[index * 2 + 1];
+  }
+
+  /**
+   * @param name Header name (case-insensitive)
+   * @return Values of all headers with this name, empty if there is none
+   */
+  public List<String> get(String name) {
+    List<String> values = null;
+    for (int i = 0; i < namesAndValues.length; i += 2) {
+      if (matches(namesAndValues[i], name)) {
+        if (values == null) {
+          values = new ArrayList<>(2);
+        }
+        values.add(namesAndValues[i + 1]);
+      }
+    }
+    return values != null ? Collections.unmodifiableList(values) : Collections.emptyList();
+  }
+
+  /**
+   * @param name Header name (case-insensitive)
+   * @return First value of the header or null if there is none
+   */
+  public String getFirst(String name) {
+    for (int i = 0; i < namesAndValues.length; i += 2) {
+      if (matches(namesAndValues[i], name)) {
+        return namesAndValues[i + 1];
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @param action Called with name and value of each header in order
+   */
+  public void forEach(BiConsumer<String, String> action) {
+    for (int i = 0; i < namesAndValues.length; i += 2) {
+      action.accept(namesAndValues[i], namesAndValues[i + 1]);
+    }
+  }
+
+  /**
+   * @return Case-sensitive multimap view of the headers
+   */
+  public Multimap<String, String> asMultimap() {
+    ImmutableListMultimap<String, String> result = multimap;
+    if (result == null) {
+      ImmutableListMultimap.Builder<String, String> builder = ImmutableListMultimap.builder();
+      forEach(builder::put);
+      result = builder.build();
+      multimap = result;
+    }
+    return result;
+  }
+
+  /**
+   * Appends one line per header name with all its values, as in a HTTP message.
+   * @param builder String builder
+   */
+  public void appendTo(StringBuilder builder) {
+    for (int i = 0; i < namesAndValues.length; i += 2) {
+      String name = namesAndValues[i];
+      if (i == 0 || !name.equals(namesAndValues[i - 2])) {
+        if (i > 0) {
+          builder.append('\n');
+        }
+        builder.append(name).append(": ");
+      }
+      else {
+        builder.append(", ");
+      }
+      builder.append(namesAndValues[i + 1]);
+    }
+    if (namesAndValues.length > 0) {
+      builder.append('\n');
+    }
+  }
+
+  private static boolean matches(String headerName, String name) {
+    // names are mostly the same instances of common header names
+    return headerName == name || headerName.equalsIgnoreCase(name);
+  }
+
+  private static Map<String, String> commonNames(String... names) {
+    Map<String, String> result = new HashMap<>();
+    for (String name : names) {
+      result.put(name, name);
+      String lowerCase = name.toLowerCase(Locale.ENGLISH);
+      result.put(lowerCase, lowerCase);
+    }
+    return ImmutableMap.copyOf(result);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    return obj instanceof HttpHeaders && Arrays.equals(namesAndValues, ((HttpHeaders)obj).namesAndValues);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(namesAndValues);
+  }
+
+  @Override
+  public String toString() {
+    return asMultimap().toString();
+  }
+
+  /**
+   * Collects headers in the order they are added.
+   */
+  public static final class Builder {
+
+    private final List<String> namesAndValues = new ArrayList<>();
+
+    private Builder() {
+      // use HttpHeaders#builder
+    }
+
+    /**
+     * @param name Header name
+     * @param value Header value
+     * @return Builder
+     */
+    public Builder add(String name, String value) {
+      checkNotNull(name, "name");
+      checkNotNull(value, "value of header %s", name);
+      String commonName = COMMON_NAMES.get(name);
+      namesAndValues.add(commonName != null ? commonName : name);
+      namesAndValues.add(value);
+      return this;
+    }
+
+    /**
+     * @param name Header name
+     * @param values Header values
+     * @return Builder
+     */
+    public Builder addAll(String name, Collection<String> values) {
+      for (String value : values) {
+        add(name, value);
+      }
+      return this;
+    }
+
+    /**
+     * @param headers Headers to add
+     * @return Builder
+     */
+    public Builder addAll(Multimap<String, String> headers) {
+      for (Map.Entry<String, Collection<String>> entry : headers.asMap().entrySet()) {
+        addAll(entry.getKey(), entry.getValue());
+      }
+      return this;
+    }
+
+    /**
+     * @return Immutable headers
+     */
+    public HttpHeaders build() {
+      int count = namesAndValues.size();
+      if (count == 0) {
+        return EMPTY;
+      }
+      String[] result = new String[count];
+      boolean[] taken = new boolean[count / 2];
+      int length = 0;
+      for (int i = 0; i < count / 2; i++) {
+        if (taken[i]) {
+          continue;
+        }
+        // collect all values of this name, skipping duplicate values
+        String name = namesAndValues.get(i * 2);
+        int groupStart = length;
+        for (int j = i; j < count / 2; j++) {
+          if (!taken[j] && name.equals(namesAndValues.get(j * 2))) {
+            taken[j] = true;
+            String value = namesAndValues.get(j * 2 + 1);
+            if (!containsValue(result, groupStart, length, value)) {
+              result[length++] = name;
+              result[length++] = value;
+            }
+          }
+        }
+      }
+      return new HttpHeaders(length == count ? result : Arrays.copyOf(result, length));
+    }
+
+    private static boolean containsValue(String[] namesAndValues, int from, int to, String value) {
+      for (int i = from + 1; i < to; i += 2) {
+        if (namesAndValues[i].equals(value)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+  }
+
+}
@@ -19,10 +19,6 @@
  */
 package io.wcm.caravan.io.http.impl;
 
-import static io.wcm.caravan.io.http.impl.CaravanHttpServiceConfig.HYSTRIX_COMMAND_PREFIX;
-import static io.wcm.caravan.io.http.impl.CaravanHttpServiceConfig.HYSTRIX_PARAM_EXECUTIONISOLATIONTHREADPOOLKEY_OVERRIDE;
-import static org.apache.commons.lang3.StringUtils.isBlank;
-
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -101,12 +97,25 @@ class HttpHystrixCommand extends HystrixObservableCommand<CaravanHttpResponse> {
    * Check which hystrix isolation strategy is configured for the target service of the given request
    * @param request the request to execute
    * @return {@link ExecutionIsolationStrategy#THREAD} if there is a hystrixThreadPoolKeyOverride configured for the
-   *         target serviceId of the given request, or {@link ExecutionIsolationStrategy#SEMAPHORE} otherwise
+   *         target serviceId of the given request, or {@link ExecutionIsolationStrategy#SEMAPHORE} otherwise or if
+   *         the thread pool executes requests on virtual threads
    */
   public static ExecutionIsolationStrategy getIsolationStrategy(CaravanHttpRequest request) {
-    String threadPoolConfigKey = HYSTRIX_COMMAND_PREFIX + request.getServiceId() + HYSTRIX_PARAM_EXECUTIONISOLATIONTHREADPOOLKEY_OVERRIDE;
-    String configuredThreadPool = ArchaiusConfig.getConfiguration().getString(threadPoolConfigKey);
-    return isBlank(configuredThreadPool) ? ExecutionIsolationStrategy.SEMAPHORE : ExecutionIsolationStrategy.THREAD;
+    ServiceSettings settings = ServiceSettingsRegistry.get(request.getServiceId());
+    if (settings.getThreadPoolName() == null || settings.isVirtualThreadExecution()) {
+      return ExecutionIsolationStrategy.SEMAPHORE;
+    }
+    return ExecutionIsolationStrategy.THREAD;
+  }
+
+  /**
+   * Check if the blocking request should be executed on a virtual thread instead of a hystrix thread pool
+   * @param request the request to execute
+   * @return true if there is a hystrixThreadPoolKeyOverride configured for the target serviceId of the given request
+   *         and the thread pool is configured for virtual thread execution
+   */
+  public static boolean isVirtualThreadExecution(CaravanHttpRequest request) {
+    return ServiceSettingsRegistry.get(request.getServiceId()).isVirtualThreadExecution();
   }
 
 }
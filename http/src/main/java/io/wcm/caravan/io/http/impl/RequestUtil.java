@@ -57,6 +57,15 @@ public final class RequestUtil {
    */
   public static final String PROTOCOL_HTTPS = "https";
 
+  /**
+   * HTTP/1.1 transport.
+   */
+  public static final String HTTP_VERSION_1_1 = "HTTP_1_1";
+  /**
+   * HTTP/2 transport (h2 for secure, h2c for non secure protocol).
+   */
+  public static final String HTTP_VERSION_2 = "HTTP_2";
+
   private RequestUtil() {
     // static methods only
   }
@@ -105,29 +114,38 @@ public final class RequestUtil {
    * @return HTTP client request object
    */
   public static HttpUriRequest buildHttpRequest(CaravanHttpRequest request) {
+    return buildHttpRequest(request.getUrl(), request);
+  }
+
+  /**
+   * @param url Full URL to execute the request on
+   * @param request Requset
+   * @return HTTP client request object
+   */
+  public static HttpUriRequest buildHttpRequest(String url, CaravanHttpRequest request) {
 
     // http method
     HttpUriRequest httpRequest;
     String method = StringUtils.upperCase(request.getMethod());
     switch (method) {
       case HttpGet.METHOD_NAME:
-        httpRequest = new HttpGet(request.getUrl());
+        httpRequest = new HttpGet(url);
         break;
       case HttpPost.METHOD_NAME:
-        httpRequest = new HttpPost(request.getUrl());
+        httpRequest = new HttpPost(url);
         break;
       case HttpPut.METHOD_NAME:
-        httpRequest = new HttpPut(request.getUrl());
+        httpRequest = new HttpPut(url);
         break;
       case HttpDelete.METHOD_NAME:
-        httpRequest = new HttpDelete(request.getUrl());
+        httpRequest = new HttpDelete(url);
         break;
       default:
         throw new IllegalArgumentException("Unsupported HTTP method type: " + request.getMethod());
     }
 
     // headers
-    request.getHeaders().entries().forEach(e -> httpRequest.addHeader(e.getKey(), e.getValue()));
+    request.forEachHeader(httpRequest::addHeader);
 
     // body
     if ((httpRequest instanceof HttpEntityEnclosingRequest) && request.getBody() != null) {
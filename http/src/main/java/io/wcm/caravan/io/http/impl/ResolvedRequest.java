@@ -0,0 +1,94 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl;
+
+import com.netflix.loadbalancer.Server;
+
+import io.wcm.caravan.io.http.request.CaravanHttpRequest;
+
+/**
+ * A request together with the server chosen by the load balancer. The full URL is derived from the original request
+ * without building a new {@link CaravanHttpRequest}, so retries and hedged requests do not parse and copy the
+ * request again.
+ */
+public final class ResolvedRequest {
+
+  private final CaravanHttpRequest request;
+  private final Server server;
+  private final String urlPrefix;
+  private String url;
+
+  private ResolvedRequest(CaravanHttpRequest request, Server server, String urlPrefix) {
+    this.request = request;
+    this.server = server;
+    this.urlPrefix = urlPrefix;
+  }
+
+  /**
+   * @param request Request with a URL relative to the server
+   * @param server Server chosen to execute the request
+   * @param urlPrefix URL prefix with scheme, hostname and port of the server
+   * @return Resolved request
+   */
+  public static ResolvedRequest of(CaravanHttpRequest request, Server server, String urlPrefix) {
+    return new ResolvedRequest(request, server, urlPrefix);
+  }
+
+  /**
+   * @param request Request with a full URL
+   * @return Resolved request without server
+   */
+  public static ResolvedRequest unresolved(CaravanHttpRequest request) {
+    return new ResolvedRequest(request, null, "");
+  }
+
+  /**
+   * @return Original request
+   */
+  public CaravanHttpRequest getRequest() {
+    return this.request;
+  }
+
+  /**
+   * @return Server chosen to execute the request, null if the request already had a full URL
+   */
+  public Server getServer() {
+    return this.server;
+  }
+
+  /**
+   * @return Full URL to execute the request on
+   */
+  public String getUrl() {
+    // computed on first access only, a concurrent second computation returns the same value
+    String result = url;
+    if (result == null) {
+      result = urlPrefix + request.getUrl();
+      url = result;
+    }
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return request.getMethod() + " " + getUrl();
+  }
+
+}
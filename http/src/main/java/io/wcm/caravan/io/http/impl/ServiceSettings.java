@@ -0,0 +1,187 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl;
+
+import static io.wcm.caravan.io.http.impl.CaravanHttpServiceConfig.HYSTRIX_COMMAND_PREFIX;
+import static io.wcm.caravan.io.http.impl.CaravanHttpServiceConfig.HYSTRIX_PARAM_EXECUTIONISOLATIONTHREADPOOLKEY_OVERRIDE;
+import static io.wcm.caravan.io.http.impl.CaravanHttpThreadPoolConfig.CARAVAN_PARAM_MAX_CONCURRENT_VIRTUAL_THREADS;
+import static io.wcm.caravan.io.http.impl.CaravanHttpThreadPoolConfig.CARAVAN_PARAM_THREAD_EXECUTION;
+import static io.wcm.caravan.io.http.impl.CaravanHttpThreadPoolConfig.CARAVAN_THREADPOOL_PREFIX;
+
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Immutable snapshot of the configuration of a service ID, read once from the archaius configuration so the request
+ * path does not need to build keys and look up properties for every request.
+ */
+public final class ServiceSettings {
+
+  private final String serviceId;
+  private final boolean validConfiguration;
+  private final String protocol;
+  private final boolean throwExceptionForStatus500;
+  private final boolean responseStreaming;
+  private final boolean http2;
+  private final int maxConnectionsPerRoute;
+  private final int maxTotalConnections;
+  private final int connectionTtlMs;
+  private final int idleConnectionTimeoutMs;
+  private final boolean hedgingEnabled;
+  private final int hedgeDelayMs;
+  private final boolean adaptiveConcurrencyLimit;
+  private final int maxConcurrentRequests;
+  private final boolean directCallbacks;
+  private final int slowCallbackThresholdMs;
+  private final String threadPoolName;
+  private final boolean virtualThreadExecution;
+  private final int maxConcurrentVirtualThreads;
+
+  /**
+   * @param serviceId Service ID
+   * @param config Archaius configuration
+   */
+  ServiceSettings(String serviceId, Configuration config) {
+    this.serviceId = serviceId;
+    this.validConfiguration = StringUtils.isNotEmpty(config.getString(serviceId + CaravanHttpServiceConfig.RIBBON_PARAM_LISTOFSERVERS));
+    this.protocol = config.getString(serviceId + CaravanHttpServiceConfig.HTTP_PARAM_PROTOCOL);
+    this.throwExceptionForStatus500 = config.getBoolean(serviceId + CaravanHttpServiceConfig.THROW_EXCEPTION_FOR_STATUS_500,
+        CaravanHttpServiceConfig.THROW_EXCEPTION_FOR_STATUS_500_DEFAULT);
+    this.responseStreaming = config.getBoolean(serviceId + CaravanHttpServiceConfig.HTTP_PARAM_RESPONSE_STREAMING,
+        CaravanHttpServiceConfig.RESPONSE_STREAMING_DEFAULT);
+    this.http2 = StringUtils.equals(config.getString(serviceId + CaravanHttpServiceConfig.HTTP_PARAM_HTTP_VERSION,
+        CaravanHttpServiceConfig.HTTP_VERSION_PROPERTY_DEFAULT), RequestUtil.HTTP_VERSION_2);
+    this.maxConnectionsPerRoute = config.getInt(serviceId + CaravanHttpServiceConfig.HTTP_PARAM_MAX_CONNECTIONS_PER_ROUTE,
+        CaravanHttpServiceConfig.POOL_MAX_CONNECTIONS_PER_ROUTE_DEFAULT);
+    this.maxTotalConnections = config.getInt(serviceId + CaravanHttpServiceConfig.HTTP_PARAM_MAX_TOTAL_CONNECTIONS,
+        CaravanHttpServiceConfig.POOL_MAX_TOTAL_CONNECTIONS_DEFAULT);
+    this.connectionTtlMs = config.getInt(serviceId + CaravanHttpServiceConfig.HTTP_PARAM_CONNECTION_TTL_MS,
+        CaravanHttpServiceConfig.POOL_CONNECTION_TTL_MS_DEFAULT);
+    this.idleConnectionTimeoutMs = config.getInt(serviceId + CaravanHttpServiceConfig.HTTP_PARAM_IDLE_CONNECTION_TIMEOUT_MS,
+        CaravanHttpServiceConfig.POOL_IDLE_CONNECTION_TIMEOUT_MS_DEFAULT);
+    this.hedgingEnabled = config.getBoolean(serviceId + CaravanHttpServiceConfig.HTTP_PARAM_HEDGING_ENABLED,
+        CaravanHttpServiceConfig.HEDGING_ENABLED_DEFAULT);
+    this.hedgeDelayMs = config.getInt(serviceId + CaravanHttpServiceConfig.HTTP_PARAM_HEDGE_DELAY_MS,
+        CaravanHttpServiceConfig.HEDGE_DELAY_MS_DEFAULT);
+    this.adaptiveConcurrencyLimit = config.getBoolean(serviceId + CaravanHttpServiceConfig.HTTP_PARAM_ADAPTIVE_CONCURRENCY_LIMIT,
+        CaravanHttpServiceConfig.ADAPTIVE_CONCURRENCY_LIMIT_DEFAULT);
+    this.maxConcurrentRequests = config.getInt(serviceId + CaravanHttpServiceConfig.HTTP_PARAM_MAX_CONCURRENT_REQUESTS,
+        CaravanHttpServiceConfig.MAX_CONCURRENT_REQUESTS_DEFAULT);
+    this.directCallbacks = config.getBoolean(serviceId + CaravanHttpServiceConfig.HTTP_PARAM_DIRECT_CALLBACKS,
+        CaravanHttpServiceConfig.DIRECT_CALLBACKS_DEFAULT);
+    this.slowCallbackThresholdMs = config.getInt(serviceId + CaravanHttpServiceConfig.HTTP_PARAM_SLOW_CALLBACK_THRESHOLD_MS,
+        CaravanHttpServiceConfig.SLOW_CALLBACK_THRESHOLD_MS_DEFAULT);
+
+    String configuredThreadPool = config.getString(HYSTRIX_COMMAND_PREFIX + serviceId + HYSTRIX_PARAM_EXECUTIONISOLATIONTHREADPOOLKEY_OVERRIDE);
+    this.threadPoolName = StringUtils.isBlank(configuredThreadPool) ? null : configuredThreadPool;
+    this.virtualThreadExecution = threadPoolName != null
+        && StringUtils.equals(config.getString(CARAVAN_THREADPOOL_PREFIX + threadPoolName + CARAVAN_PARAM_THREAD_EXECUTION,
+            CaravanHttpThreadPoolConfig.THREAD_EXECUTION_DEFAULT), CaravanHttpThreadPoolConfig.THREAD_EXECUTION_VIRTUAL);
+    this.maxConcurrentVirtualThreads = threadPoolName == null ? CaravanHttpThreadPoolConfig.MAX_CONCURRENT_VIRTUAL_THREADS_DEFAULT
+        : config.getInt(CARAVAN_THREADPOOL_PREFIX + threadPoolName + CARAVAN_PARAM_MAX_CONCURRENT_VIRTUAL_THREADS,
+            CaravanHttpThreadPoolConfig.MAX_CONCURRENT_VIRTUAL_THREADS_DEFAULT);
+  }
+
+  public String getServiceId() {
+    return this.serviceId;
+  }
+
+  /**
+   * @return true if a list of servers is configured
+   */
+  public boolean hasValidConfiguration() {
+    return this.validConfiguration;
+  }
+
+  public String getProtocol() {
+    return this.protocol;
+  }
+
+  public boolean isThrowExceptionForStatus500() {
+    return this.throwExceptionForStatus500;
+  }
+
+  public boolean isResponseStreaming() {
+    return this.responseStreaming;
+  }
+
+  public boolean isHttp2() {
+    return this.http2;
+  }
+
+  public int getMaxConnectionsPerRoute() {
+    return this.maxConnectionsPerRoute;
+  }
+
+  public int getMaxTotalConnections() {
+    return this.maxTotalConnections;
+  }
+
+  public int getConnectionTtlMs() {
+    return this.connectionTtlMs;
+  }
+
+  public int getIdleConnectionTimeoutMs() {
+    return this.idleConnectionTimeoutMs;
+  }
+
+  public boolean isHedgingEnabled() {
+    return this.hedgingEnabled;
+  }
+
+  public int getHedgeDelayMs() {
+    return this.hedgeDelayMs;
+  }
+
+  public boolean isAdaptiveConcurrencyLimit() {
+    return this.adaptiveConcurrencyLimit;
+  }
+
+  public int getMaxConcurrentRequests() {
+    return this.maxConcurrentRequests;
+  }
+
+  public boolean isDirectCallbacks() {
+    return this.directCallbacks;
+  }
+
+  public int getSlowCallbackThresholdMs() {
+    return this.slowCallbackThresholdMs;
+  }
+
+  /**
+   * @return hystrixThreadPoolKeyOverride of the service or null
+   */
+  public String getThreadPoolName() {
+    return this.threadPoolName;
+  }
+
+  /**
+   * @return true if the thread pool of the service executes blocking requests on virtual threads
+   */
+  public boolean isVirtualThreadExecution() {
+    return this.virtualThreadExecution;
+  }
+
+  public int getMaxConcurrentVirtualThreads() {
+    return this.maxConcurrentVirtualThreads;
+  }
+
+}
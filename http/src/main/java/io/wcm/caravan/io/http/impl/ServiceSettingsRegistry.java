@@ -0,0 +1,96 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.configuration.AbstractConfiguration;
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Holds the {@link ServiceSettings} snapshot of each service ID. Reading a snapshot is lock-free. The snapshots are
+ * published when a service configuration is activated, and all snapshots are dropped and lazily rebuilt whenever a
+ * property of the archaius configuration is changed, e.g. by a thread pool configuration.
+ */
+public final class ServiceSettingsRegistry {
+
+  private static final ConcurrentMap<String, ServiceSettings> SETTINGS = new ConcurrentHashMap<>();
+  private static final AtomicLong GENERATION = new AtomicLong();
+
+  static {
+    Configuration config = ArchaiusConfig.getConfiguration();
+    if (config instanceof AbstractConfiguration) {
+      ((AbstractConfiguration)config).addConfigurationListener(event -> {
+        if (!event.isBeforeUpdate()) {
+          GENERATION.incrementAndGet();
+          SETTINGS.clear();
+        }
+      });
+    }
+  }
+
+  private ServiceSettingsRegistry() {
+    // static methods only
+  }
+
+  /**
+   * @param serviceId Service ID, may be null for requests without service ID
+   * @return Settings snapshot of the service
+   */
+  public static ServiceSettings get(String serviceId) {
+    String key = StringUtils.defaultString(serviceId);
+    ServiceSettings settings = SETTINGS.get(key);
+    if (settings == null) {
+      long generation = GENERATION.get();
+      settings = new ServiceSettings(key, ArchaiusConfig.getConfiguration());
+      // do not cache a snapshot if the configuration was changed while it was built or cached
+      if (generation == GENERATION.get()) {
+        ServiceSettings existing = SETTINGS.putIfAbsent(key, settings);
+        if (existing != null) {
+          settings = existing;
+        }
+        else if (generation != GENERATION.get()) {
+          SETTINGS.remove(key, settings);
+        }
+      }
+    }
+    return settings;
+  }
+
+  /**
+   * Publishes a new snapshot after the configuration of the service was written to archaius.
+   * @param serviceId Service ID
+   */
+  static void publish(String serviceId) {
+    SETTINGS.put(serviceId, new ServiceSettings(serviceId, ArchaiusConfig.getConfiguration()));
+  }
+
+  /**
+   * Removes the snapshot after the configuration of the service was removed.
+   * @param serviceId Service ID
+   */
+  static void remove(String serviceId) {
+    SETTINGS.remove(serviceId);
+  }
+
+}
@@ -0,0 +1,135 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.damnhandy.uri.template.UriTemplate;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Bounded cache of compiled {@link UriTemplate}s by template string, to avoid parsing the same template for every
+ * request that is built. A {@link UriTemplate} keeps the values of its expansion, so each template is cached as a
+ * lock-free pool of instances that are used by one thread at a time.
+ */
+public final class UriTemplateCache {
+
+  static final int MAX_ENTRIES = 1000;
+
+  /**
+   * Max. number of idle instances kept per template. Further instances are created when more threads expand the same
+   * template at the same time.
+   */
+  static final int MAX_POOLED_INSTANCES = Runtime.getRuntime().availableProcessors() * 2;
+
+  private static final Cache<String, TemplatePool> TEMPLATES = CacheBuilder.newBuilder()
+      .maximumSize(MAX_ENTRIES)
+      .build();
+
+  private UriTemplateCache() {
+    // static methods only
+  }
+
+  /**
+   * Expands the template with the given values. Templates without any expression are returned as they are.
+   * @param template Template string
+   * @param values Template values
+   * @return Expanded template
+   */
+  public static String expand(String template, Map<String, Object> values) {
+    if (!hasExpression(template)) {
+      return template;
+    }
+    TemplatePool pool = get(template);
+    UriTemplate compiled = pool.acquire();
+    try {
+      return compiled.expand(values);
+    }
+    finally {
+      pool.release(compiled);
+    }
+  }
+
+  /**
+   * @param template Template string
+   * @return True if the template contains an expression to expand
+   */
+  public static boolean hasExpression(String template) {
+    return template != null && template.indexOf('{') >= 0;
+  }
+
+  static TemplatePool get(String template) {
+    TemplatePool pool = TEMPLATES.getIfPresent(template);
+    if (pool == null) {
+      // parse outside of the cache loader, so malformed templates fail with the exception of the parser
+      pool = new TemplatePool(template, UriTemplate.fromTemplate(template));
+      TEMPLATES.put(template, pool);
+    }
+    return pool;
+  }
+
+  static long size() {
+    return TEMPLATES.size();
+  }
+
+  /**
+   * Idle instances of a compiled template.
+   */
+  static final class TemplatePool {
+
+    private final String template;
+    private final Queue<UriTemplate> instances = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idle = new AtomicInteger();
+
+    TemplatePool(String template, UriTemplate compiled) {
+      this.template = template;
+      release(compiled);
+    }
+
+    UriTemplate acquire() {
+      UriTemplate compiled = instances.poll();
+      if (compiled == null) {
+        // all instances are in use by other threads
+        return UriTemplate.fromTemplate(template);
+      }
+      idle.decrementAndGet();
+      return compiled;
+    }
+
+    void release(UriTemplate compiled) {
+      if (idle.incrementAndGet() <= MAX_POOLED_INSTANCES) {
+        instances.offer(compiled);
+      }
+      else {
+        idle.decrementAndGet();
+      }
+    }
+
+    int getIdle() {
+      return idle.get();
+    }
+
+  }
+
+}
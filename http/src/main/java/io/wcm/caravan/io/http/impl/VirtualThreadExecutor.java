@@ -0,0 +1,127 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes blocking requests on a new virtual thread each. Instead of the number of threads in a pool, the number of
+ * concurrently executing requests is limited per thread pool name. On Java versions without virtual threads, platform
+ * threads are started instead.
+ */
+final class VirtualThreadExecutor {
+
+  private static final Logger log = LoggerFactory.getLogger(VirtualThreadExecutor.class);
+
+  private static final String THREAD_NAME_PREFIX = "caravan-http-virtual-";
+
+  private final ThreadFactory threadFactory;
+  private final ConcurrentMap<String, Permits> permits = new ConcurrentHashMap<>();
+
+  VirtualThreadExecutor() {
+    this(createThreadFactory());
+  }
+
+  VirtualThreadExecutor(ThreadFactory threadFactory) {
+    this.threadFactory = threadFactory;
+  }
+
+  /**
+   * @param threadPoolName Thread pool name
+   * @param maxConcurrent Max. number of tasks executing concurrently for the thread pool name
+   * @param task Task to execute
+   * @return false if the task was rejected because the limit is reached
+   */
+  boolean execute(String threadPoolName, int maxConcurrent, Runnable task) {
+    Permits poolPermits = permits.compute(threadPoolName,
+        (name, existing) -> existing != null && existing.max == maxConcurrent ? existing : new Permits(maxConcurrent));
+    Semaphore semaphore = poolPermits.semaphore;
+    if (!semaphore.tryAcquire()) {
+      return false;
+    }
+    try {
+      threadFactory.newThread(() -> {
+        try {
+          task.run();
+        }
+        finally {
+          semaphore.release();
+        }
+      }).start();
+    }
+    catch (RuntimeException | Error ex) {
+      semaphore.release();
+      throw ex;
+    }
+    return true;
+  }
+
+  /**
+   * @param threadPoolName Thread pool name
+   * @return Number of tasks currently executing for the thread pool name
+   */
+  int getActiveCount(String threadPoolName) {
+    Permits poolPermits = permits.get(threadPoolName);
+    return poolPermits != null ? poolPermits.max - poolPermits.semaphore.availablePermits() : 0;
+  }
+
+  /**
+   * Java 11 is the minimum runtime, so the virtual thread builder of Java 21 is looked up via reflection.
+   */
+  private static ThreadFactory createThreadFactory() {
+    try {
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, THREAD_NAME_PREFIX, 0L);
+      Method factory = builderClass.getMethod("factory");
+      return (ThreadFactory)factory.invoke(builder);
+    }
+    catch (ReflectiveOperationException ex) {
+      log.info("Virtual threads are not supported by this Java version, starting platform threads instead.");
+      AtomicInteger counter = new AtomicInteger();
+      return runnable -> {
+        Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + counter.getAndIncrement());
+        thread.setDaemon(true);
+        return thread;
+      };
+    }
+  }
+
+  private static class Permits {
+
+    private final int max;
+    private final Semaphore semaphore;
+
+    Permits(int max) {
+      this.max = max;
+      this.semaphore = new Semaphore(max);
+    }
+
+  }
+
+}
@@ -0,0 +1,182 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl.buffer;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of heap or direct byte buffers in a fixed set of size classes. Buffers that are larger than the largest size
+ * class are allocated on demand and not pooled. Buffers that are not released are simply garbage collected.
+ */
+public final class ByteBufferPool {
+
+  /**
+   * Capacities of the pooled buffers
+   */
+  static final int[] SIZE_CLASSES = new int[] {
+      1024, 4 * 1024, 16 * 1024, 64 * 1024, 256 * 1024, 1024 * 1024
+  };
+
+  /**
+   * Default maximum number of bytes kept in the default pool
+   */
+  public static final long DEFAULT_MAX_POOLED_BYTES = 32L * 1024 * 1024;
+
+  private static volatile ByteBufferPool defaultPool = new ByteBufferPool(false, DEFAULT_MAX_POOLED_BYTES);
+
+  private final boolean direct;
+  private final long maxPooledBytes;
+  private final Queue<ByteBuffer>[] freeBuffers;
+  private final AtomicLong pooledBytes = new AtomicLong();
+
+  /**
+   * @param direct true to allocate direct (off-heap) buffers
+   * @param maxPooledBytes Maximum number of bytes kept in the pool
+   */
+  @SuppressWarnings("unchecked")
+  public ByteBufferPool(boolean direct, long maxPooledBytes) {
+    this.direct = direct;
+    this.maxPooledBytes = maxPooledBytes;
+    this.freeBuffers = new Queue[SIZE_CLASSES.length];
+    for (int i = 0; i < SIZE_CLASSES.length; i++) {
+      freeBuffers[i] = new ConcurrentLinkedQueue<>();
+    }
+  }
+
+  /**
+   * @return Pool shared by all HTTP clients
+   */
+  public static ByteBufferPool getDefault() {
+    return defaultPool;
+  }
+
+  /**
+   * Replaces the shared pool. Buffers of the previous pool are returned to that pool.
+   * @param direct true to allocate direct (off-heap) buffers
+   * @param maxPooledBytes Maximum number of bytes kept in the pool
+   */
+  public static void configureDefault(boolean direct, long maxPooledBytes) {
+    ByteBufferPool current = defaultPool;
+    if (current.direct != direct || current.maxPooledBytes != maxPooledBytes) {
+      defaultPool = new ByteBufferPool(direct, maxPooledBytes);
+    }
+  }
+
+  /**
+   * @param minCapacity Minimum capacity
+   * @return Cleared buffer with at least the given capacity
+   */
+  public ByteBuffer acquire(int minCapacity) {
+    int sizeClass = getSizeClass(minCapacity);
+    if (sizeClass < 0) {
+      return allocate(minCapacity);
+    }
+    ByteBuffer buffer = freeBuffers[sizeClass].poll();
+    if (buffer == null) {
+      return allocate(SIZE_CLASSES[sizeClass]);
+    }
+    pooledBytes.addAndGet(-buffer.capacity());
+    buffer.clear();
+    return buffer;
+  }
+
+  /**
+   * Returns a buffer to the pool. The buffer must not be used by the caller afterwards.
+   * @param buffer Buffer acquired from this pool
+   */
+  public void release(ByteBuffer buffer) {
+    int capacity = buffer.capacity();
+    int sizeClass = getSizeClass(capacity);
+    if (sizeClass < 0 || SIZE_CLASSES[sizeClass] != capacity || buffer.isDirect() != direct) {
+      return;
+    }
+    long current;
+    do {
+      current = pooledBytes.get();
+      if (current + capacity > maxPooledBytes) {
+        return;
+      }
+    }
+    while (!pooledBytes.compareAndSet(current, current + capacity));
+    freeBuffers[sizeClass].offer(buffer);
+  }
+
+  /**
+   * @return true if the pool allocates direct buffers
+   */
+  public boolean isDirect() {
+    return direct;
+  }
+
+  /**
+   * @return Number of bytes currently kept in the pool
+   */
+  public long getPooledBytes() {
+    return pooledBytes.get();
+  }
+
+  /**
+   * @param capacity Requested capacity
+   * @return Capacity of the smallest size class that can hold the given capacity, or the capacity itself if it
+   *         exceeds the largest size class
+   */
+  static int getPooledCapacity(int capacity) {
+    int sizeClass = getSizeClass(capacity);
+    return sizeClass < 0 ? capacity : SIZE_CLASSES[sizeClass];
+  }
+
+  /**
+   * @param remaining Number of bytes that still have to be stored
+   * @return Capacity of the largest size class not exceeding the given number of bytes, so a body of known length
+   *         is stored in a few chunks with less than the smallest size class unused
+   */
+  static int getChunkCapacity(int remaining) {
+    for (int i = SIZE_CLASSES.length - 1; i > 0; i--) {
+      if (SIZE_CLASSES[i] <= remaining) {
+        return SIZE_CLASSES[i];
+      }
+    }
+    return SIZE_CLASSES[0];
+  }
+
+  /**
+   * @return Largest size class
+   */
+  static int getMaxPooledCapacity() {
+    return SIZE_CLASSES[SIZE_CLASSES.length - 1];
+  }
+
+  private ByteBuffer allocate(int capacity) {
+    return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+  }
+
+  private static int getSizeClass(int capacity) {
+    for (int i = 0; i < SIZE_CLASSES.length; i++) {
+      if (capacity <= SIZE_CLASSES[i]) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+}
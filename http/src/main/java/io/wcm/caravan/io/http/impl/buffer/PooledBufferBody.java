@@ -0,0 +1,347 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl.buffer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.wcm.caravan.io.http.response.Body;
+
+/**
+ * Repeatable body backed by a chain of pooled buffers. The buffers are returned to the pool when the body and all
+ * streams opened from it are closed. Reading from a body that was closed fails with an {@link IOException}.
+ */
+public final class PooledBufferBody implements Body {
+
+  private final ByteBufferPool pool;
+  private final ByteBuffer[] chunks;
+  private final int length;
+  private final AtomicInteger refCount = new AtomicInteger(1);
+  private final AtomicBoolean closed = new AtomicBoolean();
+
+  PooledBufferBody(ByteBufferPool pool, ByteBuffer[] chunks, int length) {
+    this.pool = pool;
+    this.chunks = chunks;
+    this.length = length;
+  }
+
+  @Override
+  public Integer length() {
+    return length;
+  }
+
+  @Override
+  public boolean isRepeatable() {
+    return true;
+  }
+
+  @Override
+  public InputStream asInputStream() throws IOException {
+    checkOpen();
+    return openStream();
+  }
+
+  @Override
+  public Reader asReader() throws IOException {
+    return new InputStreamReader(asInputStream(), StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public String asString() throws IOException {
+    checkOpen();
+    return readString();
+  }
+
+  private InputStream openStream() throws IOException {
+    retain();
+    return new ChunkInputStream();
+  }
+
+  private String readString() throws IOException {
+    retain();
+    try {
+      if (chunks.length == 1 && chunks[0].hasArray()) {
+        ByteBuffer chunk = chunks[0];
+        return new String(chunk.array(), chunk.arrayOffset(), length, StandardCharsets.UTF_8);
+      }
+      return new String(toByteArray(), StandardCharsets.UTF_8);
+    }
+    finally {
+      release();
+    }
+  }
+
+  /**
+   * Creates a body sharing the buffers of this one. The buffers are kept alive until the view is closed as well.
+   * @return Repeatable body
+   * @throws IOException if the body was already closed
+   */
+  public Body newView() throws IOException {
+    retain();
+    return new View();
+  }
+
+  /**
+   * @return Total capacity of the buffers holding the body
+   */
+  public long getCapacity() {
+    long capacity = 0;
+    for (ByteBuffer chunk : chunks) {
+      capacity += chunk.capacity();
+    }
+    return capacity;
+  }
+
+  /**
+   * @return true if the body is kept in direct buffers
+   */
+  public boolean isDirect() {
+    return chunks.length > 0 && chunks[0].isDirect();
+  }
+
+  /**
+   * @return Copy of the body bytes
+   * @throws IOException if the buffers were already released
+   */
+  public byte[] toByteArray() throws IOException {
+    retain();
+    try {
+      byte[] result = new byte[length];
+      int offset = 0;
+      for (ByteBuffer chunk : chunks) {
+        ByteBuffer view = chunk.duplicate();
+        int count = view.remaining();
+        view.get(result, offset, count);
+        offset += count;
+      }
+      return result;
+    }
+    finally {
+      release();
+    }
+  }
+
+  /**
+   * Releases the reference held by the body itself. Streams that are still open keep the buffers alive until they are
+   * closed as well.
+   */
+  @Override
+  public void close() {
+    if (closed.compareAndSet(false, true)) {
+      release();
+    }
+  }
+
+  /**
+   * @return Number of references to the buffers (the body itself and all open streams)
+   */
+  int getRefCount() {
+    return refCount.get();
+  }
+
+  private void checkOpen() throws IOException {
+    if (closed.get()) {
+      throw new IOException("Body has already been closed.");
+    }
+  }
+
+  private void retain() throws IOException {
+    int count;
+    do {
+      count = refCount.get();
+      if (count <= 0) {
+        throw new IOException("Body has already been closed.");
+      }
+    }
+    while (!refCount.compareAndSet(count, count + 1));
+  }
+
+  private void release() {
+    if (refCount.decrementAndGet() == 0) {
+      for (ByteBuffer chunk : chunks) {
+        pool.release(chunk);
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return closed.get() ? "Closed body" : decodeOrDefault();
+  }
+
+  private String decodeOrDefault() {
+    try {
+      byte[] data = toByteArray();
+      return StandardCharsets.UTF_8.newDecoder().decode(ByteBuffer.wrap(data)).toString();
+    }
+    catch (CharacterCodingException ex) {
+      return "Binary data";
+    }
+    catch (IOException ex) {
+      return "Closed body";
+    }
+  }
+
+  /**
+   * View sharing the buffers, which holds one reference until it is closed.
+   */
+  private final class View implements Body {
+
+    private final AtomicBoolean viewClosed = new AtomicBoolean();
+
+    @Override
+    public Integer length() {
+      return length;
+    }
+
+    @Override
+    public boolean isRepeatable() {
+      return true;
+    }
+
+    @Override
+    public InputStream asInputStream() throws IOException {
+      checkViewOpen();
+      return openStream();
+    }
+
+    @Override
+    public Reader asReader() throws IOException {
+      return new InputStreamReader(asInputStream(), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String asString() throws IOException {
+      checkViewOpen();
+      return readString();
+    }
+
+    @Override
+    public void close() {
+      if (viewClosed.compareAndSet(false, true)) {
+        release();
+      }
+    }
+
+    private void checkViewOpen() throws IOException {
+      if (viewClosed.get()) {
+        throw new IOException("Body has already been closed.");
+      }
+    }
+
+    @Override
+    public String toString() {
+      return viewClosed.get() ? "Closed body" : decodeOrDefault();
+    }
+
+  }
+
+  private final class ChunkInputStream extends InputStream {
+
+    private int chunkIndex;
+    private ByteBuffer currentChunk;
+    private boolean streamClosed;
+
+    @Override
+    public int read() throws IOException {
+      ByteBuffer chunk = nextChunkWithRemaining();
+      return chunk != null ? chunk.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (off < 0 || len < 0 || off + len > b.length) {
+        throw new IndexOutOfBoundsException();
+      }
+      if (len == 0) {
+        return 0;
+      }
+      int total = 0;
+      while (total < len) {
+        ByteBuffer chunk = nextChunkWithRemaining();
+        if (chunk == null) {
+          break;
+        }
+        int count = Math.min(len - total, chunk.remaining());
+        chunk.get(b, off + total, count);
+        total += count;
+      }
+      return total > 0 ? total : -1;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      long skipped = 0;
+      while (skipped < n) {
+        ByteBuffer chunk = nextChunkWithRemaining();
+        if (chunk == null) {
+          break;
+        }
+        int count = (int)Math.min(n - skipped, chunk.remaining());
+        chunk.position(chunk.position() + count);
+        skipped += count;
+      }
+      return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+      if (streamClosed) {
+        return 0;
+      }
+      int available = currentChunk != null ? currentChunk.remaining() : 0;
+      for (int i = chunkIndex; i < chunks.length; i++) {
+        available += chunks[i].remaining();
+      }
+      return available;
+    }
+
+    @Override
+    public void close() {
+      if (!streamClosed) {
+        streamClosed = true;
+        currentChunk = null;
+        release();
+      }
+    }
+
+    private ByteBuffer nextChunkWithRemaining() throws IOException {
+      if (streamClosed) {
+        throw new IOException("Stream closed.");
+      }
+      while (currentChunk == null || !currentChunk.hasRemaining()) {
+        if (chunkIndex >= chunks.length) {
+          return null;
+        }
+        currentChunk = chunks[chunkIndex++].duplicate();
+      }
+      return currentChunk;
+    }
+
+  }
+
+}
@@ -0,0 +1,179 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl.buffer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Output stream collecting the written bytes in a chain of pooled buffers, which can be handed over to a
+ * {@link PooledBufferBody} without copying.
+ */
+public final class PooledBufferOutputStream extends OutputStream {
+
+  private static final int INITIAL_CHUNK_SIZE = 4 * 1024;
+  private static final int SCRATCH_SIZE = 8 * 1024;
+  private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[SCRATCH_SIZE]);
+
+  private final ByteBufferPool pool;
+  private final List<ByteBuffer> chunks = new ArrayList<>();
+  private final int expectedLength;
+  private ByteBuffer current;
+  private int nextChunkSize;
+  private int size;
+
+  /**
+   * @param pool Pool to acquire buffers from
+   */
+  public PooledBufferOutputStream(ByteBufferPool pool) {
+    this(pool, 0);
+  }
+
+  /**
+   * @param pool Pool to acquire buffers from
+   * @param expectedLength Expected number of bytes, or 0 if unknown
+   */
+  public PooledBufferOutputStream(ByteBufferPool pool, int expectedLength) {
+    this.pool = pool;
+    this.expectedLength = expectedLength;
+    this.nextChunkSize = INITIAL_CHUNK_SIZE;
+  }
+
+  @Override
+  public void write(int b) {
+    ensureRemaining();
+    current.put((byte)b);
+    size++;
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) {
+    if (off < 0 || len < 0 || off + len > b.length) {
+      throw new IndexOutOfBoundsException();
+    }
+    int offset = off;
+    int remaining = len;
+    while (remaining > 0) {
+      ensureRemaining();
+      int count = Math.min(remaining, current.remaining());
+      current.put(b, offset, count);
+      offset += count;
+      remaining -= count;
+      size += count;
+    }
+  }
+
+  /**
+   * Reads the given stream completely into the buffers. The stream is not closed.
+   * @param in Input stream
+   * @return Number of bytes read
+   * @throws IOException if reading fails
+   */
+  public long readFrom(InputStream in) throws IOException {
+    long total = 0;
+    while (true) {
+      ensureRemaining();
+      int count;
+      if (current.hasArray()) {
+        count = in.read(current.array(), current.arrayOffset() + current.position(), current.remaining());
+        if (count > 0) {
+          current.position(current.position() + count);
+        }
+      }
+      else {
+        byte[] scratch = SCRATCH.get();
+        count = in.read(scratch, 0, Math.min(scratch.length, current.remaining()));
+        if (count > 0) {
+          current.put(scratch, 0, count);
+        }
+      }
+      if (count < 0) {
+        return total;
+      }
+      total += count;
+      size += count;
+    }
+  }
+
+  /**
+   * @return Number of bytes written
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Discards all bytes written so far and returns the buffers to the pool.
+   */
+  public void reset() {
+    for (ByteBuffer chunk : chunks) {
+      pool.release(chunk);
+    }
+    chunks.clear();
+    current = null;
+    size = 0;
+  }
+
+  /**
+   * Hands the buffers over to a new body. The stream is empty afterwards.
+   * @return Body with all bytes written so far
+   */
+  public PooledBufferBody toBody() {
+    ByteBuffer[] bodyChunks = new ByteBuffer[chunks.size()];
+    for (int i = 0; i < bodyChunks.length; i++) {
+      ByteBuffer chunk = chunks.get(i);
+      chunk.flip();
+      bodyChunks[i] = chunk;
+    }
+    PooledBufferBody body = new PooledBufferBody(pool, bodyChunks, size);
+    chunks.clear();
+    current = null;
+    size = 0;
+    return body;
+  }
+
+  /**
+   * Returns the buffers to the pool if they were not handed over to a body.
+   */
+  @Override
+  public void close() {
+    reset();
+  }
+
+  private void ensureRemaining() {
+    if (current != null && current.hasRemaining()) {
+      return;
+    }
+    if (expectedLength > size) {
+      // split a body of known length into as few chunks as possible without wasting more than the smallest size class
+      current = pool.acquire(ByteBufferPool.getChunkCapacity(expectedLength - size));
+    }
+    else {
+      current = pool.acquire(Math.min(nextChunkSize, ByteBufferPool.getMaxPooledCapacity()));
+      nextChunkSize = Math.min(current.capacity() * 2, ByteBufferPool.getMaxPooledCapacity());
+    }
+    chunks.add(current);
+  }
+
+}
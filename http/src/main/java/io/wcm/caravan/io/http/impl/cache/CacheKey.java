@@ -0,0 +1,162 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.google.common.base.Objects;
+
+import io.wcm.caravan.io.http.request.CaravanHttpRequest;
+
+/**
+ * Key of a cached response. It consists of the service ID, the normalized request URL and the values of all request
+ * headers the response varies on.
+ */
+final class CacheKey {
+
+  private final String primaryKey;
+  private final List<String> varyHeaderValues;
+  private final int hashCode;
+
+  private CacheKey(String primaryKey, List<String> varyHeaderValues) {
+    this.primaryKey = primaryKey;
+    this.varyHeaderValues = varyHeaderValues;
+    this.hashCode = Objects.hashCode(primaryKey, varyHeaderValues);
+  }
+
+  /**
+   * @param request Request
+   * @param varyHeaderNames Names of the request headers the cached response varies on
+   * @return Cache key
+   */
+  static CacheKey create(CaravanHttpRequest request, Collection<String> varyHeaderNames) {
+    List<String> values = new ArrayList<>(varyHeaderNames.size());
+    for (String name : varyHeaderNames) {
+      values.add(StringUtils.lowerCase(getHeaderValue(request, name)));
+    }
+    return new CacheKey(primaryKey(request), values);
+  }
+
+  /**
+   * @param primaryKey Key built by {@link #primaryKey(CaravanHttpRequest)}
+   * @param varyHeaderValues Lower-cased values of the request headers the cached response varies on
+   * @return Cache key
+   */
+  static CacheKey of(String primaryKey, List<String> varyHeaderValues) {
+    return new CacheKey(primaryKey, varyHeaderValues);
+  }
+
+  String getPrimaryKey() {
+    return primaryKey;
+  }
+
+  List<String> getVaryHeaderValues() {
+    return varyHeaderValues;
+  }
+
+  /**
+   * @param request Request
+   * @return Key built from service ID and normalized URL only
+   */
+  static String primaryKey(CaravanHttpRequest request) {
+    return StringUtils.defaultString(request.getServiceId()) + ' ' + normalizeUrl(request.getUrl());
+  }
+
+  /**
+   * Removes the fragment, lower-cases scheme and host and sorts the query parameters by name.
+   * @param url Absolute or relative URL
+   * @return Normalized URL
+   */
+  static String normalizeUrl(String url) {
+    String result = StringUtils.substringBefore(url, "#");
+
+    int hostStart = result.indexOf("://");
+    if (hostStart > 0) {
+      int authorityEnd = hostStart + 3;
+      while (authorityEnd < result.length() && result.charAt(authorityEnd) != '/' && result.charAt(authorityEnd) != '?') {
+        authorityEnd++;
+      }
+      result = StringUtils.lowerCase(result.substring(0, authorityEnd)) + result.substring(authorityEnd);
+    }
+
+    int queryStart = result.indexOf('?');
+    if (queryStart < 0) {
+      return result;
+    }
+    List<String> parameters = new ArrayList<>();
+    for (String parameter : StringUtils.split(result.substring(queryStart + 1), '&')) {
+      parameters.add(parameter);
+    }
+    if (parameters.isEmpty()) {
+      return result.substring(0, queryStart);
+    }
+    // stable sort by name only, the order of repeated parameters is significant
+    Collections.sort(parameters, new Comparator<String>() {
+
+      @Override
+      public int compare(String p1, String p2) {
+        return StringUtils.substringBefore(p1, "=").compareTo(StringUtils.substringBefore(p2, "="));
+      }
+
+    });
+    return result.substring(0, queryStart + 1) + StringUtils.join(parameters, '&');
+  }
+
+  /**
+   * @param request Request
+   * @param name Header name (case-insensitive)
+   * @return All values of the header joined with comma, or null if the header is not set
+   */
+  static String getHeaderValue(CaravanHttpRequest request, String name) {
+    List<String> values = request.getHeaderValues(name);
+    return !values.isEmpty() ? StringUtils.join(values, ',') : null;
+  }
+
+  @Override
+  public int hashCode() {
+    return hashCode;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof CacheKey)) {
+      return false;
+    }
+    CacheKey other = (CacheKey)obj;
+    return hashCode == other.hashCode
+        && primaryKey.equals(other.primaryKey)
+        && varyHeaderValues.equals(other.varyHeaderValues);
+  }
+
+  @Override
+  public String toString() {
+    return primaryKey + (varyHeaderValues.isEmpty() ? "" : " " + varyHeaderValues);
+  }
+
+}
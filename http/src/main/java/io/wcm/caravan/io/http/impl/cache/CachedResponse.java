@@ -0,0 +1,225 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl.cache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.Multimap;
+
+import io.wcm.caravan.io.http.impl.buffer.ByteBufferPool;
+import io.wcm.caravan.io.http.impl.buffer.PooledBufferBody;
+import io.wcm.caravan.io.http.impl.buffer.PooledBufferOutputStream;
+import io.wcm.caravan.io.http.response.Body;
+import io.wcm.caravan.io.http.response.CaravanHttpResponse;
+import io.wcm.caravan.io.http.response.CaravanHttpResponseBuilder;
+
+/**
+ * Fully read copy of a {@link CaravanHttpResponse} that can be turned into any number of independent responses with
+ * repeatable bodies. The body is either kept in a byte array or in pooled (typically direct) buffers, which are
+ * handed out as views without copying.
+ */
+final class CachedResponse {
+
+  static final String AGE_HEADER = "Age";
+
+  private final int status;
+  private final String reason;
+  private final Multimap<String, String> headers;
+  private final byte[] body;
+  private final PooledBufferBody pooledBody;
+
+  private CachedResponse(int status, String reason, Multimap<String, String> headers, byte[] body, PooledBufferBody pooledBody) {
+    this.status = status;
+    this.reason = reason;
+    this.headers = headers;
+    this.body = body;
+    this.pooledBody = pooledBody;
+  }
+
+  /**
+   * Reads the body of the given response completely into a byte array and closes it.
+   * @param response Response
+   * @return Cached response
+   * @throws IOException if reading the body fails
+   */
+  static CachedResponse of(CaravanHttpResponse response) throws IOException {
+    return new CachedResponse(response.status(), response.reason(), ImmutableListMultimap.copyOf(response.headers()),
+        readBody(response.body()), null);
+  }
+
+  /**
+   * Reads the body of the given response completely into buffers of the given pool and closes it.
+   * The buffers have to be returned by calling {@link #release()}.
+   * @param response Response
+   * @param pool Buffer pool
+   * @return Cached response
+   * @throws IOException if reading the body fails
+   */
+  static CachedResponse of(CaravanHttpResponse response, ByteBufferPool pool) throws IOException {
+    return new CachedResponse(response.status(), response.reason(), ImmutableListMultimap.copyOf(response.headers()),
+        null, readBody(response.body(), pool));
+  }
+
+  /**
+   * @param status HTTP status code
+   * @param reason HTTP status reason
+   * @param headers HTTP headers
+   * @param body HTTP body
+   * @return Cached response keeping the given body
+   */
+  static CachedResponse of(int status, String reason, Multimap<String, String> headers, byte[] body) {
+    return new CachedResponse(status, reason, ImmutableListMultimap.copyOf(headers), body, null);
+  }
+
+  /**
+   * @param pool Buffer pool
+   * @return Copy of this response with the body kept in buffers of the given pool
+   * @throws IOException if reading the body fails
+   */
+  CachedResponse toPooled(ByteBufferPool pool) throws IOException {
+    return new CachedResponse(status, reason, headers, null, readBody(newBuilder().build().body(), pool));
+  }
+
+  private static byte[] readBody(Body body) throws IOException {
+    if (body == null) {
+      return null;
+    }
+    try (Body closeable = body; InputStream is = body.asInputStream()) {
+      return IOUtils.toByteArray(is);
+    }
+  }
+
+  private static PooledBufferBody readBody(Body body, ByteBufferPool pool) throws IOException {
+    if (body == null) {
+      return null;
+    }
+    Integer length = body.length();
+    try (Body closeable = body;
+        InputStream is = body.asInputStream();
+        PooledBufferOutputStream buffer = new PooledBufferOutputStream(pool, length != null ? length : 0)) {
+      buffer.readFrom(is);
+      return buffer.toBody();
+    }
+  }
+
+  int getStatus() {
+    return status;
+  }
+
+  String getReason() {
+    return reason;
+  }
+
+  Multimap<String, String> getHeaders() {
+    return headers;
+  }
+
+  /**
+   * @return Number of body bytes
+   */
+  int getBodyLength() {
+    if (pooledBody != null) {
+      return pooledBody.length();
+    }
+    return body != null ? body.length : 0;
+  }
+
+  /**
+   * @return Copy of the body bytes, or null if the response has no body
+   * @throws IOException if the pooled buffers were already released
+   */
+  byte[] getBodyBytes() throws IOException {
+    return pooledBody != null ? pooledBody.toByteArray() : body;
+  }
+
+  /**
+   * @return Number of bytes kept outside of the heap
+   */
+  long getOffHeapBytes() {
+    return pooledBody != null && pooledBody.isDirect() ? pooledBody.getCapacity() : 0;
+  }
+
+  /**
+   * @return Approximate memory consumption of body and headers in bytes
+   */
+  int getWeight() {
+    int weight = pooledBody != null ? (int)pooledBody.getCapacity() : getBodyLength();
+    for (Map.Entry<String, String> header : headers.entries()) {
+      weight += header.getKey().length() + StringUtils.length(header.getValue());
+    }
+    return weight;
+  }
+
+  /**
+   * Returns pooled buffers to their pool once all responses created from this one are closed.
+   */
+  void release() {
+    if (pooledBody != null) {
+      pooledBody.close();
+    }
+  }
+
+  /**
+   * @return New response instance with a repeatable body
+   */
+  CaravanHttpResponse toResponse() {
+    return newBuilder()
+        .headers(headers)
+        .build();
+  }
+
+  /**
+   * @param ageSeconds Current age in seconds, including the age the response already had when it was stored
+   * @return New response instance with a repeatable body and an updated "Age" header
+   */
+  CaravanHttpResponse toResponse(long ageSeconds) {
+    CaravanHttpResponseBuilder builder = newBuilder();
+    for (Map.Entry<String, String> header : headers.entries()) {
+      if (!StringUtils.equalsIgnoreCase(header.getKey(), AGE_HEADER)) {
+        builder.header(header.getKey(), header.getValue());
+      }
+    }
+    return builder
+        .header(AGE_HEADER, Long.toString(ageSeconds))
+        .build();
+  }
+
+  private CaravanHttpResponseBuilder newBuilder() {
+    CaravanHttpResponseBuilder builder = new CaravanHttpResponseBuilder()
+        .status(status)
+        .reason(reason);
+    if (pooledBody == null) {
+      return builder.body(body);
+    }
+    try {
+      return builder.body(pooledBody.newView());
+    }
+    catch (IOException ex) {
+      throw new IllegalStateException("Cached response was already released.", ex);
+    }
+  }
+
+}
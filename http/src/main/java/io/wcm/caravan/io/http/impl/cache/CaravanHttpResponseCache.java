@@ -0,0 +1,506 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl.cache;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+import io.wcm.caravan.io.http.impl.CaravanHttpHelper;
+import io.wcm.caravan.io.http.impl.buffer.ByteBufferPool;
+import io.wcm.caravan.io.http.request.CaravanHttpRequest;
+import io.wcm.caravan.io.http.response.CaravanHttpResponse;
+
+/**
+ * Shared in-memory cache for responses of GET requests to configured services. Freshness is controlled by the
+ * "Cache-Control" headers of response and request. The cache is bounded by the total number of body bytes (plus a small
+ * amount for the headers), entries
+ * are evicted in LRU order, but a new entry is only admitted if it was requested more frequently than the entries it
+ * would replace. Optionally the bodies are kept in pooled direct buffers outside of the heap and handed out as
+ * views on these buffers without copying. A {@link DiskResponseCache} can be attached as a persistent second level: all
+ * stored responses are written through to it, and responses found there on a miss are promoted to memory.
+ */
+public final class CaravanHttpResponseCache {
+
+  private static final Logger log = LoggerFactory.getLogger(CaravanHttpResponseCache.class);
+
+  /**
+   * Status codes that are cacheable by default (RFC 7231, section 6.1)
+   */
+  static final Set<Integer> CACHEABLE_STATUS_CODES = ImmutableSet.of(200, 203, 204, 300, 301, 404, 405, 410, 414, 501);
+
+  private static final String CACHE_CONTROL_HEADER = "Cache-Control";
+  private static final String VARY_HEADER = "Vary";
+  private static final String AUTHORIZATION_HEADER = "Authorization";
+
+  private static final int AVERAGE_ENTRY_BYTES = 4096;
+  private static final int OFF_HEAP_POOL_FRACTION = 8;
+  private static final int MIN_EXPECTED_ENTRIES = 256;
+  private static final int MAX_EXPECTED_ENTRIES = 1 << 20;
+
+  private static final String METRICS_PREFIX = "caravan.http.responseCache.";
+  private static final String[] METRIC_NAMES = new String[] {
+      "hits", "misses", "evictions", "entries", "weightedSize", "offHeapSize", "diskHits", "diskEntries", "diskSize"
+  };
+
+  private final long maxBytes;
+  private final Ticker ticker;
+  private final ByteBufferPool offHeapPool;
+  private final DiskResponseCache diskCache;
+  private final FrequencySketch sketch;
+  private final Cache<String, List<String>> varyHeaderNames;
+  private final LinkedHashMap<CacheKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private long weightedSize;
+  private long offHeapSize;
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+  private final AtomicLong diskHits = new AtomicLong();
+
+  /**
+   * @param maxBytes Maximum number of body bytes kept in the cache
+   */
+  public CaravanHttpResponseCache(long maxBytes) {
+    this(maxBytes, false);
+  }
+
+  /**
+   * @param maxBytes Maximum number of body bytes kept in the cache
+   * @param offHeap true to keep the bodies in direct buffers outside of the heap
+   */
+  public CaravanHttpResponseCache(long maxBytes, boolean offHeap) {
+    this(maxBytes, offHeap, null);
+  }
+
+  /**
+   * @param maxBytes Maximum number of body bytes kept in the cache
+   * @param offHeap true to keep the bodies in direct buffers outside of the heap
+   * @param diskCache Persistent second level, may be null
+   */
+  public CaravanHttpResponseCache(long maxBytes, boolean offHeap, DiskResponseCache diskCache) {
+    this(maxBytes, offHeap, diskCache, Ticker.systemTicker());
+  }
+
+  CaravanHttpResponseCache(long maxBytes, Ticker ticker) {
+    this(maxBytes, false, null, ticker);
+  }
+
+  CaravanHttpResponseCache(long maxBytes, boolean offHeap, DiskResponseCache diskCache, Ticker ticker) {
+    this.maxBytes = maxBytes;
+    this.ticker = ticker;
+    this.diskCache = diskCache;
+    // buffers of evicted entries are kept for reuse, so direct memory is not only freed by the garbage collector
+    this.offHeapPool = offHeap ? new ByteBufferPool(true, maxBytes / OFF_HEAP_POOL_FRACTION) : null;
+    int expectedEntries = (int)Math.max(MIN_EXPECTED_ENTRIES, Math.min(MAX_EXPECTED_ENTRIES, maxBytes / AVERAGE_ENTRY_BYTES));
+    this.sketch = new FrequencySketch(expectedEntries);
+    this.varyHeaderNames = CacheBuilder.newBuilder().maximumSize(expectedEntries).build();
+  }
+
+  /**
+   * @param request Request
+   * @return true if the response to the given request may be looked up in and stored to the cache
+   */
+  public boolean isCacheable(CaravanHttpRequest request) {
+    return StringUtils.isNotEmpty(request.getServiceId())
+        && "GET".equalsIgnoreCase(request.getMethod())
+        && !getCacheControl(request).containsKey("no-store");
+  }
+
+  /**
+   * @param request Cacheable request
+   * @return Fresh response from the cache with an updated "Age" header, or null if there is none
+   */
+  public CaravanHttpResponse get(CaravanHttpRequest request) {
+    Map<String, String> requestCacheControl = getCacheControl(request);
+    String primaryKey = CacheKey.primaryKey(request);
+    List<String> varyNames = varyHeaderNames.getIfPresent(primaryKey);
+    if (varyNames == null && diskCache != null) {
+      varyNames = diskCache.getVaryHeaderNames(primaryKey);
+    }
+    CacheKey key = varyNames != null ? CacheKey.create(request, varyNames) : null;
+    long maxAge = NumberUtils.toLong(requestCacheControl.get("max-age"), Long.MAX_VALUE);
+
+    synchronized (this) {
+      sketch.increment(primaryKey.hashCode());
+      if (key == null || requestCacheControl.containsKey("no-cache")) {
+        misses.incrementAndGet();
+        return null;
+      }
+      Entry entry = entries.get(key);
+      if (entry != null) {
+        long age = entry.getAgeSeconds(ticker.read());
+        if (age < entry.freshnessLifetime && age <= maxAge) {
+          hits.incrementAndGet();
+          // the response has to be created while the entry cannot be evicted, because that releases pooled buffers
+          return entry.response.toResponse(age);
+        }
+        if (age >= entry.freshnessLifetime) {
+          remove(key);
+        }
+      }
+    }
+
+    CaravanHttpResponse response = getFromDisk(primaryKey, varyNames, key, maxAge);
+    if (response == null) {
+      misses.incrementAndGet();
+      return null;
+    }
+    hits.incrementAndGet();
+    diskHits.incrementAndGet();
+    return response;
+  }
+
+  /**
+   * Looks up the response in the disk cache and promotes it to memory.
+   */
+  private CaravanHttpResponse getFromDisk(String primaryKey, List<String> varyNames, CacheKey key, long maxAge) {
+    if (diskCache == null) {
+      return null;
+    }
+    DiskResponseCache.Hit hit = diskCache.get(key);
+    if (hit == null || hit.getAgeSeconds() >= hit.getFreshnessLifetime() || hit.getAgeSeconds() > maxAge) {
+      return null;
+    }
+    CachedResponse cachedResponse = hit.getResponse();
+    try {
+      if (offHeapPool != null) {
+        cachedResponse = cachedResponse.toPooled(offHeapPool);
+      }
+    }
+    catch (IOException ex) {
+      log.warn("Promoting response from disk cache failed.", ex);
+      return null;
+    }
+    CaravanHttpResponse result = cachedResponse.toResponse(hit.getAgeSeconds());
+    varyHeaderNames.put(primaryKey, varyNames);
+    Entry entry = new Entry(cachedResponse, primaryKey.hashCode(), ticker.read(), hit.getAgeSeconds(), hit.getFreshnessLifetime());
+    if (!store(key, entry)) {
+      cachedResponse.release();
+    }
+    return result;
+  }
+
+  /**
+   * Stores the response in the cache if allowed by its status and "Cache-Control" headers. The body of a stored
+   * response is consumed, so the returned response has to be used instead of the given one.
+   * @param request Cacheable request
+   * @param response Response
+   * @return Response to pass on to the caller
+   * @throws IOException if reading the response body fails
+   */
+  public CaravanHttpResponse put(CaravanHttpRequest request, CaravanHttpResponse response) throws IOException {
+    long freshnessLifetime = getFreshnessLifetime(request, response);
+    long age = getAge(response);
+    if (freshnessLifetime <= age) {
+      return response;
+    }
+    List<String> varyNames = getVaryHeaderNames(response);
+    if (varyNames == null) {
+      return response;
+    }
+
+    CachedResponse cachedResponse = offHeapPool != null ? CachedResponse.of(response, offHeapPool) : CachedResponse.of(response);
+    CaravanHttpResponse result = cachedResponse.toResponse();
+    String primaryKey = CacheKey.primaryKey(request);
+    varyHeaderNames.put(primaryKey, varyNames);
+    CacheKey key = CacheKey.create(request, varyNames);
+    if (diskCache != null) {
+      try {
+        diskCache.put(key, varyNames, cachedResponse, age, freshnessLifetime);
+      }
+      catch (IOException ex) {
+        log.warn("Writing response to disk cache failed.", ex);
+      }
+    }
+    Entry entry = new Entry(cachedResponse, primaryKey.hashCode(), ticker.read(), age, freshnessLifetime);
+    if (!store(key, entry)) {
+      cachedResponse.release();
+    }
+
+    return result;
+  }
+
+  /**
+   * @return Number of cached responses
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * @return Number of body and header bytes kept in the cache
+   */
+  public synchronized long getWeightedSize() {
+    return weightedSize;
+  }
+
+  /**
+   * @return Number of body bytes kept in direct buffers
+   */
+  public synchronized long getOffHeapSize() {
+    return offHeapSize;
+  }
+
+  /**
+   * @return Number of requests answered from the cache
+   */
+  public long getHitCount() {
+    return hits.get();
+  }
+
+  /**
+   * @return Number of lookups that did not find a fresh response
+   */
+  public long getMissCount() {
+    return misses.get();
+  }
+
+  /**
+   * @return Number of entries removed to make room for new ones
+   */
+  public long getEvictionCount() {
+    return evictions.get();
+  }
+
+  /**
+   * @return Number of requests answered from the disk cache
+   */
+  public long getDiskHitCount() {
+    return diskHits.get();
+  }
+
+  /**
+   * @return Attached disk cache, or null
+   */
+  public DiskResponseCache getDiskCache() {
+    return diskCache;
+  }
+
+  /**
+   * Removes all entries from the in-memory cache. Responses stored on disk are kept.
+   */
+  public synchronized void clear() {
+    for (Entry entry : entries.values()) {
+      entry.response.release();
+    }
+    entries.clear();
+    weightedSize = 0;
+    offHeapSize = 0;
+  }
+
+  /**
+   * Registers gauges for hits, misses, evictions and size of the cache, and of the disk cache if attached.
+   * @param metricRegistry Metric registry
+   */
+  public void registerMetrics(MetricRegistry metricRegistry) {
+    metricRegistry.register(METRICS_PREFIX + "hits", (Gauge<Long>)this::getHitCount);
+    metricRegistry.register(METRICS_PREFIX + "misses", (Gauge<Long>)this::getMissCount);
+    metricRegistry.register(METRICS_PREFIX + "evictions", (Gauge<Long>)this::getEvictionCount);
+    metricRegistry.register(METRICS_PREFIX + "entries", (Gauge<Integer>)this::size);
+    metricRegistry.register(METRICS_PREFIX + "weightedSize", (Gauge<Long>)this::getWeightedSize);
+    metricRegistry.register(METRICS_PREFIX + "offHeapSize", (Gauge<Long>)this::getOffHeapSize);
+    if (diskCache != null) {
+      metricRegistry.register(METRICS_PREFIX + "diskHits", (Gauge<Long>)this::getDiskHitCount);
+      metricRegistry.register(METRICS_PREFIX + "diskEntries", (Gauge<Integer>)diskCache::size);
+      metricRegistry.register(METRICS_PREFIX + "diskSize", (Gauge<Long>)diskCache::getSize);
+    }
+  }
+
+  /**
+   * Removes the gauges registered by {@link #registerMetrics(MetricRegistry)}.
+   * @param metricRegistry Metric registry
+   */
+  public void unregisterMetrics(MetricRegistry metricRegistry) {
+    for (String name : METRIC_NAMES) {
+      metricRegistry.remove(METRICS_PREFIX + name);
+    }
+  }
+
+  /**
+   * @return true if the entry was stored
+   */
+  private synchronized boolean store(CacheKey key, Entry entry) {
+    if (entry.weight > maxBytes) {
+      return false;
+    }
+
+    // the existing entry of the key is only replaced if the new entry is admitted, but its weight is freed anyway
+    Entry existing = entries.get(key);
+    long bytesToFree = weightedSize - (existing != null ? existing.weight : 0) + entry.weight - maxBytes;
+    if (bytesToFree > 0) {
+      long now = ticker.read();
+      int candidateFrequency = sketch.frequency(entry.frequencyHash);
+      List<CacheKey> victims = new ArrayList<>();
+      boolean admit = true;
+      Iterator<Map.Entry<CacheKey, Entry>> iterator = entries.entrySet().iterator();
+      while (bytesToFree > 0 && iterator.hasNext()) {
+        Map.Entry<CacheKey, Entry> eldest = iterator.next();
+        Entry victim = eldest.getValue();
+        if (victim == existing) {
+          continue;
+        }
+        if (victim.getAgeSeconds(now) >= victim.freshnessLifetime) {
+          // expired entries are always evicted
+          iterator.remove();
+          released(victim);
+          bytesToFree -= victim.weight;
+        }
+        else if (admit) {
+          admit = candidateFrequency > sketch.frequency(victim.frequencyHash);
+          victims.add(eldest.getKey());
+          bytesToFree -= victim.weight;
+        }
+      }
+      if (!admit || bytesToFree > 0) {
+        return false;
+      }
+      for (CacheKey victim : victims) {
+        remove(victim);
+      }
+      evictions.addAndGet(victims.size());
+    }
+
+    remove(key);
+    entries.put(key, entry);
+    weightedSize += entry.weight;
+    offHeapSize += entry.offHeapBytes;
+    return true;
+  }
+
+  private void remove(CacheKey key) {
+    Entry removed = entries.remove(key);
+    if (removed != null) {
+      released(removed);
+    }
+  }
+
+  private void released(Entry entry) {
+    weightedSize -= entry.weight;
+    offHeapSize -= entry.offHeapBytes;
+    entry.response.release();
+  }
+
+  private static long getFreshnessLifetime(CaravanHttpRequest request, CaravanHttpResponse response) {
+    if (!CACHEABLE_STATUS_CODES.contains(response.status())) {
+      return 0;
+    }
+    Map<String, String> cacheControl = toLowerCaseKeys(response.getCacheControl());
+    if (cacheControl.containsKey("no-store") || cacheControl.containsKey("private") || cacheControl.containsKey("no-cache")) {
+      return 0;
+    }
+    String sharedMaxAge = cacheControl.get("s-maxage");
+    if (CacheKey.getHeaderValue(request, AUTHORIZATION_HEADER) != null
+        && sharedMaxAge == null && !cacheControl.containsKey("public")) {
+      return 0;
+    }
+    String maxAge = sharedMaxAge != null ? sharedMaxAge : cacheControl.get("max-age");
+    return NumberUtils.toLong(StringUtils.trim(maxAge), 0);
+  }
+
+  private static long getAge(CaravanHttpResponse response) {
+    List<String> ages = response.headerValues(CachedResponse.AGE_HEADER);
+    return ages.isEmpty() ? 0 : Math.max(0, NumberUtils.toLong(StringUtils.trim(ages.get(0))));
+  }
+
+  /**
+   * @return Lower-cased names of the request headers listed in the "Vary" header, or null if the response varies on
+   *         everything and must not be cached
+   */
+  private static List<String> getVaryHeaderNames(CaravanHttpResponse response) {
+    List<String> names = new ArrayList<>();
+    for (String vary : response.headerValues(VARY_HEADER)) {
+      for (String name : StringUtils.split(vary, ',')) {
+        String trimmed = StringUtils.lowerCase(StringUtils.trim(name));
+        if ("*".equals(trimmed)) {
+          return null;
+        }
+        if (StringUtils.isNotEmpty(trimmed) && !names.contains(trimmed)) {
+          names.add(trimmed);
+        }
+      }
+    }
+    Collections.sort(names);
+    return ImmutableList.copyOf(names);
+  }
+
+  private static Map<String, String> getCacheControl(CaravanHttpRequest request) {
+    String cacheControl = CacheKey.getHeaderValue(request, CACHE_CONTROL_HEADER);
+    if (cacheControl == null) {
+      return Collections.emptyMap();
+    }
+    return toLowerCaseKeys(CaravanHttpHelper.convertMultiValueHeaderToMap(Collections.singletonList(cacheControl)));
+  }
+
+  private static Map<String, String> toLowerCaseKeys(Map<String, String> directives) {
+    Map<String, String> result = new LinkedHashMap<>();
+    for (Map.Entry<String, String> directive : directives.entrySet()) {
+      result.put(directive.getKey().toLowerCase(Locale.ENGLISH), directive.getValue());
+    }
+    return result;
+  }
+
+  private static final class Entry {
+
+    private final CachedResponse response;
+    private final int frequencyHash;
+    private final long storedAtNanos;
+    private final long initialAgeSeconds;
+    private final long freshnessLifetime;
+    private final int weight;
+    private final long offHeapBytes;
+
+    Entry(CachedResponse response, int frequencyHash, long storedAtNanos, long initialAgeSeconds, long freshnessLifetime) {
+      this.response = response;
+      this.frequencyHash = frequencyHash;
+      this.storedAtNanos = storedAtNanos;
+      this.initialAgeSeconds = initialAgeSeconds;
+      this.freshnessLifetime = freshnessLifetime;
+      this.weight = response.getWeight();
+      this.offHeapBytes = response.getOffHeapBytes();
+    }
+
+    long getAgeSeconds(long nowNanos) {
+      return initialAgeSeconds + TimeUnit.NANOSECONDS.toSeconds(nowNanos - storedAtNanos);
+    }
+
+  }
+
+}
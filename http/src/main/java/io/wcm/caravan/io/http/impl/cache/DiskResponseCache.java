@@ -0,0 +1,560 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.LongSupplier;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Multimap;
+
+/**
+ * Persistent second level of the {@link CaravanHttpResponseCache}. Responses are appended to memory-mapped segment
+ * files in a configured directory, which are kept when the application is restarted. At startup the in-memory index
+ * is rebuilt from the record headers and metadata of all segments without reading the bodies, so a warm cache is
+ * available immediately.
+ * <p>
+ * When the configured size is exceeded the oldest segment is deleted as a whole. Segments that only contain expired
+ * or replaced responses are deleted as well. A record with invalid lengths or metadata ends the scan of its segment.
+ * Each record is protected by a checksum, which is verified when the response is read, so a corrupted record is
+ * treated as a cache miss.
+ * </p>
+ * <p>
+ * Java offers no way to unmap a {@link MappedByteBuffer} explicitly: the mapping of a deleted or closed segment is only
+ * released when its buffer is garbage collected, so the cache drops all references to it.
+ * </p>
+ */
+public final class DiskResponseCache implements Closeable {
+
+  private static final Logger log = LoggerFactory.getLogger(DiskResponseCache.class);
+
+  static final String SEGMENT_FILE_SUFFIX = ".segment";
+
+  private static final int RECORD_MAGIC = 0xCA7A0001;
+  private static final int RECORD_HEADER_BYTES = 16;
+  private static final int NULL_LENGTH = -1;
+  private static final int MIN_SEGMENT_BYTES = 1024 * 1024;
+  private static final int MAX_SEGMENT_BYTES = 64 * 1024 * 1024;
+  private static final int SEGMENT_FRACTION = 8;
+  private static final int MIN_SEGMENTS = 2;
+
+  private final File directory;
+  private final int segmentBytes;
+  private final int maxSegments;
+  private final LongSupplier clock;
+  private final TreeMap<Long, Segment> segments = new TreeMap<>();
+  private final Map<CacheKey, Location> index = new HashMap<>();
+  private final Map<String, List<String>> varyHeaderNames = new HashMap<>();
+  private Segment activeSegment;
+
+  /**
+   * Opens the cache in the given directory and rebuilds the index from the segments found there.
+   * @param directory Directory for the segment files, is created if it does not exist
+   * @param maxBytes Maximum number of bytes kept in segment files
+   * @throws IOException if the directory cannot be created or a segment cannot be mapped
+   */
+  public DiskResponseCache(File directory, long maxBytes) throws IOException {
+    this(directory, maxBytes,
+        (int)Math.max(MIN_SEGMENT_BYTES, Math.min(MAX_SEGMENT_BYTES, maxBytes / SEGMENT_FRACTION)),
+        System::currentTimeMillis);
+  }
+
+  DiskResponseCache(File directory, long maxBytes, int segmentBytes, LongSupplier clock) throws IOException {
+    this.directory = directory;
+    this.segmentBytes = segmentBytes;
+    this.maxSegments = (int)Math.max(MIN_SEGMENTS, maxBytes / segmentBytes);
+    this.clock = clock;
+    Files.createDirectories(directory.toPath());
+    rebuildIndex();
+  }
+
+  /**
+   * @param primaryKey Key built from service ID and URL
+   * @return Lower-cased names of the headers the stored response varies on, or null if none is stored
+   */
+  synchronized List<String> getVaryHeaderNames(String primaryKey) {
+    return varyHeaderNames.get(primaryKey);
+  }
+
+  /**
+   * @param key Cache key
+   * @return Stored response that has not expired yet, or null if there is none
+   */
+  synchronized Hit get(CacheKey key) {
+    Location location = index.get(key);
+    if (location == null) {
+      return null;
+    }
+    long now = clock.getAsLong();
+    if (location.expiresAtMillis <= now) {
+      remove(key);
+      return null;
+    }
+    try {
+      Record record = read(location.segment.buffer, location.offset, true);
+      return new Hit(record.toResponse(), (now - location.responseDateMillis) / 1000,
+          (location.expiresAtMillis - location.responseDateMillis) / 1000);
+    }
+    catch (IOException ex) {
+      log.warn("Reading cached response from " + location.segment.file + " failed.", ex);
+      remove(key);
+      return null;
+    }
+  }
+
+  /**
+   * Appends the response to the active segment, replacing a stored response for the same key.
+   * @param key Cache key
+   * @param varyNames Lower-cased names of the headers the response varies on
+   * @param response Response
+   * @param ageSeconds Current age of the response
+   * @param freshnessLifetime Freshness lifetime of the response in seconds
+   * @return true if the response was stored, false if it does not fit into a segment
+   * @throws IOException if writing the segment fails
+   */
+  synchronized boolean put(CacheKey key, List<String> varyNames, CachedResponse response, long ageSeconds, long freshnessLifetime)
+      throws IOException {
+    long responseDateMillis = clock.getAsLong() - ageSeconds * 1000;
+    Record record = new Record(responseDateMillis, responseDateMillis + freshnessLifetime * 1000, key, varyNames,
+        response.getStatus(), response.getReason(), response.getHeaders(), response.getBodyBytes());
+    byte[] meta = record.writeMeta();
+    int recordLength = RECORD_HEADER_BYTES + meta.length + record.bodyLength();
+    if (recordLength > segmentBytes) {
+      return false;
+    }
+    if (activeSegment == null || activeSegment.writePosition + recordLength > activeSegment.buffer.capacity()) {
+      rollSegment();
+    }
+
+    CRC32 crc = new CRC32();
+    crc.update(meta);
+    if (record.body != null) {
+      crc.update(record.body);
+    }
+    int offset = activeSegment.writePosition;
+    ByteBuffer target = activeSegment.buffer.duplicate();
+    target.position(offset + 4);
+    target.putInt(meta.length);
+    target.putInt(record.body != null ? record.body.length : NULL_LENGTH);
+    target.putInt((int)crc.getValue());
+    target.put(meta);
+    if (record.body != null) {
+      target.put(record.body);
+    }
+    // the magic number is written last, so a scan never reads a partially written record
+    target.putInt(offset, RECORD_MAGIC);
+    activeSegment.writePosition += recordLength;
+
+    index(record, activeSegment, offset);
+    return true;
+  }
+
+  /**
+   * @return Number of stored responses
+   */
+  public synchronized int size() {
+    return index.size();
+  }
+
+  /**
+   * @return Number of bytes of all segment files
+   */
+  public synchronized long getSize() {
+    return (long)segments.size() * segmentBytes;
+  }
+
+  /**
+   * Flushes all segments to disk and drops the references to their mappings, which are released once they are garbage
+   * collected. The cache must not be used afterwards.
+   */
+  @Override
+  public synchronized void close() {
+    for (Segment segment : segments.values()) {
+      segment.buffer.force();
+      segment.buffer = null;
+    }
+    segments.clear();
+    index.clear();
+    varyHeaderNames.clear();
+    activeSegment = null;
+  }
+
+  private void rebuildIndex() throws IOException {
+    File[] files = directory.listFiles((dir, name) -> name.endsWith(SEGMENT_FILE_SUFFIX));
+    if (files == null) {
+      throw new IOException("Unable to list " + directory);
+    }
+    for (File file : files) {
+      String name = file.getName();
+      try {
+        long id = Long.parseLong(name.substring(0, name.length() - SEGMENT_FILE_SUFFIX.length()));
+        segments.put(id, new Segment(id, file, map(file, file.length())));
+      }
+      catch (NumberFormatException ex) {
+        log.warn("Ignoring unexpected file {} in response cache directory.", file);
+      }
+    }
+
+    long now = clock.getAsLong();
+    for (Segment segment : segments.values()) {
+      segment.writePosition = scan(segment, now);
+      activeSegment = segment;
+    }
+    while (segments.size() > maxSegments) {
+      deleteSegment(segments.firstEntry().getValue());
+    }
+    deleteUnusedSegments();
+    log.info("Loaded {} cached responses from {} segments in {}.", index.size(), segments.size(), directory);
+  }
+
+  /**
+   * Adds the valid records of the segment to the index. Only the record headers and metadata are read, the bodies are
+   * skipped and their checksums are verified when they are read by {@link #get(CacheKey)}.
+   * @return Position after the last valid record
+   */
+  private int scan(Segment segment, long now) {
+    ByteBuffer buffer = segment.buffer;
+    int position = 0;
+    while (position + RECORD_HEADER_BYTES <= buffer.capacity() && buffer.getInt(position) == RECORD_MAGIC) {
+      try {
+        Record record = read(buffer, position, false);
+        if (record.expiresAtMillis > now) {
+          index(record, segment, position);
+        }
+        position += record.length;
+      }
+      catch (IOException ex) {
+        log.warn("Ignoring corrupted records in {} after position {}: {}", segment.file, position, ex.getMessage());
+        break;
+      }
+    }
+    return position;
+  }
+
+  private void index(Record record, Segment segment, int offset) {
+    Location previous = index.put(record.key, new Location(segment, offset, record.responseDateMillis, record.expiresAtMillis));
+    if (previous != null) {
+      previous.segment.liveEntries--;
+    }
+    segment.liveEntries++;
+    varyHeaderNames.put(record.key.getPrimaryKey(), record.varyNames);
+  }
+
+  private void remove(CacheKey key) {
+    Location removed = index.remove(key);
+    if (removed != null) {
+      removed.segment.liveEntries--;
+    }
+  }
+
+  private void rollSegment() throws IOException {
+    long id = segments.isEmpty() ? 1 : segments.lastKey() + 1;
+    File file = new File(directory, String.format("%019d", id) + SEGMENT_FILE_SUFFIX);
+    activeSegment = new Segment(id, file, map(file, segmentBytes));
+    segments.put(id, activeSegment);
+
+    long now = clock.getAsLong();
+    Iterator<Map.Entry<CacheKey, Location>> iterator = index.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Location location = iterator.next().getValue();
+      if (location.expiresAtMillis <= now) {
+        iterator.remove();
+        location.segment.liveEntries--;
+      }
+    }
+    deleteUnusedSegments();
+    if (segments.size() > maxSegments) {
+      deleteSegment(segments.firstEntry().getValue());
+    }
+  }
+
+  private void deleteUnusedSegments() {
+    for (Segment segment : new ArrayList<>(segments.values())) {
+      if (segment.liveEntries == 0 && segment != activeSegment) {
+        deleteSegment(segment);
+      }
+    }
+  }
+
+  private void deleteSegment(Segment segment) {
+    segments.remove(segment.id);
+    if (segment.liveEntries > 0) {
+      Iterator<Location> iterator = index.values().iterator();
+      while (iterator.hasNext()) {
+        if (iterator.next().segment == segment) {
+          iterator.remove();
+        }
+      }
+      Set<String> primaryKeys = new HashSet<>();
+      for (CacheKey key : index.keySet()) {
+        primaryKeys.add(key.getPrimaryKey());
+      }
+      varyHeaderNames.keySet().retainAll(primaryKeys);
+    }
+    if (segment == activeSegment) {
+      activeSegment = null;
+    }
+    // the mapping is only released by the garbage collector, deleting the file fails on Windows until then
+    segment.buffer = null;
+    if (!segment.file.delete()) {
+      log.warn("Unable to delete response cache segment {}.", segment.file);
+    }
+  }
+
+  private static MappedByteBuffer map(File file, long size) throws IOException {
+    try (FileChannel channel = FileChannel.open(file.toPath(),
+        StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+  }
+
+  /**
+   * @param buffer Segment buffer
+   * @param offset Offset of the record
+   * @param withBody true to read the body and verify the checksum, false to only read the metadata
+   * @return Record
+   * @throws IOException if the record lengths or metadata are invalid or the checksum does not match
+   */
+  private static Record read(ByteBuffer buffer, int offset, boolean withBody) throws IOException {
+    int metaLength = buffer.getInt(offset + 4);
+    int bodyLength = buffer.getInt(offset + 8);
+    int checksum = buffer.getInt(offset + 12);
+    long end = (long)offset + RECORD_HEADER_BYTES + metaLength + Math.max(0, bodyLength);
+    if (metaLength < 0 || bodyLength < NULL_LENGTH || end > buffer.capacity()) {
+      throw new IOException("Invalid record length");
+    }
+    byte[] meta = new byte[metaLength];
+    ByteBuffer source = buffer.duplicate();
+    source.position(offset + RECORD_HEADER_BYTES);
+    source.get(meta);
+    byte[] body = null;
+    if (withBody) {
+      CRC32 crc = new CRC32();
+      crc.update(meta);
+      if (bodyLength != NULL_LENGTH) {
+        body = new byte[bodyLength];
+        source.get(body);
+        crc.update(body);
+      }
+      if ((int)crc.getValue() != checksum) {
+        throw new IOException("Checksum mismatch");
+      }
+    }
+    Record record = Record.readMeta(meta, body);
+    record.length = (int)(end - offset);
+    return record;
+  }
+
+  /**
+   * Response found in the disk cache.
+   */
+  static final class Hit {
+
+    private final CachedResponse response;
+    private final long ageSeconds;
+    private final long freshnessLifetime;
+
+    Hit(CachedResponse response, long ageSeconds, long freshnessLifetime) {
+      this.response = response;
+      this.ageSeconds = ageSeconds;
+      this.freshnessLifetime = freshnessLifetime;
+    }
+
+    CachedResponse getResponse() {
+      return response;
+    }
+
+    long getAgeSeconds() {
+      return ageSeconds;
+    }
+
+    long getFreshnessLifetime() {
+      return freshnessLifetime;
+    }
+
+  }
+
+  private static final class Segment {
+
+    private final long id;
+    private final File file;
+    private MappedByteBuffer buffer;
+    private int writePosition;
+    private int liveEntries;
+
+    Segment(long id, File file, MappedByteBuffer buffer) {
+      this.id = id;
+      this.file = file;
+      this.buffer = buffer;
+    }
+
+  }
+
+  private static final class Location {
+
+    private final Segment segment;
+    private final int offset;
+    private final long responseDateMillis;
+    private final long expiresAtMillis;
+
+    Location(Segment segment, int offset, long responseDateMillis, long expiresAtMillis) {
+      this.segment = segment;
+      this.offset = offset;
+      this.responseDateMillis = responseDateMillis;
+      this.expiresAtMillis = expiresAtMillis;
+    }
+
+  }
+
+  /**
+   * Content of a record: the metadata is serialized with a {@link DataOutputStream}, followed by the raw body.
+   */
+  private static final class Record {
+
+    private final long responseDateMillis;
+    private final long expiresAtMillis;
+    private final CacheKey key;
+    private final List<String> varyNames;
+    private final int status;
+    private final String reason;
+    private final Multimap<String, String> headers;
+    private final byte[] body;
+    private int length;
+
+    Record(long responseDateMillis, long expiresAtMillis, CacheKey key, List<String> varyNames,
+        int status, String reason, Multimap<String, String> headers, byte[] body) {
+      this.responseDateMillis = responseDateMillis;
+      this.expiresAtMillis = expiresAtMillis;
+      this.key = key;
+      this.varyNames = varyNames;
+      this.status = status;
+      this.reason = reason;
+      this.headers = headers;
+      this.body = body;
+    }
+
+    int bodyLength() {
+      return body != null ? body.length : 0;
+    }
+
+    CachedResponse toResponse() {
+      return CachedResponse.of(status, reason, headers, body);
+    }
+
+    byte[] writeMeta() throws IOException {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      try (DataOutputStream out = new DataOutputStream(bytes)) {
+        out.writeLong(responseDateMillis);
+        out.writeLong(expiresAtMillis);
+        writeString(out, key.getPrimaryKey());
+        writeStrings(out, key.getVaryHeaderValues());
+        writeStrings(out, varyNames);
+        out.writeInt(status);
+        writeString(out, reason);
+        out.writeInt(headers.size());
+        for (Map.Entry<String, String> header : headers.entries()) {
+          writeString(out, header.getKey());
+          writeString(out, header.getValue());
+        }
+      }
+      return bytes.toByteArray();
+    }
+
+    static Record readMeta(byte[] meta, byte[] body) throws IOException {
+      try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(meta))) {
+        long responseDateMillis = in.readLong();
+        long expiresAtMillis = in.readLong();
+        CacheKey key = CacheKey.of(readString(in), readStrings(in));
+        List<String> varyNames = ImmutableList.copyOf(readStrings(in));
+        int status = in.readInt();
+        String reason = readString(in);
+        int headerCount = in.readInt();
+        Multimap<String, String> headers = ArrayListMultimap.create();
+        for (int i = 0; i < headerCount; i++) {
+          headers.put(readString(in), readString(in));
+        }
+        return new Record(responseDateMillis, expiresAtMillis, key, varyNames, status, reason, headers, body);
+      }
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+      out.writeInt(values.size());
+      for (String value : values) {
+        writeString(out, value);
+      }
+    }
+
+    private static List<String> readStrings(DataInputStream in) throws IOException {
+      int count = in.readInt();
+      List<String> values = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        values.add(readString(in));
+      }
+      return values;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+      if (value == null) {
+        out.writeInt(NULL_LENGTH);
+        return;
+      }
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      out.writeInt(bytes.length);
+      out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+      int length = in.readInt();
+      if (length == NULL_LENGTH) {
+        return null;
+      }
+      byte[] bytes = new byte[length];
+      in.readFully(bytes);
+      return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+  }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl.cache;
+
+/**
+ * Count-min sketch with small saturating counters that estimates how often a key has been accessed recently. The
+ * counters are periodically halved, so that the estimation ages and favors keys that are popular right now.
+ * This class is not thread-safe, access has to be guarded by the owning cache.
+ */
+final class FrequencySketch {
+
+  private static final int DEPTH = 4;
+  private static final int MAX_COUNT = 15;
+  private static final int[] SEEDS = new int[] {
+      0x97cb3127, 0xb2a9c1d3, 0x7e37bd41, 0x5f356495
+  };
+
+  private final byte[][] table;
+  private final int mask;
+  private final int sampleSize;
+  private int additions;
+
+  /**
+   * @param expectedEntries Expected number of distinct entries that are tracked
+   */
+  FrequencySketch(int expectedEntries) {
+    int width = Integer.highestOneBit(Math.max(expectedEntries, 16) - 1) << 1;
+    this.table = new byte[DEPTH][width];
+    this.mask = width - 1;
+    this.sampleSize = 10 * width;
+  }
+
+  /**
+   * @param hash Hash code of the key
+   * @return Estimated number of recent accesses
+   */
+  int frequency(int hash) {
+    int frequency = MAX_COUNT;
+    for (int i = 0; i < DEPTH; i++) {
+      frequency = Math.min(frequency, table[i][indexOf(hash, i)]);
+    }
+    return frequency;
+  }
+
+  /**
+   * Records an access of the key.
+   * @param hash Hash code of the key
+   */
+  void increment(int hash) {
+    boolean added = false;
+    for (int i = 0; i < DEPTH; i++) {
+      int index = indexOf(hash, i);
+      if (table[i][index] < MAX_COUNT) {
+        table[i][index]++;
+        added = true;
+      }
+    }
+    if (added && ++additions >= sampleSize) {
+      reset();
+    }
+  }
+
+  private int indexOf(int hash, int row) {
+    int h = (hash ^ (hash >>> 16)) * SEEDS[row];
+    return (h ^ (h >>> 15)) & mask;
+  }
+
+  private void reset() {
+    for (byte[] row : table) {
+      for (int i = 0; i < row.length; i++) {
+        row[i] = (byte)(row[i] >>> 1);
+      }
+    }
+    additions /= 2;
+  }
+
+}
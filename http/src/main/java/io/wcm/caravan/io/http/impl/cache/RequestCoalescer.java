@@ -0,0 +1,101 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl.cache;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.lang3.StringUtils;
+
+import io.wcm.caravan.io.http.request.CaravanHttpRequest;
+import io.wcm.caravan.io.http.response.CaravanHttpResponse;
+import rx.Observable;
+
+/**
+ * Lets identical GET requests that are executed while another one is still in flight share the response of the
+ * request that was executed first. Every subscriber receives its own response instance with a repeatable body.
+ */
+public final class RequestCoalescer {
+
+  private final ConcurrentMap<String, Observable<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+
+  /**
+   * @param request Request
+   * @return true if the request may share the response of an identical request
+   */
+  public boolean isCoalescable(CaravanHttpRequest request) {
+    return StringUtils.isNotEmpty(request.getServiceId())
+        && "GET".equalsIgnoreCase(request.getMethod())
+        && request.getBody() == null;
+  }
+
+  /**
+   * @param request Coalescable request
+   * @param upstream Observable executing the request. It is only subscribed if no identical request is in flight.
+   * @return Observable emitting a copy of the shared response
+   */
+  public Observable<CaravanHttpResponse> execute(CaravanHttpRequest request, Observable<CaravanHttpResponse> upstream) {
+    String key = createKey(request);
+    return Observable.defer(() -> inFlight.computeIfAbsent(key, k -> createShared(k, upstream)))
+        .map(response -> response.toResponse());
+  }
+
+  /**
+   * @return Number of distinct requests currently in flight
+   */
+  public int getInFlightCount() {
+    return inFlight.size();
+  }
+
+  private Observable<CachedResponse> createShared(String key, Observable<CaravanHttpResponse> upstream) {
+    return upstream
+        .flatMap(response -> {
+          try {
+            return Observable.just(CachedResponse.of(response));
+          }
+          catch (IOException ex) {
+            return Observable.<CachedResponse>error(new IOException("Reading shared response for " + key + " failed", ex));
+          }
+        })
+        // the entry is still registered when the shared request terminates, so no other one can have replaced it
+        .doOnTerminate(() -> inFlight.remove(key))
+        .cache();
+  }
+
+  /**
+   * Builds the key from service ID, normalized URL and all request headers except the correlation ID.
+   */
+  static String createKey(CaravanHttpRequest request) {
+    List<String> headers = new ArrayList<>();
+    request.forEachHeader((name, value) -> {
+      if (!StringUtils.equalsIgnoreCase(name, CaravanHttpRequest.CORRELATION_ID_HEADER_NAME)) {
+        headers.add(name.toLowerCase(Locale.ENGLISH) + ':' + value);
+      }
+    });
+    Collections.sort(headers);
+    return CacheKey.primaryKey(request) + '\n' + StringUtils.join(headers, '\n');
+  }
+
+}
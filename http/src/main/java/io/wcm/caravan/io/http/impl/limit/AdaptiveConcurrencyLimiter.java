@@ -0,0 +1,143 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit of a service that adapts to the observed response times (TCP Vegas style): As long as the response
+ * times stay close to the minimum observed response time, the limit is increased. If requests start to queue up at the
+ * service, the response times grow and the limit is decreased. Failed requests back off the limit multiplicatively.
+ */
+final class AdaptiveConcurrencyLimiter {
+
+  static final int INITIAL_LIMIT = 20;
+  static final int MIN_LIMIT = 1;
+  static final double BACKOFF_RATIO = 0.9;
+  static final int PROBE_INTERVAL_SAMPLES = 1000;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private volatile int maxLimit;
+  private volatile int limit;
+
+  // guarded by this
+  private double estimatedLimit;
+  private long minRttNanos = Long.MAX_VALUE;
+  private int samplesSinceProbe;
+
+  /**
+   * @param maxLimit Upper bound of the concurrency limit
+   */
+  AdaptiveConcurrencyLimiter(int maxLimit) {
+    this.maxLimit = Math.max(MIN_LIMIT, maxLimit);
+    this.estimatedLimit = Math.min(INITIAL_LIMIT, this.maxLimit);
+    this.limit = (int)estimatedLimit;
+  }
+
+  /**
+   * Reserves a slot for a request.
+   * @return Number of requests in flight including this one, or -1 if the limit is reached
+   */
+  int tryAcquire() {
+    while (true) {
+      int current = inFlight.get();
+      if (current >= limit) {
+        return -1;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return current + 1;
+      }
+    }
+  }
+
+  /**
+   * Releases a slot without adapting the limit, e.g. for cancelled requests.
+   */
+  void release() {
+    inFlight.decrementAndGet();
+  }
+
+  /**
+   * Releases a slot and adapts the limit to the outcome of the request.
+   * @param rttNanos Response time of the request
+   * @param inFlightAtStart Number of requests in flight when the request was started
+   * @param dropped true if the request failed
+   */
+  void release(long rttNanos, int inFlightAtStart, boolean dropped) {
+    inFlight.decrementAndGet();
+    update(Math.max(1, rttNanos), inFlightAtStart, dropped);
+  }
+
+  private synchronized void update(long rttNanos, int inFlightAtStart, boolean dropped) {
+    double newLimit = estimatedLimit;
+    if (dropped) {
+      newLimit = estimatedLimit * BACKOFF_RATIO;
+    }
+    else {
+      // forget the minimum from time to time, as the service may have become slower for good
+      if (++samplesSinceProbe >= PROBE_INTERVAL_SAMPLES) {
+        samplesSinceProbe = 0;
+        minRttNanos = rttNanos;
+      }
+      minRttNanos = Math.min(minRttNanos, rttNanos);
+
+      // estimated number of requests queued up at the service
+      double queueSize = Math.ceil(estimatedLimit * (1 - (double)minRttNanos / rttNanos));
+      double log = Math.max(1, Math.log10(estimatedLimit));
+      boolean applicationLimited = inFlightAtStart * 2 < estimatedLimit;
+
+      if (queueSize <= log) {
+        newLimit = applicationLimited ? estimatedLimit : estimatedLimit + 6 * log;
+      }
+      else if (queueSize < 3 * log) {
+        newLimit = applicationLimited ? estimatedLimit : estimatedLimit + log;
+      }
+      else if (queueSize > 6 * log) {
+        newLimit = estimatedLimit - log;
+      }
+    }
+    estimatedLimit = Math.max(MIN_LIMIT, Math.min(maxLimit, newLimit));
+    limit = (int)estimatedLimit;
+  }
+
+  /**
+   * @param value Upper bound of the concurrency limit
+   */
+  synchronized void setMaxLimit(int value) {
+    maxLimit = Math.max(MIN_LIMIT, value);
+    if (estimatedLimit > maxLimit) {
+      estimatedLimit = maxLimit;
+      limit = maxLimit;
+    }
+  }
+
+  int getMaxLimit() {
+    return maxLimit;
+  }
+
+  int getLimit() {
+    return limit;
+  }
+
+  int getInFlight() {
+    return inFlight.get();
+  }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl.limit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+import io.wcm.caravan.io.http.ConcurrencyLimitExceededRuntimeException;
+import io.wcm.caravan.io.http.impl.CaravanHttpServiceConfigValidator;
+import io.wcm.caravan.io.http.request.CaravanHttpRequest;
+import io.wcm.caravan.io.http.response.CaravanHttpResponse;
+import rx.Observable;
+
+/**
+ * Adaptive concurrency limits per service ID. Requests exceeding the limit of their service are rejected with a
+ * {@link ConcurrencyLimitExceededRuntimeException} before they are sent.
+ */
+public final class ConcurrencyLimiters {
+
+  private final ConcurrentMap<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+  private final LongSupplier clock;
+
+  /**
+   * Default constructor
+   */
+  public ConcurrencyLimiters() {
+    this(System::nanoTime);
+  }
+
+  ConcurrencyLimiters(LongSupplier clock) {
+    this.clock = clock;
+  }
+
+  /**
+   * @param request Request
+   * @param response Observable executing the request
+   * @return Observable rejecting the request if the concurrency limit of the service is reached, or the given
+   *         observable if no adaptive concurrency limit is configured for the service
+   */
+  public Observable<CaravanHttpResponse> limit(CaravanHttpRequest request, Observable<CaravanHttpResponse> response) {
+    String serviceId = request.getServiceId();
+    if (serviceId == null || !CaravanHttpServiceConfigValidator.isAdaptiveConcurrencyLimit(serviceId)) {
+      return response;
+    }
+    AdaptiveConcurrencyLimiter limiter = get(serviceId, CaravanHttpServiceConfigValidator.getMaxConcurrentRequests(serviceId));
+    return Observable.defer(() -> {
+      int inFlight = limiter.tryAcquire();
+      if (inFlight < 0) {
+        return Observable.<CaravanHttpResponse>error(new ConcurrencyLimitExceededRuntimeException(request,
+            "Concurrency limit of " + limiter.getLimit() + " requests in flight reached", null));
+      }
+      long start = clock.getAsLong();
+      AtomicBoolean released = new AtomicBoolean();
+      return response
+          .doOnNext(next -> {
+            if (released.compareAndSet(false, true)) {
+              limiter.release(clock.getAsLong() - start, inFlight, false);
+            }
+          })
+          .doOnError(ex -> {
+            if (released.compareAndSet(false, true)) {
+              limiter.release(clock.getAsLong() - start, inFlight, true);
+            }
+          })
+          .doOnUnsubscribe(() -> {
+            if (released.compareAndSet(false, true)) {
+              limiter.release();
+            }
+          });
+    });
+  }
+
+  AdaptiveConcurrencyLimiter get(String serviceId, int maxLimit) {
+    AdaptiveConcurrencyLimiter limiter = limiters.computeIfAbsent(serviceId, id -> new AdaptiveConcurrencyLimiter(maxLimit));
+    if (limiter.getMaxLimit() != Math.max(AdaptiveConcurrencyLimiter.MIN_LIMIT, maxLimit)) {
+      limiter.setMaxLimit(maxLimit);
+    }
+    return limiter;
+  }
+
+}
@@ -0,0 +1,70 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl.pool;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+import com.codahale.metrics.Timer;
+
+/**
+ * Blocking connection pool that records the time threads wait for a connection to be leased.
+ */
+class LeaseTimingConnectionManager extends PoolingHttpClientConnectionManager {
+
+  private final Timer leaseWait;
+
+  LeaseTimingConnectionManager(long connectionTtlMs, Timer leaseWait) {
+    super(connectionTtlMs > 0 ? connectionTtlMs : -1, TimeUnit.MILLISECONDS);
+    this.leaseWait = leaseWait;
+  }
+
+  @Override
+  public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+    ConnectionRequest request = super.requestConnection(route, state);
+    return new ConnectionRequest() {
+
+      @Override
+      public boolean cancel() {
+        return request.cancel();
+      }
+
+      @Override
+      public HttpClientConnection get(long timeout, TimeUnit tunit)
+          throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+        Timer.Context context = leaseWait.time();
+        try {
+          return request.get(timeout, tunit);
+        }
+        finally {
+          context.stop();
+        }
+      }
+
+    };
+  }
+
+}
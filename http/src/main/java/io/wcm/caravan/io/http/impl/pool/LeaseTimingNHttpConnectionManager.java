@@ -0,0 +1,91 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl.pool;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.DefaultSchemePortResolver;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import org.apache.http.impl.nio.conn.ManagedNHttpClientConnectionFactory;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.nio.NHttpClientConnection;
+import org.apache.http.nio.conn.NoopIOSessionStrategy;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
+import org.apache.http.nio.reactor.ConnectingIOReactor;
+
+import com.codahale.metrics.Timer;
+
+/**
+ * Asynchronous connection pool that records the time until a requested connection is leased. For new connections
+ * this includes establishing the connection.
+ */
+class LeaseTimingNHttpConnectionManager extends PoolingNHttpClientConnectionManager {
+
+  private final Timer leaseWait;
+
+  LeaseTimingNHttpConnectionManager(ConnectingIOReactor ioReactor, long connectionTtlMs, Timer leaseWait) {
+    super(ioReactor, ManagedNHttpClientConnectionFactory.INSTANCE,
+        RegistryBuilder.<SchemeIOSessionStrategy>create()
+        .register("http", NoopIOSessionStrategy.INSTANCE)
+        .register("https", SSLIOSessionStrategy.getSystemDefaultStrategy())
+        .build(),
+        DefaultSchemePortResolver.INSTANCE, SystemDefaultDnsResolver.INSTANCE,
+        connectionTtlMs > 0 ? connectionTtlMs : -1, TimeUnit.MILLISECONDS);
+    this.leaseWait = leaseWait;
+  }
+
+  @Override
+  public Future<NHttpClientConnection> requestConnection(HttpRoute route, Object state, long connectTimeout, long leaseTimeout,
+      TimeUnit tunit, FutureCallback<NHttpClientConnection> callback) {
+    Timer.Context context = leaseWait.time();
+    return super.requestConnection(route, state, connectTimeout, leaseTimeout, tunit, new FutureCallback<NHttpClientConnection>() {
+
+      @Override
+      public void completed(NHttpClientConnection result) {
+        context.stop();
+        if (callback != null) {
+          callback.completed(result);
+        }
+      }
+
+      @Override
+      public void failed(Exception ex) {
+        context.stop();
+        if (callback != null) {
+          callback.failed(ex);
+        }
+      }
+
+      @Override
+      public void cancelled() {
+        if (callback != null) {
+          callback.cancelled();
+        }
+      }
+
+    });
+  }
+
+}
@@ -0,0 +1,244 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl.pool;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.pool.ConnPoolControl;
+import org.apache.http.pool.PoolStats;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+
+/**
+ * Dedicated blocking and asynchronous connection pools of a single service. Each client and its pool is created on
+ * first use.
+ */
+public final class ServiceConnectionPool implements Closeable {
+
+  private static final String METRICS_PREFIX = "caravan.http.pool.";
+  private static final String[] METRIC_NAMES = new String[] {
+      "leased", "pending", "available", "leaseWait"
+  };
+
+  private final String serviceId;
+  private final int connectionTtlMs;
+  private final Timer leaseWait = new Timer();
+
+  private int maxConnectionsPerRoute;
+  private int maxTotalConnections;
+
+  private LeaseTimingConnectionManager connectionManager;
+  private volatile CloseableHttpClient httpClient;
+  private LeaseTimingNHttpConnectionManager asyncConnectionManager;
+  private volatile CloseableHttpAsyncClient httpAsyncClient;
+  private boolean closed;
+
+  ServiceConnectionPool(String serviceId, int maxConnectionsPerRoute, int maxTotalConnections, int connectionTtlMs) {
+    this.serviceId = serviceId;
+    this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+    this.maxTotalConnections = maxTotalConnections;
+    this.connectionTtlMs = connectionTtlMs;
+  }
+
+  /**
+   * @return Blocking HTTP client using this pool
+   */
+  public CloseableHttpClient getHttpClient() {
+    CloseableHttpClient client = httpClient;
+    if (client != null) {
+      return client;
+    }
+    synchronized (this) {
+      checkOpen();
+      if (httpClient == null) {
+        connectionManager = new LeaseTimingConnectionManager(connectionTtlMs, leaseWait);
+        applyLimits(connectionManager);
+        httpClient = HttpClients.custom().setConnectionManager(connectionManager).build();
+      }
+      return httpClient;
+    }
+  }
+
+  /**
+   * @return Asynchronous HTTP client using this pool
+   * @throws IOException if the I/O reactor could not be created
+   */
+  public CloseableHttpAsyncClient getHttpAsyncClient() throws IOException {
+    CloseableHttpAsyncClient client = httpAsyncClient;
+    if (client != null) {
+      return client;
+    }
+    synchronized (this) {
+      checkOpen();
+      if (httpAsyncClient == null) {
+        asyncConnectionManager = new LeaseTimingNHttpConnectionManager(new DefaultConnectingIOReactor(IOReactorConfig.DEFAULT),
+            connectionTtlMs, leaseWait);
+        applyLimits(asyncConnectionManager);
+        CloseableHttpAsyncClient newClient = HttpAsyncClients.custom().setConnectionManager(asyncConnectionManager).build();
+        newClient.start();
+        httpAsyncClient = newClient;
+      }
+      return httpAsyncClient;
+    }
+  }
+
+  private void checkOpen() {
+    if (closed) {
+      throw new IllegalStateException("Connection pool of service " + serviceId + " is closed.");
+    }
+  }
+
+  int getConnectionTtlMs() {
+    return connectionTtlMs;
+  }
+
+  synchronized boolean isClosed() {
+    return closed;
+  }
+
+  /**
+   * Applies changed limits to the existing pools.
+   * @param newMaxConnectionsPerRoute Max. connections per route
+   * @param newMaxTotalConnections Max. total connections, 0 = limited per route only
+   */
+  synchronized void setLimits(int newMaxConnectionsPerRoute, int newMaxTotalConnections) {
+    if (newMaxConnectionsPerRoute == maxConnectionsPerRoute && newMaxTotalConnections == maxTotalConnections) {
+      return;
+    }
+    maxConnectionsPerRoute = newMaxConnectionsPerRoute;
+    maxTotalConnections = newMaxTotalConnections;
+    if (connectionManager != null) {
+      applyLimits(connectionManager);
+    }
+    if (asyncConnectionManager != null) {
+      applyLimits(asyncConnectionManager);
+    }
+  }
+
+  private void applyLimits(ConnPoolControl<HttpRoute> pool) {
+    pool.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+    pool.setMaxTotal(maxTotalConnections > 0 ? maxTotalConnections : Integer.MAX_VALUE);
+  }
+
+  /**
+   * Closes expired connections and connections that were idle for the given time.
+   * @param idleConnectionTimeoutMs Idle timeout, 0 = keep idle connections
+   */
+  synchronized void evictConnections(int idleConnectionTimeoutMs) {
+    if (connectionManager != null) {
+      connectionManager.closeExpiredConnections();
+      if (idleConnectionTimeoutMs > 0) {
+        connectionManager.closeIdleConnections(idleConnectionTimeoutMs, TimeUnit.MILLISECONDS);
+      }
+    }
+    if (asyncConnectionManager != null) {
+      asyncConnectionManager.closeExpiredConnections();
+      if (idleConnectionTimeoutMs > 0) {
+        asyncConnectionManager.closeIdleConnections(idleConnectionTimeoutMs, TimeUnit.MILLISECONDS);
+      }
+    }
+  }
+
+  /**
+   * @return Number of connections currently leased
+   */
+  public int getLeased() {
+    return getTotalStats(PoolStats::getLeased);
+  }
+
+  /**
+   * @return Number of requests waiting for a connection
+   */
+  public int getPending() {
+    return getTotalStats(PoolStats::getPending);
+  }
+
+  /**
+   * @return Number of idle connections in the pool
+   */
+  public int getAvailable() {
+    return getTotalStats(PoolStats::getAvailable);
+  }
+
+  /**
+   * @return Time requests waited for a connection to be leased
+   */
+  public Timer getLeaseWait() {
+    return leaseWait;
+  }
+
+  private synchronized int getTotalStats(ToIntFunction<PoolStats> value) {
+    int total = 0;
+    if (connectionManager != null) {
+      total += value.applyAsInt(connectionManager.getTotalStats());
+    }
+    if (asyncConnectionManager != null) {
+      total += value.applyAsInt(asyncConnectionManager.getTotalStats());
+    }
+    return total;
+  }
+
+  /**
+   * Registers the pool gauges and the lease wait timer in the given registry.
+   * @param metricRegistry Metric registry
+   */
+  void registerMetrics(MetricRegistry metricRegistry) {
+    String prefix = METRICS_PREFIX + serviceId + ".";
+    metricRegistry.register(prefix + "leased", (Gauge<Integer>)this::getLeased);
+    metricRegistry.register(prefix + "pending", (Gauge<Integer>)this::getPending);
+    metricRegistry.register(prefix + "available", (Gauge<Integer>)this::getAvailable);
+    metricRegistry.register(prefix + "leaseWait", leaseWait);
+  }
+
+  /**
+   * Removes the metrics registered by {@link #registerMetrics(MetricRegistry)}.
+   * @param metricRegistry Metric registry
+   */
+  void unregisterMetrics(MetricRegistry metricRegistry) {
+    for (String name : METRIC_NAMES) {
+      metricRegistry.remove(METRICS_PREFIX + serviceId + "." + name);
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+    closed = true;
+    IOUtils.closeQuietly(httpClient);
+    IOUtils.closeQuietly(httpAsyncClient);
+    httpClient = null;
+    httpAsyncClient = null;
+    connectionManager = null;
+    asyncConnectionManager = null;
+  }
+
+}
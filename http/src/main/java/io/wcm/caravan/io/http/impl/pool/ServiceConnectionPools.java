@@ -0,0 +1,164 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl.pool;
+
+import java.io.Closeable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.codahale.metrics.MetricRegistry;
+
+import io.wcm.caravan.io.http.impl.CaravanHttpServiceConfigValidator;
+
+/**
+ * Manages the dedicated connection pools of all services that have "http.maxConnectionsPerRoute" configured. Changed
+ * limits are applied to the existing pools, a changed connection TTL replaces the pool. Replaced and removed pools are
+ * retired: requests already holding them can finish, and they are closed once no connection is leased any more or the
+ * grace period is over. Expired and idle connections are evicted in the background.
+ */
+public final class ServiceConnectionPools implements Closeable {
+
+  static final long EVICTION_INTERVAL_MS = 5000;
+  static final long RETIRED_POOL_GRACE_PERIOD_MS = 60000;
+
+  private static final Logger LOG = LoggerFactory.getLogger(ServiceConnectionPools.class);
+
+  private final Map<String, ServiceConnectionPool> pools = new ConcurrentHashMap<>();
+  private final Map<ServiceConnectionPool, Long> retiredPools = new ConcurrentHashMap<>();
+  private final MetricRegistry metricRegistry;
+  private final ScheduledExecutorService evictor;
+
+  /**
+   * @param metricRegistry Registry for the pool metrics, may be null
+   */
+  public ServiceConnectionPools(MetricRegistry metricRegistry) {
+    this.metricRegistry = metricRegistry;
+    this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "caravan-http-pool-evictor");
+      thread.setDaemon(true);
+      return thread;
+    });
+    evictor.scheduleWithFixedDelay(this::evictConnections, EVICTION_INTERVAL_MS, EVICTION_INTERVAL_MS, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * @param serviceId Service ID
+   * @return Dedicated connection pool of the service, or null if the shared connection pool is to be used
+   */
+  public ServiceConnectionPool get(String serviceId) {
+    if (serviceId == null) {
+      return null;
+    }
+    int maxConnectionsPerRoute = CaravanHttpServiceConfigValidator.getMaxConnectionsPerRoute(serviceId);
+    if (maxConnectionsPerRoute <= 0) {
+      remove(serviceId);
+      return null;
+    }
+    int maxTotalConnections = CaravanHttpServiceConfigValidator.getMaxTotalConnections(serviceId);
+    int connectionTtlMs = CaravanHttpServiceConfigValidator.getConnectionTtlMs(serviceId);
+
+    ServiceConnectionPool pool = pools.get(serviceId);
+    if (pool == null || pool.getConnectionTtlMs() != connectionTtlMs) {
+      pool = pools.compute(serviceId, (id, existing) -> {
+        if (existing != null && existing.getConnectionTtlMs() == connectionTtlMs) {
+          return existing;
+        }
+        if (existing != null) {
+          retire(id, existing);
+        }
+        LOG.info("Creating connection pool for service {} with {} connections per route", id, maxConnectionsPerRoute);
+        ServiceConnectionPool newPool = new ServiceConnectionPool(id, maxConnectionsPerRoute, maxTotalConnections, connectionTtlMs);
+        if (metricRegistry != null) {
+          newPool.registerMetrics(metricRegistry);
+        }
+        return newPool;
+      });
+    }
+    pool.setLimits(maxConnectionsPerRoute, maxTotalConnections);
+    return pool;
+  }
+
+  private void remove(String serviceId) {
+    ServiceConnectionPool pool = pools.remove(serviceId);
+    if (pool != null) {
+      retire(serviceId, pool);
+    }
+  }
+
+  private void retire(String serviceId, ServiceConnectionPool pool) {
+    LOG.info("Retiring connection pool for service {}", serviceId);
+    if (metricRegistry != null) {
+      pool.unregisterMetrics(metricRegistry);
+    }
+    retiredPools.put(pool, System.currentTimeMillis());
+  }
+
+  /**
+   * Closes retired pools without leased connections, and all retired pools older than the grace period. A pool is
+   * retired for at least one eviction interval, so requests that obtained it just before can still lease a connection.
+   * @param now Current time in ms
+   */
+  void closeRetiredPools(long now) {
+    retiredPools.forEach((pool, retiredAt) -> {
+      long age = now - retiredAt;
+      boolean drained = age >= EVICTION_INTERVAL_MS && pool.getLeased() == 0 && pool.getPending() == 0;
+      if (drained || age >= RETIRED_POOL_GRACE_PERIOD_MS) {
+        retiredPools.remove(pool);
+        pool.close();
+      }
+    });
+  }
+
+  void evictConnections() {
+    pools.forEach((serviceId, pool) -> {
+      try {
+        pool.evictConnections(CaravanHttpServiceConfigValidator.getIdleConnectionTimeoutMs(serviceId));
+      }
+      // CHECKSTYLE:OFF - the evictor thread must not die
+      catch (RuntimeException ex) {
+        // CHECKSTYLE:ON
+        LOG.warn("Evicting connections of service " + serviceId + " failed.", ex);
+      }
+    });
+    try {
+      closeRetiredPools(System.currentTimeMillis());
+    }
+    // CHECKSTYLE:OFF - the evictor thread must not die
+    catch (RuntimeException ex) {
+      // CHECKSTYLE:ON
+      LOG.warn("Closing retired connection pools failed.", ex);
+    }
+  }
+
+  @Override
+  public void close() {
+    evictor.shutdownNow();
+    pools.keySet().forEach(this::remove);
+    retiredPools.keySet().forEach(ServiceConnectionPool::close);
+    retiredPools.clear();
+  }
+
+}
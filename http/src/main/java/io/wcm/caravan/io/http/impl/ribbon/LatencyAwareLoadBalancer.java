@@ -0,0 +1,318 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl.ribbon;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.netflix.client.IClientConfigAware;
+import com.netflix.client.config.CommonClientConfigKey;
+import com.netflix.client.config.IClientConfig;
+import com.netflix.loadbalancer.ILoadBalancer;
+import com.netflix.loadbalancer.Server;
+
+import rx.Observable;
+
+/**
+ * Load balancer choosing servers by the power of two choices: Two random reachable servers are compared and the one
+ * with the lower product of its exponentially weighted moving average (EWMA) response time and its number of requests
+ * in flight is chosen. Response times decay while a server is not chosen, so slow servers get new requests after a
+ * while and can prove that they have recovered. Servers marked down are excluded for
+ * {@link #DOWN_SERVER_RETRY_NANOS} and are then chosen again.
+ * <p>
+ * Choosing a server is lock-free, changing the server list copies it. The servers are read from the
+ * "listOfServers" client configuration of the service. The requests have to be tracked with
+ * {@link #track(Server, Observable)}.
+ * </p>
+ */
+public class LatencyAwareLoadBalancer implements ILoadBalancer, IClientConfigAware {
+
+  /**
+   * Weight of a new response time in the moving average
+   */
+  static final double EWMA_ALPHA = 0.3;
+
+  /**
+   * Time after which the moving average of a server that was not requested has decayed to 1/e
+   */
+  static final long DECAY_TIME_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+  /**
+   * Time after which a server marked down is considered alive again, same as the default ping interval of Ribbon
+   */
+  static final long DOWN_SERVER_RETRY_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+  private final LongSupplier nanoClock;
+  private volatile List<ServerState> servers = Collections.emptyList();
+
+  /**
+   * Constructor used by Ribbon, followed by {@link #initWithNiwsConfig(IClientConfig)}.
+   */
+  public LatencyAwareLoadBalancer() {
+    this(System::nanoTime);
+  }
+
+  LatencyAwareLoadBalancer(LongSupplier nanoClock) {
+    this.nanoClock = nanoClock;
+  }
+
+  @Override
+  public void initWithNiwsConfig(IClientConfig clientConfig) {
+    String listOfServers = clientConfig.get(CommonClientConfigKey.ListOfServers);
+    List<Server> configuredServers = new ArrayList<>();
+    for (String hostPort : StringUtils.split(StringUtils.defaultString(listOfServers), ',')) {
+      if (StringUtils.isNotBlank(hostPort)) {
+        configuredServers.add(new Server(hostPort.trim()));
+      }
+    }
+    addServers(configuredServers);
+  }
+
+  @Override
+  public synchronized void addServers(List<Server> newServers) {
+    List<ServerState> updated = new ArrayList<>(servers);
+    for (Server server : newServers) {
+      if (updated.stream().noneMatch(state -> state.server.equals(server))) {
+        // servers are not pinged, so they are alive until marked down (like in BaseLoadBalancer without ping)
+        server.setAlive(true);
+        updated.add(new ServerState(server, nanoClock.getAsLong()));
+      }
+    }
+    servers = Collections.unmodifiableList(updated);
+  }
+
+  @Override
+  public Server chooseServer(Object key) {
+    List<ServerState> candidates = servers;
+    int size = candidates.size();
+    if (size == 0) {
+      return null;
+    }
+    long now = nanoClock.getAsLong();
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int firstIndex = random.nextInt(size);
+    ServerState first = candidates.get(firstIndex);
+    if (size == 1) {
+      return first.isAlive(now) ? first.server : null;
+    }
+    int secondIndex = random.nextInt(size - 1);
+    if (secondIndex >= firstIndex) {
+      secondIndex++;
+    }
+    ServerState second = candidates.get(secondIndex);
+
+    boolean firstAlive = first.isAlive(now);
+    boolean secondAlive = second.isAlive(now);
+    if (!firstAlive || !secondAlive) {
+      return chooseAmongAlive(candidates, firstAlive ? first : null, secondAlive ? second : null, now);
+    }
+    return first.getScore(now) <= second.getScore(now) ? first.server : second.server;
+  }
+
+  private Server chooseAmongAlive(List<ServerState> candidates, ServerState first, ServerState second, long now) {
+    if (first != null) {
+      return first.server;
+    }
+    if (second != null) {
+      return second.server;
+    }
+    return candidates.stream()
+        .filter(state -> state.isAlive(now))
+        .min((state1, state2) -> Double.compare(state1.getScore(now), state2.getScore(now)))
+        .map(state -> state.server)
+        .orElse(null);
+  }
+
+  @Override
+  public void markServerDown(Server server) {
+    server.setAlive(false);
+    ServerState state = getState(server);
+    if (state != null) {
+      state.downSinceNanos = nanoClock.getAsLong();
+      state.server.setAlive(false);
+    }
+  }
+
+  @Override
+  @Deprecated
+  public List<Server> getServerList(boolean availableOnly) {
+    return availableOnly ? getReachableServers() : getAllServers();
+  }
+
+  @Override
+  public List<Server> getReachableServers() {
+    long now = nanoClock.getAsLong();
+    return servers.stream()
+        .filter(state -> state.isAlive(now))
+        .map(state -> state.server)
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public List<Server> getAllServers() {
+    return servers.stream()
+        .map(state -> state.server)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Counts the request as in flight on the server while the observable is subscribed and updates the response time
+   * average of the server when it emits.
+   * @param server Server the request is sent to
+   * @param observable Observable executing the request
+   * @param <T> Response type
+   * @return Tracked observable
+   */
+  public <T> Observable<T> track(Server server, Observable<T> observable) {
+    ServerState state = getState(server);
+    if (state == null) {
+      return observable;
+    }
+    return Observable.defer(() -> {
+      Call call = new Call(state, nanoClock.getAsLong());
+      return observable
+          .doOnNext(response -> call.complete(false))
+          .doOnError(ex -> call.complete(true))
+          .doOnUnsubscribe(call::cancel);
+    });
+  }
+
+  int getInFlight(Server server) {
+    ServerState state = getState(server);
+    return state != null ? state.inFlight.get() : 0;
+  }
+
+  double getAverageResponseTimeNanos(Server server) {
+    ServerState state = getState(server);
+    return state != null ? state.getAverage(nanoClock.getAsLong()) : 0;
+  }
+
+  private ServerState getState(Server server) {
+    for (ServerState state : servers) {
+      if (state.server.equals(server)) {
+        return state;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * A single request to a server, completed exactly once.
+   */
+  private final class Call {
+
+    private final ServerState state;
+    private final long startNanos;
+    private final AtomicBoolean done = new AtomicBoolean();
+
+    Call(ServerState state, long startNanos) {
+      this.state = state;
+      this.startNanos = startNanos;
+      state.inFlight.incrementAndGet();
+    }
+
+    void complete(boolean failed) {
+      if (done.compareAndSet(false, true)) {
+        state.inFlight.decrementAndGet();
+        long now = nanoClock.getAsLong();
+        long responseTime = now - startNanos;
+        // failures count at least twice the current average, so failing servers are avoided even if they fail fast
+        state.update(failed ? Math.max(responseTime, 2 * state.getAverage(now)) : responseTime, now);
+      }
+    }
+
+    void cancel() {
+      // the response time of cancelled requests is unknown
+      if (done.compareAndSet(false, true)) {
+        state.inFlight.decrementAndGet();
+      }
+    }
+
+  }
+
+  /**
+   * Lock-free statistics of a server.
+   */
+  private static final class ServerState {
+
+    private final Server server;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong averageBits = new AtomicLong(Double.doubleToRawLongBits(0));
+    private volatile long lastUpdateNanos;
+    private volatile long downSinceNanos;
+
+    ServerState(Server server, long nowNanos) {
+      this.server = server;
+      this.lastUpdateNanos = nowNanos;
+      this.downSinceNanos = nowNanos;
+    }
+
+    boolean isAlive(long nowNanos) {
+      if (server.isAlive()) {
+        return true;
+      }
+      // give servers marked down a new chance after the retry interval
+      if (nowNanos - downSinceNanos >= DOWN_SERVER_RETRY_NANOS) {
+        server.setAlive(true);
+        return true;
+      }
+      return false;
+    }
+
+    double getAverage(long nowNanos) {
+      return Double.longBitsToDouble(averageBits.get()) * getDecay(nowNanos);
+    }
+
+    private double getDecay(long nowNanos) {
+      long age = Math.max(0, nowNanos - lastUpdateNanos);
+      return Math.exp(-(double)age / DECAY_TIME_NANOS);
+    }
+
+    double getScore(long nowNanos) {
+      // +1 so that servers without observed response times are still compared by their requests in flight
+      return (getAverage(nowNanos) + 1) * (inFlight.get() + 1);
+    }
+
+    void update(double responseTimeNanos, long nowNanos) {
+      double decay = getDecay(nowNanos);
+      long previousBits;
+      double updated;
+      do {
+        previousBits = averageBits.get();
+        double previous = Double.longBitsToDouble(previousBits) * decay;
+        updated = previous == 0 ? responseTimeNanos : previous + EWMA_ALPHA * (responseTimeNanos - previous);
+      }
+      while (!averageBits.compareAndSet(previousBits, Double.doubleToRawLongBits(updated)));
+      lastUpdateNanos = nowNanos;
+    }
+
+  }
+
+}
@@ -20,13 +20,16 @@
 package io.wcm.caravan.io.http.impl.ribbon;
 
 import java.util.List;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Reference;
 import org.apache.felix.scr.annotations.Service;
 
+import com.google.common.collect.Maps;
 import com.netflix.client.ClientFactory;
+import com.netflix.client.RetryHandler;
 import com.netflix.client.config.DefaultClientConfigImpl;
 import com.netflix.client.config.IClientConfig;
 import com.netflix.loadbalancer.ILoadBalancer;
@@ -34,6 +37,8 @@ import com.netflix.loadbalancer.Server;
 import com.netflix.loadbalancer.reactive.LoadBalancerCommand;
 
 import io.wcm.caravan.io.http.RequestInstantiationRuntimeException;
+import io.wcm.caravan.io.http.impl.ServiceSettings;
+import io.wcm.caravan.io.http.impl.ServiceSettingsRegistry;
 import io.wcm.caravan.io.http.response.CaravanHttpResponse;
 
 /**
@@ -43,23 +48,93 @@ import io.wcm.caravan.io.http.response.CaravanHttpResponse;
 @Service(LoadBalancerCommandFactory.class)
 public class LoadBalancerCommandFactory {
 
+  private static final int MAX_CHOOSE_ATTEMPTS = 3;
+
   @Reference(target = "(type=" + LoadBalancerFactory.CACHING + ")")
   private LoadBalancerFactory loadBalancerFactory;
 
+  private final ConcurrentMap<String, CommandTemplate> templates = Maps.newConcurrentMap();
+
   /**
    * @param serviceId Logical name of the HTTP service
    * @return Hystrix command to execute a HTTP request with load balancer
    */
   public LoadBalancerCommand<CaravanHttpResponse> createCommand(String serviceId) {
+    return createCommandBuilder(serviceId).build();
+  }
+
+  /**
+   * @param serviceId Logical name of the HTTP service
+   * @param server Server to execute the request on, retries are only done on this server
+   * @return Hystrix command to execute a HTTP request on the given server
+   */
+  public LoadBalancerCommand<CaravanHttpResponse> createCommand(String serviceId, Server server) {
+    return createCommandBuilder(serviceId)
+        .withServer(server)
+        .build();
+  }
+
+  private LoadBalancerCommand.Builder<CaravanHttpResponse> createCommandBuilder(String serviceId) {
+
+    CommandTemplate template = getTemplate(serviceId);
+
+    return LoadBalancerCommand.<CaravanHttpResponse>builder()
+        .withLoadBalancer(template.loadBalancer)
+        .withClientConfig(template.config)
+        .withRetryHandler(template.retryHandler);
+
+  }
+
+  /**
+   * Gets the client configuration, retry handler and load balancer of the service. They are built once and rebuilt
+   * when the settings snapshot of the service changes, i.e. when its configuration was changed.
+   * @param serviceId Logical name of the HTTP service
+   * @return Command template of the service
+   */
+  CommandTemplate getTemplate(String serviceId) {
+
+    ServiceSettings settings = ServiceSettingsRegistry.get(serviceId);
+    CommandTemplate template = templates.get(serviceId);
+    if (template != null && template.settings == settings) {
+      return template;
+    }
 
     ILoadBalancer loadBalancer = loadBalancerFactory.getLoadBalancer(serviceId);
     IClientConfig config = ClientFactory.getNamedConfig(serviceId, DefaultClientConfigImpl.class);
+    template = new CommandTemplate(settings, loadBalancer, config, new CaravanLoadBalancerRetryHandler(config));
+    templates.put(serviceId, template);
+    return template;
 
-    return LoadBalancerCommand.<CaravanHttpResponse>builder()
-        .withLoadBalancer(loadBalancer)
-        .withClientConfig(config)
-        .withRetryHandler(new CaravanLoadBalancerRetryHandler(config))
-        .build();
+  }
+
+  /**
+   * @param serviceId Logical name of the HTTP service
+   * @return Load balancer of the service
+   */
+  public ILoadBalancer getLoadBalancer(String serviceId) {
+    return loadBalancerFactory.getLoadBalancer(serviceId);
+  }
+
+  /**
+   * Chooses a server with the load balancer of the service, avoiding the given server.
+   * @param serviceId Logical name of the HTTP service
+   * @param excludedServer Server not to choose, e.g. because it is already processing the request
+   * @return Other server or null if the service has no other reachable server
+   */
+  public Server chooseOtherServer(String serviceId, Server excludedServer) {
+
+    ILoadBalancer loadBalancer = loadBalancerFactory.getLoadBalancer(serviceId);
+    for (int i = 0; i < MAX_CHOOSE_ATTEMPTS; i++) {
+      Server server = loadBalancer.chooseServer(null);
+      if (server != null && !server.equals(excludedServer)) {
+        return server;
+      }
+    }
+    // the rule keeps choosing the excluded server, so take any other one
+    return loadBalancer.getReachableServers().stream()
+        .filter(server -> !server.equals(excludedServer))
+        .findFirst()
+        .orElse(null);
 
   }
 
@@ -83,4 +158,36 @@ public class LoadBalancerCommandFactory {
 
   }
 
+  /**
+   * Per-service inputs of the load balancer commands. The commands themselves keep execution state and are
+   * created per request.
+   */
+  static final class CommandTemplate {
+
+    private final ServiceSettings settings;
+    private final ILoadBalancer loadBalancer;
+    private final IClientConfig config;
+    private final RetryHandler retryHandler;
+
+    CommandTemplate(ServiceSettings settings, ILoadBalancer loadBalancer, IClientConfig config, RetryHandler retryHandler) {
+      this.settings = settings;
+      this.loadBalancer = loadBalancer;
+      this.config = config;
+      this.retryHandler = retryHandler;
+    }
+
+    ILoadBalancer getLoadBalancer() {
+      return this.loadBalancer;
+    }
+
+    IClientConfig getConfig() {
+      return this.config;
+    }
+
+    RetryHandler getRetryHandler() {
+      return this.retryHandler;
+    }
+
+  }
+
 }
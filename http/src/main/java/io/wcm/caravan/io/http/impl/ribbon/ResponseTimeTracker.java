@@ -0,0 +1,71 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl.ribbon;
+
+import java.util.function.LongSupplier;
+
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.Histogram;
+
+/**
+ * Tracks the response times of a service to derive the hedge delay. The 95th percentile is biased to the last five
+ * minutes and recalculated at most once per second, as taking a snapshot of the reservoir is comparatively expensive.
+ */
+final class ResponseTimeTracker {
+
+  static final int MIN_SAMPLES = 20;
+  static final long REFRESH_INTERVAL_MS = 1000;
+
+  private final Histogram histogram = new Histogram(new ExponentiallyDecayingReservoir());
+  private final LongSupplier clock;
+  private volatile long percentile95 = -1;
+  private volatile long refreshedAt;
+
+  ResponseTimeTracker() {
+    this(System::currentTimeMillis);
+  }
+
+  ResponseTimeTracker(LongSupplier clock) {
+    this.clock = clock;
+  }
+
+  /**
+   * @param responseTimeMs Response time of a successful request
+   */
+  void update(long responseTimeMs) {
+    histogram.update(responseTimeMs);
+  }
+
+  /**
+   * @return 95th percentile of the response times in milliseconds, or -1 if not enough responses were observed yet
+   */
+  long get95thPercentile() {
+    if (histogram.getCount() < MIN_SAMPLES) {
+      return -1;
+    }
+    long now = clock.getAsLong();
+    if (percentile95 < 0 || now - refreshedAt >= REFRESH_INTERVAL_MS) {
+      refreshedAt = now;
+      percentile95 = Math.round(histogram.getSnapshot().get95thPercentile());
+    }
+    return percentile95;
+  }
+
+}
@@ -19,6 +19,13 @@
  */
 package io.wcm.caravan.io.http.impl.ribbon;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.apache.commons.lang3.StringUtils;
 import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Reference;
@@ -26,20 +33,23 @@ import org.apache.felix.scr.annotations.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.base.Stopwatch;
+import com.netflix.loadbalancer.ILoadBalancer;
 import com.netflix.loadbalancer.Server;
 import com.netflix.loadbalancer.reactive.LoadBalancerCommand;
 import com.netflix.loadbalancer.reactive.ServerOperation;
 
 import io.wcm.caravan.io.http.CaravanHttpClient;
 import io.wcm.caravan.io.http.impl.ApacheHttpClient;
-import io.wcm.caravan.io.http.impl.ArchaiusConfig;
-import io.wcm.caravan.io.http.impl.CaravanHttpServiceConfig;
+import io.wcm.caravan.io.http.impl.CaravanHttpFutures;
 import io.wcm.caravan.io.http.impl.CaravanHttpServiceConfigValidator;
 import io.wcm.caravan.io.http.impl.RequestUtil;
+import io.wcm.caravan.io.http.impl.ResolvedRequest;
+import io.wcm.caravan.io.http.impl.ServiceSettingsRegistry;
 import io.wcm.caravan.io.http.request.CaravanHttpRequest;
-import io.wcm.caravan.io.http.request.CaravanHttpRequestBuilder;
 import io.wcm.caravan.io.http.response.CaravanHttpResponse;
 import rx.Observable;
+import rx.schedulers.Schedulers;
 
 /**
  * Delegating implementation using Ribbon to determine full request URL.
@@ -55,11 +65,60 @@ public class RibbonHttpClient implements CaravanHttpClient {
   @Reference
   private ApacheHttpClient apacheHttpClient;
 
+  private final Map<String, ResponseTimeTracker> responseTimes = new ConcurrentHashMap<>();
+
   @Override
   public Observable<CaravanHttpResponse> execute(CaravanHttpRequest request) {
     LoadBalancerCommand<CaravanHttpResponse> command = commandFactory.createCommand(request.getServiceId());
-    ServerOperation<CaravanHttpResponse> operation = createServerOperation(request);
-    return command.submit(operation);
+    if (!isHedgingEnabled(request)) {
+      return command.submit(createServerOperation(request, null, null));
+    }
+
+    ResponseTimeTracker responseTimeTracker = responseTimes.computeIfAbsent(request.getServiceId(), id -> new ResponseTimeTracker());
+    AtomicReference<Server> primaryServer = new AtomicReference<>();
+    Observable<CaravanHttpResponse> primary = command.submit(createServerOperation(request, primaryServer, responseTimeTracker));
+
+    long hedgeDelayMs = getHedgeDelayMs(request.getServiceId(), responseTimeTracker);
+    if (hedgeDelayMs < 0) {
+      return primary;
+    }
+
+    // the timer runs on the I/O scheduler, as the hedged request may be executed blocking in the timer thread
+    Observable<CaravanHttpResponse> hedged = Observable.timer(hedgeDelayMs, MILLISECONDS, Schedulers.io())
+        .flatMap(tick -> {
+          Server server = commandFactory.chooseOtherServer(request.getServiceId(), primaryServer.get());
+          if (server == null) {
+            return Observable.<CaravanHttpResponse>never();
+          }
+          LOG.debug("No response from {} after {} ms, sending hedged request for service {} to {}",
+              primaryServer.get(), hedgeDelayMs, request.getServiceId(), server);
+          return commandFactory.createCommand(request.getServiceId(), server)
+              .submit(createServerOperation(request, null, responseTimeTracker))
+              // a failing hedged request must not fail the request that is still waiting for the primary one
+              .onErrorResumeNext(ex -> {
+                LOG.debug("Hedged request for service " + request.getServiceId() + " to " + server + " failed", ex);
+                return Observable.never();
+              });
+        });
+
+    // the first observable emitting wins, the other one is unsubscribed which cancels its request.
+    // the hedged observable is subscribed first, as the primary request may block until the response is received.
+    return Observable.amb(hedged, primary);
+  }
+
+  private boolean isHedgingEnabled(CaravanHttpRequest request) {
+    // only idempotent GET requests may be executed twice
+    return StringUtils.isNotEmpty(request.getServiceId())
+        && StringUtils.equalsIgnoreCase(request.getMethod(), "GET")
+        && CaravanHttpServiceConfigValidator.isHedgingEnabled(request.getServiceId());
+  }
+
+  private long getHedgeDelayMs(String serviceId, ResponseTimeTracker responseTimeTracker) {
+    int configuredDelayMs = CaravanHttpServiceConfigValidator.getHedgeDelayMs(serviceId);
+    if (configuredDelayMs > 0) {
+      return configuredDelayMs;
+    }
+    return responseTimeTracker.get95thPercentile();
   }
 
   @Override
@@ -67,15 +126,44 @@ public class RibbonHttpClient implements CaravanHttpClient {
     return execute(request);
   }
 
-  private ServerOperation<CaravanHttpResponse> createServerOperation(CaravanHttpRequest request) {
+  @Override
+  public CompletableFuture<CaravanHttpResponse> executeAsync(CaravanHttpRequest request) {
+    return CaravanHttpFutures.toCompletableFuture(execute(request));
+  }
+
+  @Override
+  public CaravanHttpResponse executeBlocking(CaravanHttpRequest request) {
+    return CaravanHttpFutures.await(request, executeAsync(request));
+  }
+
+  /**
+   * @param usedServer If set, receives the server the request was last sent to
+   * @param responseTimeTracker If set, receives the response times of successful requests
+   */
+  private ServerOperation<CaravanHttpResponse> createServerOperation(CaravanHttpRequest request, AtomicReference<Server> usedServer,
+      ResponseTimeTracker responseTimeTracker) {
     return new ServerOperation<CaravanHttpResponse>() {
 
       @Override
       public Observable<CaravanHttpResponse> call(Server server) {
         LOG.trace("Use " + server.toString() + " to execute request for service " + request.getServiceId());
-        String protocol = getProtocol();
-        CaravanHttpRequest fullUrlRequest = createFullUrllRequest(server, protocol);
-        return apacheHttpClient.execute(fullUrlRequest);
+        if (usedServer != null) {
+          usedServer.set(server);
+        }
+        String urlPrefix = RequestUtil.buildUrlPrefix(server, getProtocol());
+        Observable<CaravanHttpResponse> response = apacheHttpClient.execute(ResolvedRequest.of(request, server, urlPrefix));
+        if (responseTimeTracker != null) {
+          Observable<CaravanHttpResponse> untracked = response;
+          response = Observable.defer(() -> {
+            Stopwatch stopwatch = Stopwatch.createStarted();
+            return untracked.doOnNext(result -> responseTimeTracker.update(stopwatch.elapsed(MILLISECONDS)));
+          });
+        }
+        ILoadBalancer loadBalancer = commandFactory.getLoadBalancer(request.getServiceId());
+        if (loadBalancer instanceof LatencyAwareLoadBalancer) {
+          response = ((LatencyAwareLoadBalancer)loadBalancer).track(server, response);
+        }
+        return response;
       }
 
       private String getProtocol() {
@@ -83,21 +171,7 @@ public class RibbonHttpClient implements CaravanHttpClient {
         if (StringUtils.isEmpty(request.getServiceId())) {
           return RequestUtil.PROTOCOL_AUTO;
         }
-        return ArchaiusConfig.getConfiguration().getString(request.getServiceId() + CaravanHttpServiceConfig.HTTP_PARAM_PROTOCOL);
-
-      }
-
-      private CaravanHttpRequest createFullUrllRequest(Server server, String protocol) {
-
-        String urlPrefix = RequestUtil.buildUrlPrefix(server, protocol);
-        CaravanHttpRequestBuilder builder = new CaravanHttpRequestBuilder(request.getServiceId())
-            .append(urlPrefix)
-            .append(request.getUrl())
-            .body(request.getBody(), request.getCharset())
-            .method(request.getMethod());
-        request.getHeaders().entries().stream()
-            .forEach(entry -> builder.header(entry.getKey(), entry.getValue()));
-        return builder.build();
+        return ServiceSettingsRegistry.get(request.getServiceId()).getProtocol();
 
       }
 
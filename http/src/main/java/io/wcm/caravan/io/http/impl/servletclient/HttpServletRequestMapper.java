@@ -27,6 +27,7 @@ import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URLDecoder;
+import java.nio.charset.Charset;
 import java.security.Principal;
 import java.util.Collection;
 import java.util.Collections;
@@ -74,6 +75,8 @@ public class HttpServletRequestMapper implements HttpServletRequest {
   private final URI uri;
   private final String serviceId;
   private final Map<String, Object> attributes = Maps.newHashMap();
+  private ServletInputStream inputStream;
+  private BufferedReader reader;
 
   /**
    * @param request Request
@@ -101,7 +104,7 @@ public class HttpServletRequestMapper implements HttpServletRequest {
 
   @Override
   public String getCharacterEncoding() {
-    return request.getCharset().toString();
+    return request.getCharset() != null ? request.getCharset().name() : null;
   }
 
   @Override
@@ -111,27 +114,31 @@ public class HttpServletRequestMapper implements HttpServletRequest {
 
   @Override
   public int getContentLength() {
-    return request.getBody().length;
+    return request.getBody() != null ? request.getBody().length : -1;
   }
 
   @Override
   public String getContentType() {
+    List<String> values = request.getHeaderValues("Content-Type");
+    if (!values.isEmpty()) {
+      return values.get(0);
+    }
+    if (request.getBody() != null && request.getCharset() != null) {
+      // same as the entity of the Apache HTTP client
+      return "text/plain; charset=" + request.getCharset().name();
+    }
     return null;
   }
 
   @Override
   public ServletInputStream getInputStream() throws IOException {
-    return new ServletInputStream() {
-
-      private int index;
-
-      @Override
-      public int read() throws IOException {
-        return index < request.getBody().length ? -1 : request.getBody()[index++];
-      }
-
-    };
-
+    if (reader != null) {
+      throw new IllegalStateException("getReader() has already been called for this request");
+    }
+    if (inputStream == null) {
+      inputStream = new BodyServletInputStream(request.getBody());
+    }
+    return inputStream;
   }
 
   @Override
@@ -190,7 +197,15 @@ public class HttpServletRequestMapper implements HttpServletRequest {
 
   @Override
   public BufferedReader getReader() throws IOException {
-    return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(request.getBody())));
+    if (inputStream != null) {
+      throw new IllegalStateException("getInputStream() has already been called for this request");
+    }
+    if (reader == null) {
+      byte[] body = request.getBody() != null ? request.getBody() : new byte[0];
+      Charset charset = request.getCharset() != null ? request.getCharset() : Charsets.UTF_8;
+      reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body), charset));
+    }
+    return reader;
   }
 
   @Override
@@ -312,13 +327,13 @@ public class HttpServletRequestMapper implements HttpServletRequest {
 
   @Override
   public String getHeader(String name) {
-    Collection<String> values = request.getHeaders().get(name);
-    return values.isEmpty() ? null : values.iterator().next();
+    List<String> values = request.getHeaderValues(name);
+    return values.isEmpty() ? null : values.get(0);
   }
 
   @Override
   public Enumeration<String> getHeaders(String name) {
-    return Collections.enumeration(request.getHeaders().get(name));
+    return Collections.enumeration(request.getHeaderValues(name));
   }
 
   @Override
@@ -447,4 +462,52 @@ public class HttpServletRequestMapper implements HttpServletRequest {
     return null;
   }
 
+  /**
+   * Streams the request body without copying it.
+   */
+  private static class BodyServletInputStream extends ServletInputStream {
+
+    private final byte[] body;
+    private int index;
+
+    BodyServletInputStream(byte[] body) {
+      this.body = body != null ? body : new byte[0];
+    }
+
+    @Override
+    public int read() {
+      return index < body.length ? body[index++] & 0xff : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (off < 0 || len < 0 || len > b.length - off) {
+        throw new IndexOutOfBoundsException();
+      }
+      if (len == 0) {
+        return 0;
+      }
+      if (index >= body.length) {
+        return -1;
+      }
+      int count = Math.min(len, body.length - index);
+      System.arraycopy(body, index, b, off, count);
+      index += count;
+      return count;
+    }
+
+    @Override
+    public long skip(long n) {
+      long count = Math.max(0, Math.min(n, body.length - index));
+      index += (int)count;
+      return count;
+    }
+
+    @Override
+    public int available() {
+      return body.length - index;
+    }
+
+  }
+
 }
@@ -19,9 +19,10 @@
  */
 package io.wcm.caravan.io.http.impl.servletclient;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.nio.charset.Charset;
 import java.text.SimpleDateFormat;
 import java.util.Collection;
 import java.util.Collections;
@@ -39,6 +40,8 @@ import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
 
+import io.wcm.caravan.io.http.impl.buffer.ByteBufferPool;
+import io.wcm.caravan.io.http.impl.buffer.PooledBufferOutputStream;
 import io.wcm.caravan.io.http.response.CaravanHttpResponse;
 import io.wcm.caravan.io.http.response.CaravanHttpResponseBuilder;
 
@@ -49,7 +52,9 @@ public class HttpServletResponseMapper implements HttpServletResponse {
 
   private String characterEncoding = Charsets.UTF_8.toString();
   private String contentType;
-  private ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+  private PooledBufferOutputStream outputStream = new PooledBufferOutputStream(ByteBufferPool.getDefault());
+  private final ServletOutputStream servletOutputStream = new BufferServletOutputStream();
+  private PrintWriter writer;
   private int bufferSize = 4096;
   private Locale locale;
   private final List<Cookie> cookies = Lists.newArrayList();
@@ -69,19 +74,16 @@ public class HttpServletResponseMapper implements HttpServletResponse {
 
   @Override
   public ServletOutputStream getOutputStream() throws IOException {
-
-    return new ServletOutputStream() {
-
-      @Override
-      public void write(int b) throws IOException {
-        outputStream.write(b);
-      }
-    };
+    return servletOutputStream;
   }
 
   @Override
   public PrintWriter getWriter() throws IOException {
-    return new PrintWriter(outputStream);
+    if (writer == null) {
+      Charset charset = characterEncoding != null ? Charset.forName(characterEncoding) : Charsets.UTF_8;
+      writer = new PrintWriter(new OutputStreamWriter(servletOutputStream, charset));
+    }
+    return writer;
   }
 
   @Override
@@ -93,10 +95,11 @@ public class HttpServletResponseMapper implements HttpServletResponse {
   public void setContentLength(int len) {
     setIntHeader("Content-Length", len);
 
-    // if the content length is known in advance then resize the ByteArrayOutputSteram accordingly
+    // if the content length is known in advance then size the first pooled buffer accordingly
     // (but only if nothing has yet been written to the output stream)
     if (len > 0 && outputStream.size() == 0) {
-      outputStream = new ByteArrayOutputStream(len);
+      outputStream.close();
+      outputStream = new PooledBufferOutputStream(ByteBufferPool.getDefault(), len);
     }
   }
 
@@ -117,11 +120,18 @@ public class HttpServletResponseMapper implements HttpServletResponse {
 
   @Override
   public void flushBuffer() throws IOException {
+    if (writer != null) {
+      writer.flush();
+    }
     outputStream.flush();
   }
 
   @Override
   public void resetBuffer() {
+    // characters still buffered in the writer are discarded as well
+    if (writer != null) {
+      writer.flush();
+    }
     outputStream.reset();
   }
 
@@ -270,12 +280,32 @@ public class HttpServletResponseMapper implements HttpServletResponse {
   }
 
   public CaravanHttpResponse getResponse() {
+    if (writer != null) {
+      writer.flush();
+    }
     return new CaravanHttpResponseBuilder()
-    .body(outputStream.toByteArray())
+    .body(outputStream.toBody())
     .headers(headers)
     .reason(reason)
     .status(status)
     .build();
   }
 
+  /**
+   * Writes directly into the pooled buffers, also for bulk writes.
+   */
+  private class BufferServletOutputStream extends ServletOutputStream {
+
+    @Override
+    public void write(int b) {
+      outputStream.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      outputStream.write(b, off, len);
+    }
+
+  }
+
 }
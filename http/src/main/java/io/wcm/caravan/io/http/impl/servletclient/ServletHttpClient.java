@@ -22,12 +22,14 @@ package io.wcm.caravan.io.http.impl.servletclient;
 import java.io.IOException;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 
 import javax.servlet.Servlet;
 import javax.servlet.ServletException;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Reference;
 import org.apache.felix.scr.annotations.ReferenceCardinality;
@@ -36,13 +38,16 @@ import org.apache.felix.scr.annotations.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 
 import io.wcm.caravan.io.http.CaravanHttpClient;
 import io.wcm.caravan.io.http.IllegalResponseRuntimeException;
 import io.wcm.caravan.io.http.RequestFailedRuntimeException;
+import io.wcm.caravan.io.http.impl.CaravanHttpFutures;
 import io.wcm.caravan.io.http.impl.CaravanHttpServiceConfigValidator;
 import io.wcm.caravan.io.http.request.CaravanHttpRequest;
+import io.wcm.caravan.io.http.response.Body;
 import io.wcm.caravan.io.http.response.CaravanHttpResponse;
 import rx.Observable;
 
@@ -55,6 +60,8 @@ public class ServletHttpClient implements CaravanHttpClient {
 
   private static final Logger LOG = LoggerFactory.getLogger(ServletHttpClient.class);
 
+  private static final Set<String> IDEMPOTENT_METHODS = ImmutableSet.of("GET", "HEAD", "PUT", "DELETE", "OPTIONS");
+
   @Reference(referenceInterface = Servlet.class, cardinality = ReferenceCardinality.OPTIONAL_MULTIPLE, policy = ReferencePolicy.DYNAMIC)
   private final ConcurrentMap<String, Servlet> servlets = new ConcurrentSkipListMap<>();
 
@@ -85,6 +92,16 @@ public class ServletHttpClient implements CaravanHttpClient {
     return execute(request);
   }
 
+  @Override
+  public CompletableFuture<CaravanHttpResponse> executeAsync(CaravanHttpRequest request) {
+    return CaravanHttpFutures.toCompletableFuture(execute(request));
+  }
+
+  @Override
+  public CaravanHttpResponse executeBlocking(CaravanHttpRequest request) {
+    return CaravanHttpFutures.await(request, executeAsync(request));
+  }
+
   @Override
   public boolean hasValidConfiguration(String serviceId) {
     return servlets.containsKey(serviceId) && !failedServices.contains(serviceId);
@@ -113,7 +130,10 @@ public class ServletHttpClient implements CaravanHttpClient {
       boolean throwExceptionForStatus500 = CaravanHttpServiceConfigValidator.throwExceptionForStatus500(request.getServiceId());
       if (status >= 500 && throwExceptionForStatus500) {
         String requestUrl = request.getUrl();
-        String responseBody = response.body().asString();
+        String responseBody;
+        try (Body body = response.body()) {
+          responseBody = body.asString();
+        }
         throw new IllegalResponseRuntimeException(request, requestUrl, status, responseBody,
           "Executing '" + requestUrl + "' failed: " + responseBody);
       }
@@ -121,6 +141,11 @@ public class ServletHttpClient implements CaravanHttpClient {
     }
     catch (NotSupportedByRequestMapperException ex) {
       failedServices.add(request.getServiceId());
+      // the caller executes the request again via HTTP, but the servlet may already have processed a part of it
+      if (!isIdempotent(request)) {
+        throw new RequestFailedRuntimeException(request, "Local servlet for " + request.getServiceId()
+            + " uses a request feature not supported by the servlet client", ex);
+      }
       throw ex;
     }
     catch (ServletException | IOException ex) {
@@ -129,4 +154,8 @@ public class ServletHttpClient implements CaravanHttpClient {
 
   }
 
+  private static boolean isIdempotent(CaravanHttpRequest request) {
+    return IDEMPOTENT_METHODS.contains(StringUtils.upperCase(request.getMethod()));
+  }
+
 }
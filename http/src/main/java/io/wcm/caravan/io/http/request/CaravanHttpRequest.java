@@ -22,20 +22,20 @@ package io.wcm.caravan.io.http.request;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.nio.charset.Charset;
-import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
 import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.StringUtils;
 import org.osgi.annotation.versioning.ProviderType;
 
-import com.google.common.collect.ImmutableMultimap;
-import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
 
 import io.wcm.caravan.common.performance.PerformanceMetrics;
 import io.wcm.caravan.io.http.CaravanHttpClient;
 import io.wcm.caravan.io.http.impl.CaravanHttpHelper;
+import io.wcm.caravan.io.http.impl.HttpHeaders;
 
 /**
  * An immutable request to a HTTP server.
@@ -51,7 +51,7 @@ public final class CaravanHttpRequest {
   private final String serviceId;
   private final String method;
   private final String url;
-  private final Multimap<String, String> headers;
+  private final HttpHeaders headers;
   private final byte[] body;
   private final Charset charset;
   private PerformanceMetrics performanceMetrics;
@@ -68,10 +68,15 @@ public final class CaravanHttpRequest {
    */
   CaravanHttpRequest(final String serviceId, final String method, final String url, final Multimap<String, String> headers, final byte[] body,
       final Charset charset) {
+    this(serviceId, method, url, HttpHeaders.of(checkNotNull(headers, "headers of %s %s", method, url)), body, charset);
+  }
+
+  CaravanHttpRequest(final String serviceId, final String method, final String url, final HttpHeaders headers, final byte[] body,
+      final Charset charset) {
     this.serviceId = serviceId; // nullable
     this.method = checkNotNull(method, "method of %s", url);
     this.url = checkNotNull(url, "url");
-    this.headers = ImmutableMultimap.copyOf(LinkedHashMultimap.create(checkNotNull(headers, "headers of %s %s", method, url)));
+    this.headers = checkNotNull(headers, "headers of %s %s", method, url);
     this.body = body; // nullable
     this.charset = charset; // nullable
     this.performanceMetrics = PerformanceMetrics.createNew(
@@ -99,7 +104,24 @@ public final class CaravanHttpRequest {
    * @return HTTP headers
    */
   public Multimap<String, String> getHeaders() {
-    return headers;
+    return headers.asMultimap();
+  }
+
+  /**
+   * @param name Header name (case-insensitive)
+   * @return Values of all headers with this name, empty if there is none
+   */
+  public List<String> getHeaderValues(String name) {
+    return headers.get(name);
+  }
+
+  /**
+   * Calls the action for each header in the order they will be sent to the server, without creating the multimap of
+   * {@link #getHeaders()}.
+   * @param action Called with name and value of each header
+   */
+  public void forEachHeader(BiConsumer<String, String> action) {
+    headers.forEach(action);
   }
 
   /**
@@ -142,9 +164,7 @@ public final class CaravanHttpRequest {
   public String toString() {
     StringBuilder builder = new StringBuilder();
     builder.append(method).append(' ').append(url).append(" HTTP/1.1\n");
-    for (String field : headers.keySet()) {
-      builder.append(field).append(": ").append(StringUtils.join(headers.get(field), ", ")).append('\n');
-    }
+    headers.appendTo(builder);
     if (body != null) {
       builder.append('\n').append(charset != null ? new String(body, charset) : "Binary data");
     }
@@ -171,8 +191,7 @@ public final class CaravanHttpRequest {
    * @return the value of the correlation-id header or null if it wasn't set
    */
   public String getCorrelationId() {
-    Collection<String> correlationHeaders = getHeaders().get(CaravanHttpRequest.CORRELATION_ID_HEADER_NAME);
-    return correlationHeaders.isEmpty() ? null : correlationHeaders.iterator().next();
+    return headers.getFirst(CaravanHttpRequest.CORRELATION_ID_HEADER_NAME);
   }
 
   public PerformanceMetrics getPerformanceMetrics() {
@@ -32,7 +32,6 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.http.client.methods.HttpGet;
 import org.osgi.annotation.versioning.ProviderType;
 
-import com.damnhandy.uri.template.UriTemplate;
 import com.google.common.base.Charsets;
 import com.google.common.base.Strings;
 import com.google.common.collect.ArrayListMultimap;
@@ -43,6 +42,8 @@ import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
 
 import io.wcm.caravan.io.http.impl.CaravanHttpHelper;
+import io.wcm.caravan.io.http.impl.HttpHeaders;
+import io.wcm.caravan.io.http.impl.UriTemplateCache;
 
 /**
  * UriTemplate using HTTP request builder.
@@ -203,7 +204,7 @@ public final class CaravanHttpRequestBuilder {
    */
   public CaravanHttpRequest build(Map<String, Object> parameters) {
     String expandedUrl = getExpandedUrl(parameters);
-    Multimap<String, String> expandedHeaders = getExpandedHeaders(parameters);
+    HttpHeaders expandedHeaders = getExpandedHeaders(parameters);
     byte[] expandedBody = getExpandedBody(parameters);
     return new CaravanHttpRequest(serviceId, method, expandedUrl, expandedHeaders, expandedBody, charset);
   }
@@ -212,31 +213,34 @@ public final class CaravanHttpRequestBuilder {
 
     Map<String, Object> mergedParams = Maps.newHashMap(parameters);
     mergedParams.putAll(values);
-    List<String> sortedQueryNames = Lists.newArrayList(queryNames);
-    Collections.sort(sortedQueryNames);
-    String operator = path.indexOf("?") == -1 ? "?" : "&";
-    String query = queryNames.isEmpty() ? "" : ('{' + operator + StringUtils.join(queryNames, ',') + '}');
-    return UriTemplate.fromTemplate(path + query).expand(mergedParams);
+    String url = path.toString();
+    if (!queryNames.isEmpty()) {
+      // sorted to get the same template string and cache entry for the same query names
+      List<String> sortedQueryNames = Lists.newArrayList(queryNames);
+      Collections.sort(sortedQueryNames);
+      String operator = path.indexOf("?") == -1 ? "?" : "&";
+      url += '{' + operator + StringUtils.join(sortedQueryNames, ',') + '}';
+    }
+    return UriTemplateCache.expand(url, mergedParams);
 
   }
 
-  private Multimap<String, String> getExpandedHeaders(Map<String, Object> parameters) {
-    Multimap<String, String> expandedHeaders = ArrayListMultimap.create();
+  private HttpHeaders getExpandedHeaders(Map<String, Object> parameters) {
+    HttpHeaders.Builder expandedHeaders = HttpHeaders.builder();
     headers.entries().forEach(entry -> {
-      String template = entry.getValue();
-      String expanded = UriTemplate.expand(template, parameters);
+      String expanded = UriTemplateCache.expand(entry.getValue(), parameters);
       if (!Strings.isNullOrEmpty(expanded)) {
-        expandedHeaders.put(entry.getKey(), expanded);
+        expandedHeaders.add(entry.getKey(), expanded);
       }
     });
-    return expandedHeaders;
+    return expandedHeaders.build();
   }
 
   private byte[] getExpandedBody(Map<String, Object> parameters) {
     if (bodyTemplate == null) {
       return body;
     }
-    return CaravanHttpHelper.urlDecode(UriTemplate.expand(bodyTemplate, parameters)).getBytes(Charsets.UTF_8);
+    return CaravanHttpHelper.urlDecode(UriTemplateCache.expand(bodyTemplate, parameters)).getBytes(Charsets.UTF_8);
   }
 
 }
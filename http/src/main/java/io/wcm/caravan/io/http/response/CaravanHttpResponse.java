@@ -22,18 +22,16 @@ package io.wcm.caravan.io.http.response;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 import org.osgi.annotation.versioning.ProviderType;
 
-import com.google.common.base.Joiner;
-import com.google.common.collect.ImmutableMultimap;
-import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
 
 import io.wcm.caravan.io.http.impl.CaravanHttpHelper;
+import io.wcm.caravan.io.http.impl.HttpHeaders;
 
 /**
  * An immutable response to an http invocation which only returns string content.
@@ -43,15 +41,18 @@ public final class CaravanHttpResponse {
 
   private final int status;
   private final String reason;
-  private final Multimap<String, String> headers;
+  private final HttpHeaders headers;
   private final Body body;
 
   CaravanHttpResponse(int status, String reason, Multimap<String, String> headers, Body body) {
+    this(status, reason, HttpHeaders.of(checkNotNull(headers, "headers")), body);
+  }
+
+  CaravanHttpResponse(int status, String reason, HttpHeaders headers, Body body) {
     checkState(status >= 200, "Invalid status code: %s", status);
     this.status = status;
     this.reason = checkNotNull(reason, "reason");
-    Multimap<String, String> copyOf = LinkedHashMultimap.create(checkNotNull(headers, "headers"));
-    this.headers = ImmutableMultimap.copyOf(copyOf);
+    this.headers = checkNotNull(headers, "headers");
     this.body = body; // nullable
   }
 
@@ -74,7 +75,24 @@ public final class CaravanHttpResponse {
    * @return HTTP headers
    */
   public Multimap<String, String> headers() {
-    return headers;
+    return headers.asMultimap();
+  }
+
+  /**
+   * @param name Header name (case-insensitive)
+   * @return Values of all headers with this name, empty if there is none
+   */
+  public List<String> headerValues(String name) {
+    return headers.get(name);
+  }
+
+  /**
+   * Calls the action for each header in the order they were received, without creating the multimap of
+   * {@link #headers()}.
+   * @param action Called with name and value of each header
+   */
+  public void forEachHeader(BiConsumer<String, String> action) {
+    headers.forEach(action);
   }
 
   /**
@@ -87,11 +105,7 @@ public final class CaravanHttpResponse {
 
     // http headers are case-insensitive, and even if we write all our headers in upper-case,
     // any proxy in-between can turn them into lower-case variants.
-    // We need to make sure that we don't miss the lower-case variants here
-    List<String> cacheControlHeaders = new LinkedList<>();
-    cacheControlHeaders.addAll(headers.get("Cache-Control"));
-    cacheControlHeaders.addAll(headers.get("cache-control"));
-
+    List<String> cacheControlHeaders = headers.get("Cache-Control");
     return CaravanHttpHelper.convertMultiValueHeaderToMap(cacheControlHeaders);
   }
 
@@ -107,9 +121,7 @@ public final class CaravanHttpResponse {
   public String toString() {
     StringBuilder builder = new StringBuilder();
     builder.append("HTTP/1.1 ").append(status).append(' ').append(reason).append('\n');
-    for (String field : headers.keySet()) {
-      builder.append(field).append(": ").append(Joiner.on(", ").join(headers.get(field))).append('\n');
-    }
+    headers.appendTo(builder);
     if (body != null) {
       builder.append('\n').append(body);
     }
@@ -25,9 +25,10 @@ import java.util.Collection;
 
 import org.osgi.annotation.versioning.ProviderType;
 
-import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
 
+import io.wcm.caravan.io.http.impl.HttpHeaders;
+
 /**
  * Builder for {@link CaravanHttpResponse}.
  */
@@ -36,7 +37,7 @@ public final class CaravanHttpResponseBuilder {
 
   private int status;
   private String reason;
-  private Multimap<String, String> headers = ArrayListMultimap.create();
+  private final HttpHeaders.Builder headers = HttpHeaders.builder();
   private Body body;
 
   /**
@@ -63,7 +64,7 @@ public final class CaravanHttpResponseBuilder {
    * @return Builder
    */
   public CaravanHttpResponseBuilder header(String name, String value) {
-    headers.put(name, value);
+    headers.add(name, value);
     return this;
   }
 
@@ -73,7 +74,7 @@ public final class CaravanHttpResponseBuilder {
    * @return Builder
    */
   public CaravanHttpResponseBuilder header(String name, Collection<String> values) {
-    headers.putAll(name, values);
+    headers.addAll(name, values);
     return this;
   }
 
@@ -82,7 +83,7 @@ public final class CaravanHttpResponseBuilder {
    * @return Builder
    */
   public CaravanHttpResponseBuilder headers(Multimap<String, String> headersToAdd) {
-    headers.putAll(headersToAdd);
+    headers.addAll(headersToAdd);
     return this;
   }
 
@@ -115,12 +116,21 @@ public final class CaravanHttpResponseBuilder {
     return this;
   }
 
+  /**
+   * @param newBody HTTP body
+   * @return Builder
+   */
+  public CaravanHttpResponseBuilder body(Body newBody) {
+    body = newBody;
+    return this;
+  }
+
   /**
    * Builds the Caravan HTTP response
    * @return HTTP response
    */
   public CaravanHttpResponse build() {
-    return new CaravanHttpResponse(status, reason, headers, body);
+    return new CaravanHttpResponse(status, reason, headers.build(), body);
   }
 
 }
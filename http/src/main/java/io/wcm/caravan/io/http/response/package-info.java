@@ -20,6 +20,6 @@
 /**
  * Resilient HTTP transport layer response.
  */
-@org.osgi.annotation.versioning.Version("0.5.0")
+@org.osgi.annotation.versioning.Version("0.8.0")
 package io.wcm.caravan.io.http.response;
 
@@ -0,0 +1,162 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import io.wcm.caravan.io.http.request.CaravanHttpRequest;
+import io.wcm.caravan.io.http.request.CaravanHttpRequestBuilder;
+import io.wcm.caravan.io.http.response.CaravanHttpResponse;
+import io.wcm.caravan.io.http.response.CaravanHttpResponseBuilder;
+import rx.Observable;
+import rx.observers.TestSubscriber;
+import rx.subjects.PublishSubject;
+
+public class CaravanHttpBatchTest {
+
+  private List<CaravanHttpRequest> requests;
+  private List<PublishSubject<CaravanHttpResponse>> responses;
+
+  @Before
+  public void setUp() {
+    requests = new ArrayList<>();
+    responses = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      requests.add(new CaravanHttpRequestBuilder("service").append("/path/" + i).build());
+      responses.add(PublishSubject.create());
+    }
+  }
+
+  private Observable<CaravanHttpResponse> execute(CaravanHttpRequest request) {
+    return responses.get(requests.indexOf(request));
+  }
+
+  private void respond(int index, int status) {
+    responses.get(index).onNext(new CaravanHttpResponseBuilder().status(status).reason("reason").body(new byte[0]).build());
+    responses.get(index).onCompleted();
+  }
+
+  private static List<Integer> indexes(TestSubscriber<CaravanHttpBatchResult> subscriber) {
+    return subscriber.getOnNextEvents().stream().map(CaravanHttpBatchResult::getIndex).collect(Collectors.toList());
+  }
+
+  @Test
+  public void testOrdered() {
+    TestSubscriber<CaravanHttpBatchResult> subscriber = new TestSubscriber<>();
+    new CaravanHttpBatch(requests).execute(this::execute).subscribe(subscriber);
+
+    respond(2, 200);
+    respond(1, 201);
+    subscriber.assertNoValues();
+    respond(0, 202);
+
+    subscriber.assertCompleted();
+    assertEquals(ImmutableList.of(0, 1, 2), indexes(subscriber));
+    CaravanHttpBatchResult result = subscriber.getOnNextEvents().get(1);
+    assertTrue(result.isSuccess());
+    assertSame(requests.get(1), result.getRequest());
+    assertEquals(201, result.getResponse().status());
+  }
+
+  @Test
+  public void testUnordered() {
+    TestSubscriber<CaravanHttpBatchResult> subscriber = new TestSubscriber<>();
+    new CaravanHttpBatch(requests).ordered(false).execute(this::execute).subscribe(subscriber);
+
+    respond(2, 200);
+    respond(0, 200);
+    respond(1, 200);
+
+    subscriber.assertCompleted();
+    assertEquals(ImmutableList.of(2, 0, 1), indexes(subscriber));
+  }
+
+  @Test
+  public void testMaxConcurrency() {
+    AtomicInteger subscribed = new AtomicInteger();
+    TestSubscriber<CaravanHttpBatchResult> subscriber = new TestSubscriber<>();
+    new CaravanHttpBatch(requests).maxConcurrency(2)
+        .execute(request -> execute(request).doOnSubscribe(subscribed::incrementAndGet))
+        .subscribe(subscriber);
+    assertEquals(2, subscribed.get());
+
+    respond(1, 200);
+    assertEquals(3, subscribed.get());
+  }
+
+  @Test
+  public void testFailFast() {
+    TestSubscriber<CaravanHttpBatchResult> subscriber = new TestSubscriber<>();
+    new CaravanHttpBatch(requests).execute(this::execute).subscribe(subscriber);
+
+    RuntimeException ex = new RuntimeException("failed");
+    responses.get(1).onError(ex);
+
+    subscriber.assertError(ex);
+    assertFalse(responses.get(0).hasObservers());
+    assertFalse(responses.get(2).hasObservers());
+  }
+
+  @Test
+  public void testCollectErrors() {
+    TestSubscriber<CaravanHttpBatchResult> subscriber = new TestSubscriber<>();
+    new CaravanHttpBatch(requests).failFast(false).execute(this::execute).subscribe(subscriber);
+
+    RuntimeException ex = new RuntimeException("failed");
+    responses.get(1).onError(ex);
+    respond(0, 200);
+    respond(2, 200);
+
+    subscriber.assertCompleted();
+    assertEquals(ImmutableList.of(0, 1, 2), indexes(subscriber));
+    CaravanHttpBatchResult result = subscriber.getOnNextEvents().get(1);
+    assertFalse(result.isSuccess());
+    assertNull(result.getResponse());
+    assertSame(ex, result.getError());
+  }
+
+  @Test
+  public void testEmpty() {
+    TestSubscriber<CaravanHttpBatchResult> subscriber = new TestSubscriber<>();
+    new CaravanHttpBatch(new ArrayList<>()).execute(this::execute).subscribe(subscriber);
+    subscriber.assertCompleted();
+    subscriber.assertNoValues();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidMaxConcurrency() {
+    new CaravanHttpBatch(requests).maxConcurrency(0);
+  }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import rx.Observable;
+import rx.observers.TestSubscriber;
+
+public class CallbackExecutorOperatorTest {
+
+  private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "callback"));
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testEmitOnExecutor() {
+    TestSubscriber<String> subscriber = new TestSubscriber<>();
+    Observable.just("a", "b")
+        .lift(new CallbackExecutorOperator<String>(executor, ex -> ex))
+        .subscribe(subscriber);
+    subscriber.awaitTerminalEvent(5, TimeUnit.SECONDS);
+
+    subscriber.assertCompleted();
+    assertEquals(ImmutableList.of("a", "b"), subscriber.getOnNextEvents());
+    assertEquals("callback", subscriber.getLastSeenThread().getName());
+  }
+
+  @Test
+  public void testEmitErrorOnExecutor() {
+    IllegalStateException error = new IllegalStateException("failed");
+    TestSubscriber<String> subscriber = new TestSubscriber<>();
+    Observable.<String>error(error)
+        .lift(new CallbackExecutorOperator<String>(executor, ex -> ex))
+        .subscribe(subscriber);
+    subscriber.awaitTerminalEvent(5, TimeUnit.SECONDS);
+
+    subscriber.assertError(error);
+    assertEquals("callback", subscriber.getLastSeenThread().getName());
+  }
+
+  @Test
+  public void testRejection() {
+    executor.shutdown();
+    IllegalStateException mapped = new IllegalStateException("rejected");
+    TestSubscriber<String> subscriber = new TestSubscriber<>();
+    Observable.just("a")
+        .lift(new CallbackExecutorOperator<String>(executor, ex -> {
+          assertTrue(ex instanceof RejectedExecutionException);
+          return mapped;
+        }))
+        .subscribe(subscriber);
+
+    subscriber.assertNoValues();
+    assertEquals(1, subscriber.getOnErrorEvents().size());
+    assertSame(mapped, subscriber.getOnErrorEvents().get(0));
+  }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.codahale.metrics.MetricRegistry;
+
+public class CaravanHttpCallbackExecutorTest {
+
+  private final CountDownLatch release = new CountDownLatch(1);
+  private CaravanHttpCallbackExecutor underTest;
+
+  @After
+  public void tearDown() {
+    release.countDown();
+    underTest.shutdownNow();
+  }
+
+  private Runnable blocking(CountDownLatch started) {
+    return () -> {
+      started.countDown();
+      try {
+        release.await();
+      }
+      catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+    };
+  }
+
+  @Test
+  public void testSpawnThreadsImmediately() throws InterruptedException {
+    underTest = new CaravanHttpCallbackExecutor(1, 3, 10);
+    CountDownLatch started = new CountDownLatch(3);
+    for (int i = 0; i < 3; i++) {
+      underTest.execute(blocking(started));
+    }
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    assertEquals(3, underTest.getPoolSize());
+    assertEquals(0, underTest.getQueueDepth());
+  }
+
+  @Test
+  public void testQueueWhenMaxSizeReached() throws InterruptedException {
+    underTest = new CaravanHttpCallbackExecutor(1, 2, 10);
+    CountDownLatch started = new CountDownLatch(2);
+    for (int i = 0; i < 4; i++) {
+      underTest.execute(blocking(started));
+    }
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    assertEquals(2, underTest.getPoolSize());
+    assertEquals(2, underTest.getQueueDepth());
+  }
+
+  @Test
+  public void testRejectWhenQueueIsFull() throws InterruptedException {
+    underTest = new CaravanHttpCallbackExecutor(1, 1, 1);
+    CountDownLatch started = new CountDownLatch(1);
+    underTest.execute(blocking(started));
+    underTest.execute(blocking(started));
+    try {
+      underTest.execute(blocking(started));
+      fail("RejectedExecutionException expected");
+    }
+    catch (RejectedExecutionException ex) {
+      assertEquals(1, underTest.getRejected().getCount());
+    }
+  }
+
+  @Test
+  public void testDefaultSizes() {
+    underTest = new CaravanHttpCallbackExecutor(0, 0, 0);
+    assertEquals(CaravanHttpCallbackExecutor.DEFAULT_CORE_SIZE, underTest.getCorePoolSize());
+    assertEquals(CaravanHttpCallbackExecutor.DEFAULT_MAX_SIZE, underTest.getMaximumPoolSize());
+    assertEquals(CaravanHttpCallbackExecutor.DEFAULT_QUEUE_SIZE, underTest.getQueue().remainingCapacity());
+  }
+
+  @Test
+  public void testMetrics() throws InterruptedException {
+    underTest = new CaravanHttpCallbackExecutor(1, 1, 10);
+    MetricRegistry metricRegistry = new MetricRegistry();
+    underTest.registerMetrics(metricRegistry);
+    assertEquals(5, metricRegistry.getNames().size());
+
+    CountDownLatch executed = new CountDownLatch(1);
+    underTest.execute(executed::countDown);
+    assertTrue(executed.await(5, TimeUnit.SECONDS));
+    assertEquals(1, metricRegistry.timer("caravan.http.callbacks.queueWait").getCount());
+
+    underTest.unregisterMetrics(metricRegistry);
+    assertTrue(metricRegistry.getNames().isEmpty());
+  }
+
+}
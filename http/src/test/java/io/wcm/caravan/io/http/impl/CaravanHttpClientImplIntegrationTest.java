@@ -28,6 +28,7 @@ import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.servlet.http.HttpServletResponse;
@@ -55,6 +56,7 @@ import io.wcm.caravan.io.http.request.CaravanHttpRequestBuilder;
 import io.wcm.caravan.io.http.response.CaravanHttpResponse;
 import rx.Observable;
 import rx.Observer;
+import rx.Subscription;
 
 /**
  * Integration tests for HTTP communcation of transport layer.
@@ -173,6 +175,69 @@ public class CaravanHttpClientImplIntegrationTest {
     assertEquals(DUMMY_CONTENT, response.body().asString());
   }
 
+  @Test
+  public void testHttp200Streaming() throws IOException {
+    ArchaiusConfig.getConfiguration().setProperty(SERVICE_NAME + CaravanHttpServiceConfig.HTTP_PARAM_RESPONSE_STREAMING, true);
+    try {
+      Observable<CaravanHttpResponse> observable = client.execute(new CaravanHttpRequestBuilder(SERVICE_NAME).append(HTTP_200_URI).build());
+      CaravanHttpResponse response = observable.toBlocking().single();
+      assertEquals(HttpServletResponse.SC_OK, response.status());
+      assertEquals(DUMMY_CONTENT, response.body().asString());
+    }
+    finally {
+      ArchaiusConfig.getConfiguration().clearProperty(SERVICE_NAME + CaravanHttpServiceConfig.HTTP_PARAM_RESPONSE_STREAMING);
+    }
+  }
+
+  @Test
+  public void testHttp200StreamingBlocking() throws IOException {
+    String threadPoolKey = CaravanHttpServiceConfig.HYSTRIX_COMMAND_PREFIX + SERVICE_NAME
+        + CaravanHttpServiceConfig.HYSTRIX_PARAM_EXECUTIONISOLATIONTHREADPOOLKEY_OVERRIDE;
+    ArchaiusConfig.getConfiguration().setProperty(SERVICE_NAME + CaravanHttpServiceConfig.HTTP_PARAM_RESPONSE_STREAMING, true);
+    ArchaiusConfig.getConfiguration().setProperty(threadPoolKey, "default");
+    try {
+      for (int i = 0; i < 10; i++) {
+        Observable<CaravanHttpResponse> observable = client.execute(new CaravanHttpRequestBuilder(SERVICE_NAME).append(HTTP_200_URI).build());
+        CaravanHttpResponse response = observable.toBlocking().single();
+        assertEquals(HttpServletResponse.SC_OK, response.status());
+        assertEquals(DUMMY_CONTENT, response.body().asString());
+      }
+    }
+    finally {
+      ArchaiusConfig.getConfiguration().clearProperty(SERVICE_NAME + CaravanHttpServiceConfig.HTTP_PARAM_RESPONSE_STREAMING);
+      ArchaiusConfig.getConfiguration().clearProperty(threadPoolKey);
+    }
+  }
+
+  @Test
+  public void testHttp200StreamingBlockingUnsubscribed() throws Exception {
+    String threadPoolKey = CaravanHttpServiceConfig.HYSTRIX_COMMAND_PREFIX + SERVICE_NAME
+        + CaravanHttpServiceConfig.HYSTRIX_PARAM_EXECUTIONISOLATIONTHREADPOOLKEY_OVERRIDE;
+    ArchaiusConfig.getConfiguration().setProperty(SERVICE_NAME + CaravanHttpServiceConfig.HTTP_PARAM_RESPONSE_STREAMING, true);
+    ArchaiusConfig.getConfiguration().setProperty(SERVICE_NAME + CaravanHttpServiceConfig.HTTP_PARAM_MAX_CONNECTIONS_PER_ROUTE, 1);
+    ArchaiusConfig.getConfiguration().setProperty(threadPoolKey, "default");
+    try {
+      // unsubscribe before the delayed responses arrive, their connections must not be leaked
+      for (int i = 0; i < 3; i++) {
+        Subscription subscription = client.execute(new CaravanHttpRequestBuilder(SERVICE_NAME).append(RESPONSE_TIMEOUT_URI).build())
+            .subscribe(response -> { }, ex -> { });
+        Thread.sleep(100);
+        subscription.unsubscribe();
+      }
+
+      // the only connection of the pool is available again
+      CaravanHttpResponse response = client.execute(new CaravanHttpRequestBuilder(SERVICE_NAME).append(HTTP_200_URI).build())
+          .timeout(5, TimeUnit.SECONDS)
+          .toBlocking().single();
+      assertEquals(DUMMY_CONTENT, response.body().asString());
+    }
+    finally {
+      ArchaiusConfig.getConfiguration().clearProperty(SERVICE_NAME + CaravanHttpServiceConfig.HTTP_PARAM_RESPONSE_STREAMING);
+      ArchaiusConfig.getConfiguration().clearProperty(SERVICE_NAME + CaravanHttpServiceConfig.HTTP_PARAM_MAX_CONNECTIONS_PER_ROUTE);
+      ArchaiusConfig.getConfiguration().clearProperty(threadPoolKey);
+    }
+  }
+
   @Test
   public void testHttp404() {
     Observable<CaravanHttpResponse> observable = client.execute(new CaravanHttpRequestBuilder(SERVICE_NAME).append(HTTP_404_URI).build());
@@ -186,6 +251,55 @@ public class CaravanHttpClientImplIntegrationTest {
     observable.toBlocking().single();
   }
 
+  @Test
+  public void testHttp200Http2() throws IOException {
+    ArchaiusConfig.getConfiguration().setProperty(SERVICE_NAME + CaravanHttpServiceConfig.HTTP_PARAM_HTTP_VERSION, RequestUtil.HTTP_VERSION_2);
+    try {
+      Observable<CaravanHttpResponse> observable = client.execute(new CaravanHttpRequestBuilder(SERVICE_NAME).append(HTTP_200_URI).build());
+      CaravanHttpResponse response = observable.toBlocking().single();
+      assertEquals(HttpServletResponse.SC_OK, response.status());
+      assertEquals("OK", response.reason());
+      assertEquals(DUMMY_CONTENT, response.body().asString());
+    }
+    finally {
+      ArchaiusConfig.getConfiguration().clearProperty(SERVICE_NAME + CaravanHttpServiceConfig.HTTP_PARAM_HTTP_VERSION);
+    }
+  }
+
+  @Test
+  public void testHttp200Http2StreamingBlocking() throws IOException {
+    String threadPoolKey = CaravanHttpServiceConfig.HYSTRIX_COMMAND_PREFIX + SERVICE_NAME
+        + CaravanHttpServiceConfig.HYSTRIX_PARAM_EXECUTIONISOLATIONTHREADPOOLKEY_OVERRIDE;
+    ArchaiusConfig.getConfiguration().setProperty(SERVICE_NAME + CaravanHttpServiceConfig.HTTP_PARAM_HTTP_VERSION, RequestUtil.HTTP_VERSION_2);
+    ArchaiusConfig.getConfiguration().setProperty(SERVICE_NAME + CaravanHttpServiceConfig.HTTP_PARAM_RESPONSE_STREAMING, true);
+    ArchaiusConfig.getConfiguration().setProperty(threadPoolKey, "default");
+    try {
+      for (int i = 0; i < 10; i++) {
+        Observable<CaravanHttpResponse> observable = client.execute(new CaravanHttpRequestBuilder(SERVICE_NAME).append(HTTP_200_URI).build());
+        CaravanHttpResponse response = observable.toBlocking().single();
+        assertEquals(HttpServletResponse.SC_OK, response.status());
+        assertEquals(DUMMY_CONTENT, response.body().asString());
+      }
+    }
+    finally {
+      ArchaiusConfig.getConfiguration().clearProperty(SERVICE_NAME + CaravanHttpServiceConfig.HTTP_PARAM_HTTP_VERSION);
+      ArchaiusConfig.getConfiguration().clearProperty(SERVICE_NAME + CaravanHttpServiceConfig.HTTP_PARAM_RESPONSE_STREAMING);
+      ArchaiusConfig.getConfiguration().clearProperty(threadPoolKey);
+    }
+  }
+
+  @Test(expected = IllegalResponseRuntimeException.class)
+  public void testHttp500Http2() {
+    ArchaiusConfig.getConfiguration().setProperty(SERVICE_NAME + CaravanHttpServiceConfig.HTTP_PARAM_HTTP_VERSION, RequestUtil.HTTP_VERSION_2);
+    try {
+      Observable<CaravanHttpResponse> observable = client.execute(new CaravanHttpRequestBuilder(SERVICE_NAME).append(HTTP_500_URI).build());
+      observable.toBlocking().single();
+    }
+    finally {
+      ArchaiusConfig.getConfiguration().clearProperty(SERVICE_NAME + CaravanHttpServiceConfig.HTTP_PARAM_HTTP_VERSION);
+    }
+  }
+
   /** used by #testHttpSimultaneousRequests to count how many requests habe been completed, and detect errors */
   private static final class ResponseObserver implements Observer<CaravanHttpResponse> {
 
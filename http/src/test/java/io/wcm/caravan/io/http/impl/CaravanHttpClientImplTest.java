@@ -91,6 +91,15 @@ public class CaravanHttpClientImplTest {
     assertEquals(RESPONSE, getResponse());
   }
 
+  @Test
+  public void shouldExecuteServletClientForLocalPostRequests() {
+    CaravanHttpRequest request = new CaravanHttpRequestBuilder(SERVICE_ID).method("POST").body("data").build();
+    setLocalclientCanHandleRequest(true);
+    Mockito.when(servletClient.execute(request)).thenReturn(Observable.just(RESPONSE));
+    assertEquals(RESPONSE, client.execute(request).toBlocking().single());
+    Mockito.verify(ribbonClient, never()).execute(any());
+  }
+
   @Test
   public void shouldNotExecuteServletClientIfDisabledInConfig() {
     Mockito.when(config.isServletClientEnabled()).thenReturn(false);
@@ -0,0 +1,119 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.wcm.caravan.io.http.IllegalResponseRuntimeException;
+import io.wcm.caravan.io.http.RequestFailedRuntimeException;
+import io.wcm.caravan.io.http.request.CaravanHttpRequest;
+import io.wcm.caravan.io.http.request.CaravanHttpRequestBuilder;
+import io.wcm.caravan.io.http.response.CaravanHttpResponse;
+import io.wcm.caravan.io.http.response.CaravanHttpResponseBuilder;
+import rx.Observable;
+import rx.subjects.PublishSubject;
+
+public class CaravanHttpFuturesTest {
+
+  private CaravanHttpRequest request;
+  private CaravanHttpResponse response;
+
+  @Before
+  public void setUp() {
+    request = new CaravanHttpRequestBuilder("service").append("/path").build();
+    response = new CaravanHttpResponseBuilder().status(200).reason("OK").body(new byte[0]).build();
+  }
+
+  @Test
+  public void testComplete() {
+    PublishSubject<CaravanHttpResponse> subject = PublishSubject.create();
+    CompletableFuture<CaravanHttpResponse> future = CaravanHttpFutures.toCompletableFuture(subject);
+    assertFalse(future.isDone());
+
+    subject.onNext(response);
+    subject.onCompleted();
+    assertSame(response, future.join());
+  }
+
+  @Test
+  public void testCancel() {
+    PublishSubject<CaravanHttpResponse> subject = PublishSubject.create();
+    CompletableFuture<CaravanHttpResponse> future = CaravanHttpFutures.toCompletableFuture(subject);
+    assertTrue(subject.hasObservers());
+
+    future.cancel(true);
+    assertFalse(subject.hasObservers());
+  }
+
+  @Test
+  public void testAwait() {
+    assertSame(response, CaravanHttpFutures.await(request, CaravanHttpFutures.toCompletableFuture(Observable.just(response))));
+  }
+
+  @Test
+  public void testAwaitRuntimeException() {
+    IllegalResponseRuntimeException ex = new IllegalResponseRuntimeException(request, "/path", 500, "body", "failed");
+    try {
+      CaravanHttpFutures.await(request, CaravanHttpFutures.toCompletableFuture(Observable.error(ex)));
+      fail("exception expected");
+    }
+    catch (IllegalResponseRuntimeException actual) {
+      assertSame(ex, actual);
+    }
+  }
+
+  @Test
+  public void testAwaitCheckedException() {
+    IOException ex = new IOException("failed");
+    try {
+      CaravanHttpFutures.await(request, CaravanHttpFutures.toCompletableFuture(Observable.error(ex)));
+      fail("exception expected");
+    }
+    catch (RequestFailedRuntimeException actual) {
+      assertSame(ex, actual.getCause());
+      assertEquals("service: failed", actual.getMessage());
+    }
+  }
+
+  @Test
+  public void testAwaitInterrupted() {
+    CompletableFuture<CaravanHttpResponse> future = CaravanHttpFutures.toCompletableFuture(Observable.never());
+    Thread.currentThread().interrupt();
+    try {
+      CaravanHttpFutures.await(request, future);
+      fail("exception expected");
+    }
+    catch (RequestFailedRuntimeException actual) {
+      assertTrue(Thread.interrupted());
+      assertTrue(future.isCancelled());
+    }
+  }
+
+}
@@ -0,0 +1,76 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import com.codahale.metrics.Meter;
+
+import io.wcm.caravan.io.http.request.CaravanHttpRequest;
+import io.wcm.caravan.io.http.request.CaravanHttpRequestBuilder;
+import rx.Observable;
+import rx.observers.TestSubscriber;
+
+public class DirectCallbackOperatorTest {
+
+  private final CaravanHttpRequest request = new CaravanHttpRequestBuilder("service").append("/path").build();
+  private final Meter slowCallbacks = new Meter();
+
+  @Test
+  public void testEmitOnCurrentThread() {
+    TestSubscriber<String> subscriber = new TestSubscriber<>();
+    Observable.just("a")
+        .lift(new DirectCallbackOperator<String>(request, 1000, slowCallbacks))
+        .subscribe(subscriber);
+
+    subscriber.assertValue("a");
+    subscriber.assertCompleted();
+    assertSame(Thread.currentThread(), subscriber.getLastSeenThread());
+    assertEquals(0, slowCallbacks.getCount());
+  }
+
+  @Test
+  public void testSlowCallback() {
+    TestSubscriber<String> subscriber = new TestSubscriber<String>() {
+
+      @Override
+      public void onNext(String value) {
+        try {
+          Thread.sleep(20);
+        }
+        catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+        }
+        super.onNext(value);
+      }
+
+    };
+    Observable.just("a")
+        .lift(new DirectCallbackOperator<String>(request, 5, slowCallbacks))
+        .subscribe(subscriber);
+
+    subscriber.assertValue("a");
+    assertEquals(1, slowCallbacks.getCount());
+  }
+
+}
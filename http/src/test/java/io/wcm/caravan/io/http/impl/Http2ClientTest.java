@@ -0,0 +1,195 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpRequest;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.http.client.config.RequestConfig;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+import io.wcm.caravan.io.http.IllegalResponseRuntimeException;
+import io.wcm.caravan.io.http.request.CaravanHttpRequest;
+import io.wcm.caravan.io.http.request.CaravanHttpRequestBuilder;
+import io.wcm.caravan.io.http.response.CaravanHttpResponse;
+import rx.Observable;
+
+public class Http2ClientTest {
+
+  private static final String SERVICE_ID = "/test/http2";
+
+  private HttpServer server;
+  private String baseUrl;
+  private Http2Client underTest;
+
+  @Before
+  public void setUp() throws IOException {
+    ArchaiusConfig.initialize();
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.setExecutor(Executors.newCachedThreadPool());
+    server.createContext("/echo", exchange -> {
+      byte[] body = IOUtils.toByteArray(exchange.getRequestBody());
+      String text = exchange.getRequestMethod() + ":" + new String(body, StandardCharsets.UTF_8);
+      byte[] response = text.getBytes(StandardCharsets.UTF_8);
+      if (exchange.getRequestHeaders().containsKey("X-Header")) {
+        exchange.getResponseHeaders().add("X-Header", exchange.getRequestHeaders().getFirst("X-Header"));
+      }
+      exchange.sendResponseHeaders(200, response.length);
+      try (OutputStream os = exchange.getResponseBody()) {
+        os.write(response);
+      }
+    });
+    server.createContext("/slow", exchange -> {
+      try {
+        Thread.sleep(2000);
+      }
+      catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+      exchange.sendResponseHeaders(200, -1);
+      exchange.close();
+    });
+    server.createContext("/error", exchange -> {
+      exchange.sendResponseHeaders(500, -1);
+      exchange.close();
+    });
+    server.start();
+    baseUrl = "http://localhost:" + server.getAddress().getPort();
+    underTest = new Http2Client();
+  }
+
+  @After
+  public void tearDown() {
+    server.stop(0);
+    ArchaiusConfig.getConfiguration().clearProperty(SERVICE_ID + CaravanHttpServiceConfig.THROW_EXCEPTION_FOR_STATUS_500);
+    ArchaiusConfig.getConfiguration().clearProperty(SERVICE_ID + CaravanHttpServiceConfig.HTTP_PARAM_RESPONSE_STREAMING);
+  }
+
+  @Test
+  public void testBuildHttpRequest() {
+    CaravanHttpRequest request = new CaravanHttpRequestBuilder(SERVICE_ID).method("post").append("http://host/path")
+        .header("X-Header", "value1")
+        .header("Host", "other")
+        .header("Content-Length", "5")
+        .body("body1".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8)
+        .build();
+
+    HttpRequest httpRequest = Http2Client.buildHttpRequest(request);
+    assertEquals("POST", httpRequest.method());
+    assertEquals("http://host/path", httpRequest.uri().toString());
+    assertEquals("value1", httpRequest.headers().firstValue("X-Header").get());
+    assertFalse(httpRequest.headers().firstValue("Host").isPresent());
+    assertFalse(httpRequest.headers().firstValue("Content-Length").isPresent());
+    assertEquals(5L, httpRequest.bodyPublisher().get().contentLength());
+    assertFalse(httpRequest.timeout().isPresent());
+  }
+
+  @Test
+  public void testBuildHttpRequest_SocketTimeout() {
+    HttpRequest httpRequest = Http2Client.buildHttpRequest("http://host/path", new CaravanHttpRequestBuilder(SERVICE_ID).build(), 500);
+    assertEquals(500L, httpRequest.timeout().get().toMillis());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBuildHttpRequest_UnsupportedMethod() {
+    Http2Client.buildHttpRequest(new CaravanHttpRequestBuilder(SERVICE_ID).method("patch").append("http://host/path").build());
+  }
+
+  @Test
+  public void testExecuteAsync() throws IOException {
+    CaravanHttpResponse response = execute(new CaravanHttpRequestBuilder(SERVICE_ID).append(baseUrl + "/echo")
+        .header("X-Header", "value1").build(), false).toBlocking().single();
+    assertEquals(200, response.status());
+    assertEquals("OK", response.reason());
+    // the JDK client reports header names in lower case, as they are always sent with HTTP/2
+    assertEquals("value1", response.headers().get("x-header").iterator().next());
+    assertEquals("GET:", response.body().asString());
+  }
+
+  @Test
+  public void testExecuteBlockingStreaming() throws IOException {
+    ArchaiusConfig.getConfiguration().setProperty(SERVICE_ID + CaravanHttpServiceConfig.HTTP_PARAM_RESPONSE_STREAMING, true);
+    CaravanHttpResponse response = execute(new CaravanHttpRequestBuilder(SERVICE_ID).method("put").append(baseUrl + "/echo")
+        .body("body1".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8).build(), true).toBlocking().single();
+    assertEquals(200, response.status());
+    assertEquals(Integer.valueOf(9), response.body().length());
+    assertEquals("PUT:body1", response.body().asString());
+  }
+
+  @Test
+  public void testStatus500() throws IOException {
+    ArchaiusConfig.getConfiguration().setProperty(SERVICE_ID + CaravanHttpServiceConfig.THROW_EXCEPTION_FOR_STATUS_500, false);
+    CaravanHttpResponse response = execute(new CaravanHttpRequestBuilder(SERVICE_ID).append(baseUrl + "/error").build(), false)
+        .toBlocking().single();
+    assertEquals(500, response.status());
+  }
+
+  @Test(expected = IllegalResponseRuntimeException.class)
+  public void testStatus500_Exception() {
+    ArchaiusConfig.getConfiguration().setProperty(SERVICE_ID + CaravanHttpServiceConfig.THROW_EXCEPTION_FOR_STATUS_500, true);
+    execute(new CaravanHttpRequestBuilder(SERVICE_ID).append(baseUrl + "/error").build(), false).toBlocking().single();
+  }
+
+  @Test
+  public void testConnectionFailed() {
+    server.stop(0);
+    try {
+      execute(new CaravanHttpRequestBuilder(SERVICE_ID).append(baseUrl + "/echo").build(), true).toBlocking().single();
+    }
+    catch (RuntimeException ex) {
+      assertTrue(ex.getCause() instanceof IOException);
+      return;
+    }
+    throw new AssertionError("Expected connection failure");
+  }
+
+  @Test
+  public void testSocketTimeout() {
+    RequestConfig requestConfig = RequestConfig.custom().setSocketTimeout(100).build();
+    CaravanHttpRequest request = new CaravanHttpRequestBuilder(SERVICE_ID).append(baseUrl + "/slow").build();
+    try {
+      underTest.execute(request, request.getUrl(), requestConfig, true).toBlocking().single();
+    }
+    catch (RuntimeException ex) {
+      assertTrue(ex.getCause().getCause() instanceof HttpTimeoutException);
+      return;
+    }
+    throw new AssertionError("Expected socket timeout");
+  }
+
+  private Observable<CaravanHttpResponse> execute(CaravanHttpRequest request, boolean blocking) {
+    return underTest.execute(request, request.getUrl(), RequestConfig.DEFAULT, blocking);
+  }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+
+public class HttpHeadersTest {
+
+  @Test
+  public void testGroupedByNameWithoutDuplicates() {
+    HttpHeaders headers = HttpHeaders.builder()
+        .add("header1", "value1")
+        .add("header2", "value2")
+        .add("header1", "value3")
+        .add("header2", "value2")
+        .build();
+
+    assertEquals(3, headers.size());
+    assertEquals(ImmutableListMultimap.of("header1", "value1", "header1", "value3", "header2", "value2"), headers.asMultimap());
+  }
+
+  @Test
+  public void testCaseInsensitiveLookup() {
+    HttpHeaders headers = HttpHeaders.builder()
+        .add("Cache-Control", "public")
+        .add("cache-control", "max-age=10")
+        .build();
+
+    assertEquals(ImmutableList.of("public", "max-age=10"), headers.get("CACHE-CONTROL"));
+    assertEquals("public", headers.getFirst("cache-control"));
+    assertTrue(headers.get("Vary").isEmpty());
+    assertNull(headers.getFirst("Vary"));
+  }
+
+  @Test
+  public void testCommonNamesShared() {
+    HttpHeaders headers = HttpHeaders.builder()
+        .add(new String("Content-Type"), "text/plain")
+        .build();
+    assertSame(HttpHeaders.builder().add("Content-Type", "text/html").build().name(0), headers.name(0));
+  }
+
+  @Test
+  public void testMultimapViewCreatedOnce() {
+    HttpHeaders headers = HttpHeaders.of(ImmutableListMultimap.of("header1", "value1"));
+    assertSame(headers.asMultimap(), headers.asMultimap());
+  }
+
+  @Test
+  public void testEmpty() {
+    assertSame(HttpHeaders.EMPTY, HttpHeaders.of(ImmutableListMultimap.of()));
+    assertSame(HttpHeaders.EMPTY, HttpHeaders.builder().build());
+  }
+
+  @Test
+  public void testAppendTo() {
+    HttpHeaders headers = HttpHeaders.builder()
+        .add("header1", "value1")
+        .add("header2", "value2")
+        .add("header1", "value3")
+        .build();
+    StringBuilder builder = new StringBuilder();
+    headers.appendTo(builder);
+    assertEquals("header1: value1, value3\nheader2: value2\n", builder.toString());
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void testNullValue() {
+    HttpHeaders.builder().add("header1", null);
+  }
+
+}
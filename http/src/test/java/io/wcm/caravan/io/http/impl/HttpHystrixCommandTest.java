@@ -20,6 +20,8 @@
 package io.wcm.caravan.io.http.impl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import org.apache.sling.testing.mock.osgi.junit.OsgiContext;
 import org.junit.Before;
@@ -27,6 +29,7 @@ import org.junit.Rule;
 import org.junit.Test;
 
 import com.google.common.collect.ImmutableMap;
+import com.netflix.hystrix.HystrixCommandProperties.ExecutionIsolationStrategy;
 
 import io.wcm.caravan.io.http.impl.ribbon.CachingLoadBalancerFactory;
 import io.wcm.caravan.io.http.impl.ribbon.LoadBalancerCommandFactory;
@@ -74,4 +77,33 @@ public class HttpHystrixCommandTest {
     assertEquals("testThreadPool", underTest.getThreadPoolKey().name());
   }
 
+  @Test
+  public void test_virtualThreadPool() {
+    context.registerInjectActivateService(new CaravanHttpThreadPoolConfig(), ImmutableMap.<String, Object>builder()
+        .put(CaravanHttpThreadPoolConfig.THREAD_POOL_NAME_PROPERTY, "virtualThreadPool")
+        .put(CaravanHttpThreadPoolConfig.THREAD_EXECUTION_PROPERTY, CaravanHttpThreadPoolConfig.THREAD_EXECUTION_VIRTUAL)
+        .build());
+    context.registerInjectActivateService(new CaravanHttpServiceConfig(), ImmutableMap.<String, Object>builder()
+        .put(CaravanHttpServiceConfig.SERVICE_ID_PROPERTY, SERVICE_NAME)
+        .put(CaravanHttpServiceConfig.RIBBON_HOSTS_PROPERTY, "localhost")
+        .put(CaravanHttpServiceConfig.HYSTRIX_EXECUTIONISOLATIONTHREADPOOLKEY_OVERRIDE_PROPERTY, "virtualThreadPool")
+        .build());
+    assertTrue(HttpHystrixCommand.isVirtualThreadExecution(request));
+    assertEquals(ExecutionIsolationStrategy.SEMAPHORE, HttpHystrixCommand.getIsolationStrategy(request));
+  }
+
+  @Test
+  public void test_platformThreadPool() {
+    context.registerInjectActivateService(new CaravanHttpThreadPoolConfig(), ImmutableMap.<String, Object>builder()
+        .put(CaravanHttpThreadPoolConfig.THREAD_POOL_NAME_PROPERTY, "platformThreadPool")
+        .build());
+    context.registerInjectActivateService(new CaravanHttpServiceConfig(), ImmutableMap.<String, Object>builder()
+        .put(CaravanHttpServiceConfig.SERVICE_ID_PROPERTY, SERVICE_NAME)
+        .put(CaravanHttpServiceConfig.RIBBON_HOSTS_PROPERTY, "localhost")
+        .put(CaravanHttpServiceConfig.HYSTRIX_EXECUTIONISOLATIONTHREADPOOLKEY_OVERRIDE_PROPERTY, "platformThreadPool")
+        .build());
+    assertFalse(HttpHystrixCommand.isVirtualThreadExecution(request));
+    assertEquals(ExecutionIsolationStrategy.THREAD, HttpHystrixCommand.getIsolationStrategy(request));
+  }
+
 }
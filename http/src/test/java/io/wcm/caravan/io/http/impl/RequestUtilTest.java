@@ -107,6 +107,16 @@ public class RequestUtilTest {
     assertEquals(HttpDelete.METHOD_NAME, request.getMethod());
   }
 
+  @Test
+  public void testBuildHttpRequest_ResolvedUrl() {
+    CaravanHttpRequestBuilder template = new CaravanHttpRequestBuilder("test-service").method("get").append("/path")
+        .header("header1", "value1");
+    HttpUriRequest request = RequestUtil.buildHttpRequest("http://host:8080/path", template.build());
+
+    assertEquals("http://host:8080/path", request.getURI().toString());
+    assertEquals("value1", request.getFirstHeader("header1").getValue());
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void testBuildHttpRequest_Invalid() {
     RequestUtil.buildHttpRequest(new CaravanHttpRequestBuilder("test-service").method("invalid").append("http://host").append("/path").build());
@@ -0,0 +1,55 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import com.netflix.loadbalancer.Server;
+
+import io.wcm.caravan.io.http.request.CaravanHttpRequest;
+import io.wcm.caravan.io.http.request.CaravanHttpRequestBuilder;
+
+public class ResolvedRequestTest {
+
+  private final CaravanHttpRequest request = new CaravanHttpRequestBuilder("test-service").append("/path?q=1").build();
+
+  @Test
+  public void testOf() {
+    Server server = new Server("host", 8080);
+    ResolvedRequest underTest = ResolvedRequest.of(request, server, "http://host:8080");
+    assertSame(request, underTest.getRequest());
+    assertSame(server, underTest.getServer());
+    assertEquals("http://host:8080/path?q=1", underTest.getUrl());
+    assertSame(underTest.getUrl(), underTest.getUrl());
+  }
+
+  @Test
+  public void testUnresolved() {
+    CaravanHttpRequest fullUrlRequest = new CaravanHttpRequestBuilder("test-service").append("http://host/path").build();
+    ResolvedRequest underTest = ResolvedRequest.unresolved(fullUrlRequest);
+    assertNull(underTest.getServer());
+    assertEquals("http://host/path", underTest.getUrl());
+  }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl;
+
+import static io.wcm.caravan.io.http.impl.CaravanHttpServiceConfig.HTTP_PARAM_PROTOCOL;
+import static io.wcm.caravan.io.http.impl.CaravanHttpServiceConfig.HTTP_PARAM_RESPONSE_STREAMING;
+import static io.wcm.caravan.io.http.impl.CaravanHttpServiceConfig.HYSTRIX_COMMAND_PREFIX;
+import static io.wcm.caravan.io.http.impl.CaravanHttpServiceConfig.HYSTRIX_PARAM_EXECUTIONISOLATIONTHREADPOOLKEY_OVERRIDE;
+import static io.wcm.caravan.io.http.impl.CaravanHttpServiceConfig.RIBBON_PARAM_LISTOFSERVERS;
+import static io.wcm.caravan.io.http.impl.CaravanHttpThreadPoolConfig.CARAVAN_PARAM_THREAD_EXECUTION;
+import static io.wcm.caravan.io.http.impl.CaravanHttpThreadPoolConfig.CARAVAN_THREADPOOL_PREFIX;
+import static io.wcm.caravan.io.http.impl.CaravanHttpThreadPoolConfig.THREAD_EXECUTION_VIRTUAL;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.commons.configuration.Configuration;
+import org.junit.After;
+import org.junit.Test;
+
+public class ServiceSettingsRegistryTest {
+
+  private static final String SERVICE_ID = "/test/settings/service";
+  private static final String THREAD_POOL = "settingsTestPool";
+
+  private final Configuration config = ArchaiusConfig.getConfiguration();
+
+  @After
+  public void tearDown() {
+    config.clearProperty(SERVICE_ID + RIBBON_PARAM_LISTOFSERVERS);
+    config.clearProperty(SERVICE_ID + HTTP_PARAM_PROTOCOL);
+    config.clearProperty(SERVICE_ID + HTTP_PARAM_RESPONSE_STREAMING);
+    config.clearProperty(HYSTRIX_COMMAND_PREFIX + SERVICE_ID + HYSTRIX_PARAM_EXECUTIONISOLATIONTHREADPOOLKEY_OVERRIDE);
+    config.clearProperty(CARAVAN_THREADPOOL_PREFIX + THREAD_POOL + CARAVAN_PARAM_THREAD_EXECUTION);
+    ServiceSettingsRegistry.remove(SERVICE_ID);
+  }
+
+  @Test
+  public void testDefaults() {
+    ServiceSettings settings = ServiceSettingsRegistry.get(SERVICE_ID);
+    assertEquals(SERVICE_ID, settings.getServiceId());
+    assertFalse(settings.hasValidConfiguration());
+    assertNull(settings.getProtocol());
+    assertFalse(settings.isResponseStreaming());
+    assertNull(settings.getThreadPoolName());
+    assertFalse(settings.isVirtualThreadExecution());
+  }
+
+  @Test
+  public void testSnapshotReused() {
+    assertSame(ServiceSettingsRegistry.get(SERVICE_ID), ServiceSettingsRegistry.get(SERVICE_ID));
+  }
+
+  @Test
+  public void testNullServiceId() {
+    assertSame(ServiceSettingsRegistry.get(null), ServiceSettingsRegistry.get(""));
+  }
+
+  @Test
+  public void testInvalidatedOnConfigurationChange() {
+    ServiceSettings before = ServiceSettingsRegistry.get(SERVICE_ID);
+
+    config.setProperty(SERVICE_ID + RIBBON_PARAM_LISTOFSERVERS, "localhost");
+    config.setProperty(SERVICE_ID + HTTP_PARAM_PROTOCOL, "https");
+    config.setProperty(SERVICE_ID + HTTP_PARAM_RESPONSE_STREAMING, true);
+
+    ServiceSettings after = ServiceSettingsRegistry.get(SERVICE_ID);
+    assertNotSame(before, after);
+    assertTrue(after.hasValidConfiguration());
+    assertEquals("https", after.getProtocol());
+    assertTrue(after.isResponseStreaming());
+  }
+
+  @Test
+  public void testPublish() {
+    ServiceSettings before = ServiceSettingsRegistry.get(SERVICE_ID);
+    ServiceSettingsRegistry.publish(SERVICE_ID);
+    assertNotSame(before, ServiceSettingsRegistry.get(SERVICE_ID));
+  }
+
+  @Test
+  public void testVirtualThreadPool() {
+    config.setProperty(HYSTRIX_COMMAND_PREFIX + SERVICE_ID + HYSTRIX_PARAM_EXECUTIONISOLATIONTHREADPOOLKEY_OVERRIDE, THREAD_POOL);
+    config.setProperty(CARAVAN_THREADPOOL_PREFIX + THREAD_POOL + CARAVAN_PARAM_THREAD_EXECUTION, THREAD_EXECUTION_VIRTUAL);
+
+    ServiceSettings settings = ServiceSettingsRegistry.get(SERVICE_ID);
+    assertEquals(THREAD_POOL, settings.getThreadPoolName());
+    assertTrue(settings.isVirtualThreadExecution());
+  }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import com.damnhandy.uri.template.UriTemplate;
+import com.google.common.collect.ImmutableMap;
+
+public class UriTemplateCacheTest {
+
+  @Test
+  public void testExpand() {
+    assertEquals("/path/1?q=a", UriTemplateCache.expand("/path/{id}{?q}", ImmutableMap.of("id", 1, "q", "a")));
+    assertEquals("/path/2", UriTemplateCache.expand("/path/{id}{?q}", ImmutableMap.of("id", 2)));
+  }
+
+  @Test
+  public void testLiteralNotCompiled() {
+    String template = "/literal/path/" + System.nanoTime();
+    assertSame(template, UriTemplateCache.expand(template, Collections.emptyMap()));
+    assertFalse(UriTemplateCache.hasExpression(template));
+  }
+
+  @Test
+  public void testCompiledOnce() {
+    String template = "/compiled/{id}";
+    assertTrue(UriTemplateCache.hasExpression(template));
+    assertSame(UriTemplateCache.get(template), UriTemplateCache.get(template));
+  }
+
+  @Test
+  public void testPooledInstances() {
+    UriTemplateCache.TemplatePool pool = UriTemplateCache.get("/pooled/{id}");
+    UriTemplate first = pool.acquire();
+    UriTemplate second = pool.acquire();
+    assertNotSame(first, second);
+    assertEquals(0, pool.getIdle());
+
+    pool.release(first);
+    pool.release(second);
+    assertEquals(2, pool.getIdle());
+    assertSame(first, pool.acquire());
+  }
+
+  @Test
+  public void testConcurrentExpand() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<Boolean>> results = new ArrayList<>();
+      for (int i = 0; i < 1000; i++) {
+        int id = i;
+        results.add(executor.submit(() -> ("/concurrent/" + id)
+            .equals(UriTemplateCache.expand("/concurrent/{id}", ImmutableMap.of("id", id)))));
+      }
+      for (Future<Boolean> result : results) {
+        assertTrue(result.get());
+      }
+    }
+    finally {
+      executor.shutdown();
+    }
+    assertTrue(UriTemplateCache.get("/concurrent/{id}").getIdle() <= UriTemplateCache.MAX_POOLED_INSTANCES);
+  }
+
+  @Test
+  public void testBounded() {
+    for (int i = 0; i < UriTemplateCache.MAX_ENTRIES * 2; i++) {
+      UriTemplateCache.expand("/bounded/" + i + "/{id}", ImmutableMap.of("id", i));
+    }
+    assertTrue(UriTemplateCache.size() <= UriTemplateCache.MAX_ENTRIES);
+  }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class VirtualThreadExecutorTest {
+
+  private final VirtualThreadExecutor underTest = new VirtualThreadExecutor();
+
+  @Test
+  public void testExecute() throws InterruptedException {
+    CountDownLatch executed = new CountDownLatch(1);
+    assertTrue(underTest.execute("pool", 1, executed::countDown));
+    assertTrue(executed.await(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testRejectWhenLimitReached() throws InterruptedException {
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch finished = new CountDownLatch(2);
+    Runnable blocking = () -> {
+      try {
+        release.await();
+      }
+      catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+      finished.countDown();
+    };
+
+    assertTrue(underTest.execute("pool", 2, blocking));
+    assertTrue(underTest.execute("pool", 2, blocking));
+    assertFalse(underTest.execute("pool", 2, blocking));
+    assertEquals(2, underTest.getActiveCount("pool"));
+
+    // limits apply per thread pool name
+    CountDownLatch executed = new CountDownLatch(1);
+    assertTrue(underTest.execute("otherPool", 1, executed::countDown));
+    assertTrue(executed.await(5, TimeUnit.SECONDS));
+
+    release.countDown();
+    assertTrue(finished.await(5, TimeUnit.SECONDS));
+    waitForActiveCount("pool", 0);
+    assertTrue(underTest.execute("pool", 2, () -> {
+      // nothing to do
+    }));
+  }
+
+  @Test
+  public void testReleaseOnException() throws InterruptedException {
+    assertTrue(underTest.execute("pool", 1, () -> {
+      throw new IllegalStateException("failed");
+    }));
+    waitForActiveCount("pool", 0);
+  }
+
+  private void waitForActiveCount(String threadPoolName, int expected) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    while (underTest.getActiveCount(threadPoolName) != expected && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(expected, underTest.getActiveCount(threadPoolName));
+  }
+
+}
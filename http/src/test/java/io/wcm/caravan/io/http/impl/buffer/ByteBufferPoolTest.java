@@ -0,0 +1,88 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl.buffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+public class ByteBufferPoolTest {
+
+  @Test
+  public void testAcquireSizeClass() {
+    ByteBufferPool pool = new ByteBufferPool(false, 1024 * 1024);
+    assertEquals(1024, pool.acquire(1).capacity());
+    assertEquals(4 * 1024, pool.acquire(1025).capacity());
+    assertEquals(1024 * 1024, pool.acquire(1024 * 1024).capacity());
+    assertEquals(1024 * 1024 + 1, pool.acquire(1024 * 1024 + 1).capacity());
+  }
+
+  @Test
+  public void testChunkCapacity() {
+    assertEquals(1024, ByteBufferPool.getChunkCapacity(1));
+    assertEquals(4 * 1024, ByteBufferPool.getChunkCapacity(5000));
+    assertEquals(1024 * 1024, ByteBufferPool.getChunkCapacity(10 * 1024 * 1024));
+  }
+
+  @Test
+  public void testReuse() {
+    ByteBufferPool pool = new ByteBufferPool(false, 1024 * 1024);
+    ByteBuffer buffer = pool.acquire(3000);
+    buffer.put((byte)1);
+    pool.release(buffer);
+    assertEquals(4 * 1024, pool.getPooledBytes());
+
+    ByteBuffer reused = pool.acquire(2000);
+    assertSame(buffer, reused);
+    assertEquals(0, reused.position());
+    assertEquals(0, pool.getPooledBytes());
+  }
+
+  @Test
+  public void testMaxPooledBytes() {
+    ByteBufferPool pool = new ByteBufferPool(false, 1024);
+    pool.release(pool.acquire(1024));
+    pool.release(pool.acquire(1024));
+    assertEquals(1024, pool.getPooledBytes());
+  }
+
+  @Test
+  public void testForeignBuffersAreNotPooled() {
+    ByteBufferPool pool = new ByteBufferPool(false, 1024 * 1024);
+    pool.release(ByteBuffer.allocate(1000));
+    pool.release(ByteBuffer.allocateDirect(1024));
+    pool.release(pool.acquire(2 * 1024 * 1024));
+    assertEquals(0, pool.getPooledBytes());
+  }
+
+  @Test
+  public void testDirect() {
+    ByteBufferPool pool = new ByteBufferPool(true, 1024 * 1024);
+    assertTrue(pool.isDirect());
+    assertTrue(pool.acquire(100).isDirect());
+    assertFalse(new ByteBufferPool(false, 0).acquire(100).isDirect());
+  }
+
+}
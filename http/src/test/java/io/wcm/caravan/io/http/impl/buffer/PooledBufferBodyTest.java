@@ -0,0 +1,140 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl.buffer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+import io.wcm.caravan.io.http.response.Body;
+
+public class PooledBufferBodyTest {
+
+  private final ByteBufferPool pool = new ByteBufferPool(false, 16 * 1024 * 1024);
+
+  @Test
+  public void testWriteAndRead() throws IOException {
+    PooledBufferOutputStream out = new PooledBufferOutputStream(pool);
+    out.write('a');
+    out.write("bcd".getBytes(StandardCharsets.UTF_8));
+    PooledBufferBody body = out.toBody();
+
+    assertEquals(Integer.valueOf(4), body.length());
+    assertTrue(body.isRepeatable());
+    assertEquals("abcd", body.asString());
+    assertEquals("abcd", body.asString());
+    assertEquals("abcd", IOUtils.toString(body.asReader()));
+    assertEquals(0, out.size());
+  }
+
+  @Test
+  public void testMultipleChunks() throws IOException {
+    byte[] data = randomBytes(3 * 1024 * 1024 + 17);
+    PooledBufferOutputStream out = new PooledBufferOutputStream(pool);
+    assertEquals(data.length, out.readFrom(new ByteArrayInputStream(data)));
+    PooledBufferBody body = out.toBody();
+
+    assertArrayEquals(data, body.toByteArray());
+    try (InputStream is = body.asInputStream()) {
+      assertArrayEquals(data, IOUtils.toByteArray(is));
+    }
+  }
+
+  @Test
+  public void testDirectBuffers() throws IOException {
+    byte[] data = randomBytes(100 * 1024);
+    PooledBufferOutputStream out = new PooledBufferOutputStream(new ByteBufferPool(true, 1024 * 1024), data.length);
+    out.readFrom(new ByteArrayInputStream(data));
+    PooledBufferBody body = out.toBody();
+    assertArrayEquals(data, body.toByteArray());
+  }
+
+  @Test
+  public void testBuffersReleasedWhenBodyAndStreamsAreClosed() throws IOException {
+    PooledBufferOutputStream out = new PooledBufferOutputStream(pool, 1000);
+    out.write(randomBytes(1000));
+    PooledBufferBody body = out.toBody();
+
+    InputStream is = body.asInputStream();
+    assertEquals(2, body.getRefCount());
+    body.close();
+    assertEquals(0, pool.getPooledBytes());
+
+    // the open stream keeps the buffer alive
+    assertEquals(1000, IOUtils.toByteArray(is).length);
+    is.close();
+    assertEquals(0, body.getRefCount());
+    assertEquals(1024, pool.getPooledBytes());
+  }
+
+  @Test
+  public void testViews() throws IOException {
+    PooledBufferOutputStream out = new PooledBufferOutputStream(pool, 5000);
+    out.write(randomBytes(5000));
+    PooledBufferBody body = out.toBody();
+    assertEquals(5 * 1024, body.getCapacity());
+
+    Body view = body.newView();
+    body.close();
+    try (InputStream is = view.asInputStream()) {
+      assertEquals(5000, IOUtils.toByteArray(is).length);
+    }
+    assertEquals(0, pool.getPooledBytes());
+
+    view.close();
+    view.close();
+    assertEquals(0, body.getRefCount());
+    assertEquals(5 * 1024, pool.getPooledBytes());
+  }
+
+  @Test(expected = IOException.class)
+  public void testReadAfterClose() throws IOException {
+    PooledBufferOutputStream out = new PooledBufferOutputStream(pool);
+    out.write(1);
+    PooledBufferBody body = out.toBody();
+    body.close();
+    body.asInputStream();
+  }
+
+  @Test
+  public void testResetReleasesBuffers() {
+    PooledBufferOutputStream out = new PooledBufferOutputStream(pool, 1000);
+    out.write(randomBytes(1000), 0, 1000);
+    out.reset();
+    assertEquals(0, out.size());
+    assertEquals(1024, pool.getPooledBytes());
+  }
+
+  private static byte[] randomBytes(int length) {
+    byte[] data = new byte[length];
+    new Random(length).nextBytes(data);
+    return data;
+  }
+
+}
@@ -0,0 +1,316 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.base.Ticker;
+
+import io.wcm.caravan.io.http.request.CaravanHttpRequest;
+import io.wcm.caravan.io.http.request.CaravanHttpRequestBuilder;
+import io.wcm.caravan.io.http.response.CaravanHttpResponse;
+import io.wcm.caravan.io.http.response.CaravanHttpResponseBuilder;
+
+public class CaravanHttpResponseCacheTest {
+
+  private static final String SERVICE_ID = "test-service";
+
+  private FakeTicker ticker;
+  private CaravanHttpResponseCache underTest;
+
+  @Before
+  public void setUp() {
+    ticker = new FakeTicker();
+    underTest = new CaravanHttpResponseCache(1000, ticker);
+  }
+
+  @Test
+  public void testIsCacheable() {
+    assertTrue(underTest.isCacheable(request("/path").build()));
+    assertFalse(underTest.isCacheable(new CaravanHttpRequestBuilder().append("http://localhost/path").build()));
+    assertFalse(underTest.isCacheable(request("/path").method("POST").build()));
+    assertFalse(underTest.isCacheable(request("/path").header("Cache-Control", "no-store").build()));
+  }
+
+  @Test
+  public void testPutAndGet() throws Exception {
+    CaravanHttpRequest request = request("/path").build();
+    CaravanHttpResponse stored = underTest.put(request, response("max-age=60", "body"));
+    assertEquals("body", stored.body().asString());
+
+    ticker.advance(10);
+    CaravanHttpResponse cached = underTest.get(request);
+    assertNotNull(cached);
+    assertEquals(200, cached.status());
+    assertEquals("body", cached.body().asString());
+    assertEquals("10", cached.headers().get("Age").iterator().next());
+
+    ticker.advance(50);
+    assertNull(underTest.get(request));
+    assertEquals(0, underTest.size());
+  }
+
+  @Test
+  public void testNotStored() throws Exception {
+    CaravanHttpRequest request = request("/path").build();
+    underTest.put(request, response("no-store, max-age=60", "body"));
+    underTest.put(request, response("private, max-age=60", "body"));
+    underTest.put(request, response("no-cache", "body"));
+    underTest.put(request, response(null, "body"));
+    underTest.put(request, new CaravanHttpResponseBuilder().status(500).reason("Error").header("Cache-Control", "max-age=60").body(new byte[0]).build());
+    assertEquals(0, underTest.size());
+  }
+
+  @Test
+  public void testAgeHeaderOfResponse() throws Exception {
+    CaravanHttpRequest request = request("/path").build();
+    underTest.put(request, new CaravanHttpResponseBuilder().status(200).reason("OK")
+        .header("Cache-Control", "max-age=60").header("Age", "55").body(new byte[0]).build());
+
+    ticker.advance(2);
+    assertEquals("57", underTest.get(request).headers().get("Age").iterator().next());
+    ticker.advance(3);
+    assertNull(underTest.get(request));
+  }
+
+  @Test
+  public void testRequestCacheControl() throws Exception {
+    underTest.put(request("/path").build(), response("max-age=60", "body"));
+    ticker.advance(20);
+
+    assertNull(underTest.get(request("/path").header("Cache-Control", "no-cache").build()));
+    assertNull(underTest.get(request("/path").header("Cache-Control", "max-age=10").build()));
+    assertNotNull(underTest.get(request("/path").header("cache-control", "max-age=30").build()));
+  }
+
+  @Test
+  public void testNormalizedUrl() throws Exception {
+    underTest.put(request("/path?b=2&a=1").build(), response("max-age=60", "body"));
+    assertNotNull(underTest.get(request("/path?a=1&b=2").build()));
+    assertNull(underTest.get(request("/path?a=1").build()));
+    assertNull(underTest.get(new CaravanHttpRequestBuilder("other-service").append("/path?a=1&b=2").build()));
+  }
+
+  @Test
+  public void testVary() throws Exception {
+    CaravanHttpRequest german = request("/path").header("Accept-Language", "de").build();
+    CaravanHttpRequest english = request("/path").header("Accept-Language", "en").build();
+    underTest.put(german, new CaravanHttpResponseBuilder().status(200).reason("OK")
+        .header("Cache-Control", "max-age=60").header("Vary", "Accept-Language").body("Hallo", StandardCharsets.UTF_8).build());
+
+    assertEquals("Hallo", underTest.get(request("/path").header("accept-language", "DE").build()).body().asString());
+    assertNull(underTest.get(english));
+    assertNotNull(underTest.get(german));
+  }
+
+  @Test
+  public void testVaryAsterisk() throws Exception {
+    CaravanHttpRequest request = request("/path").build();
+    underTest.put(request, new CaravanHttpResponseBuilder().status(200).reason("OK")
+        .header("Cache-Control", "max-age=60").header("Vary", "*").body(new byte[0]).build());
+    assertNull(underTest.get(request));
+  }
+
+  @Test
+  public void testAuthorizedRequest() throws Exception {
+    CaravanHttpRequest request = request("/path").header("Authorization", "Basic xyz").build();
+    underTest.put(request, response("max-age=60", "body"));
+    assertNull(underTest.get(request));
+
+    underTest.put(request, response("public, max-age=60", "body"));
+    assertNotNull(underTest.get(request));
+  }
+
+  @Test
+  public void testSizeBound() throws Exception {
+    underTest.put(request("/large").build(), response("max-age=60", new String(new byte[2000])));
+    assertEquals(0, underTest.size());
+
+    for (int i = 0; i < 20; i++) {
+      CaravanHttpRequest request = request("/path" + i).build();
+      underTest.get(request);
+      underTest.put(request, response("max-age=60", new String(new byte[100])));
+    }
+    assertTrue(underTest.getWeightedSize() <= 1000);
+  }
+
+  @Test
+  public void testFrequencyAwareAdmission() throws Exception {
+    String body = new String(new byte[400]);
+    CaravanHttpRequest hot1 = request("/hot1").build();
+    CaravanHttpRequest hot2 = request("/hot2").build();
+    for (int i = 0; i < 5; i++) {
+      underTest.get(hot1);
+      underTest.get(hot2);
+    }
+    underTest.put(hot1, response("max-age=60", body));
+    underTest.put(hot2, response("max-age=60", body));
+
+    // a single request to another resource must not evict the frequently requested ones
+    CaravanHttpRequest cold = request("/cold").build();
+    underTest.get(cold);
+    underTest.put(cold, response("max-age=60", body));
+    assertNull(underTest.get(cold));
+    assertNotNull(underTest.get(hot1));
+    assertNotNull(underTest.get(hot2));
+
+    // expired entries are replaced regardless of their frequency
+    ticker.advance(60);
+    underTest.put(cold, response("max-age=60", body));
+    assertNotNull(underTest.get(cold));
+  }
+
+  @Test
+  public void testReplaceEntry() throws Exception {
+    String body = new String(new byte[400]);
+    CaravanHttpRequest hot = request("/hot").build();
+    CaravanHttpRequest cold = request("/cold").build();
+    for (int i = 0; i < 5; i++) {
+      underTest.get(hot);
+    }
+    underTest.put(hot, response("max-age=60", body));
+    underTest.put(cold, response("max-age=60", body));
+
+    // the weight of the replaced entry is freed without evicting other entries
+    underTest.put(cold, response("max-age=60", body + "x"));
+    assertNotNull(underTest.get(hot));
+    assertEquals(body + "x", underTest.get(cold).body().asString());
+
+    // a replacement that is not admitted keeps the existing entry
+    underTest.put(cold, response("max-age=60", new String(new byte[2000])));
+    assertEquals(body + "x", underTest.get(cold).body().asString());
+  }
+
+  @Test
+  public void testOffHeap() throws Exception {
+    CaravanHttpResponseCache offHeapCache = new CaravanHttpResponseCache(100 * 1024, true, null, ticker);
+    String body = StringUtils.repeat("x", 5000);
+    CaravanHttpRequest request = request("/path").build();
+    CaravanHttpResponse stored = offHeapCache.put(request, response("max-age=60", body));
+    assertEquals(body, stored.body().asString());
+    assertEquals(5 * 1024, offHeapCache.getOffHeapSize());
+
+    CaravanHttpResponse cached = offHeapCache.get(request);
+    assertEquals(body, cached.body().asString());
+
+    // views stay readable after the entry was released
+    offHeapCache.clear();
+    assertEquals(0, offHeapCache.getOffHeapSize());
+    assertEquals(body, cached.body().asString());
+    cached.body().close();
+    stored.body().close();
+  }
+
+  @Test
+  public void testMetrics() throws Exception {
+    MetricRegistry metricRegistry = new MetricRegistry();
+    underTest.registerMetrics(metricRegistry);
+
+    CaravanHttpRequest request = request("/path").build();
+    underTest.get(request);
+    underTest.put(request, response("max-age=60", "body"));
+    underTest.get(request);
+
+    assertEquals(1L, metricRegistry.getGauges().get("caravan.http.responseCache.hits").getValue());
+    assertEquals(1L, metricRegistry.getGauges().get("caravan.http.responseCache.misses").getValue());
+    assertEquals(1, metricRegistry.getGauges().get("caravan.http.responseCache.entries").getValue());
+
+    underTest.unregisterMetrics(metricRegistry);
+    assertTrue(metricRegistry.getNames().isEmpty());
+  }
+
+  @Test
+  public void testDiskCache() throws Exception {
+    File directory = Files.createTempDirectory("caravan-response-cache").toFile();
+    try {
+      DiskResponseCache diskCache = new DiskResponseCache(directory, 1024 * 1024, 64 * 1024, System::currentTimeMillis);
+      CaravanHttpResponseCache cache = new CaravanHttpResponseCache(1000, false, diskCache, ticker);
+      CaravanHttpRequest request = request("/path").build();
+      cache.put(request, response("max-age=60", "body"));
+      diskCache.close();
+
+      // a new instance finds the response on disk and promotes it to memory
+      diskCache = new DiskResponseCache(directory, 1024 * 1024, 64 * 1024, System::currentTimeMillis);
+      cache = new CaravanHttpResponseCache(1000, false, diskCache, ticker);
+      assertEquals("body", cache.get(request).body().asString());
+      assertEquals(1, cache.getDiskHitCount());
+      assertEquals(1, cache.size());
+
+      assertEquals("body", cache.get(request).body().asString());
+      assertEquals(1, cache.getDiskHitCount());
+      assertEquals(2, cache.getHitCount());
+      diskCache.close();
+    }
+    finally {
+      FileUtils.deleteDirectory(directory);
+    }
+  }
+
+  @Test
+  public void testNormalizeUrl() {
+    assertEquals("/path", CacheKey.normalizeUrl("/path#fragment"));
+    assertEquals("/path?a=2&a=1&b=1", CacheKey.normalizeUrl("/path?b=1&a=2&a=1"));
+    assertEquals("http://host:8080/Path?a=1", CacheKey.normalizeUrl("HTTP://Host:8080/Path?a=1"));
+    assertEquals("/path", CacheKey.normalizeUrl("/path?"));
+  }
+
+  private static CaravanHttpRequestBuilder request(String path) {
+    return new CaravanHttpRequestBuilder(SERVICE_ID).append(path);
+  }
+
+  private static CaravanHttpResponse response(String cacheControl, String body) {
+    CaravanHttpResponseBuilder builder = new CaravanHttpResponseBuilder().status(200).reason("OK");
+    if (cacheControl != null) {
+      builder.header("Cache-Control", cacheControl);
+    }
+    return builder.body(body, StandardCharsets.UTF_8).build();
+  }
+
+  private static final class FakeTicker extends Ticker {
+
+    private long nanos;
+
+    @Override
+    public long read() {
+      return nanos;
+    }
+
+    void advance(long seconds) {
+      nanos += TimeUnit.SECONDS.toNanos(seconds);
+    }
+
+  }
+
+}
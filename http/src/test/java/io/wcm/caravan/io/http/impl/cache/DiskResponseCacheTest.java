@@ -0,0 +1,244 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import io.wcm.caravan.io.http.request.CaravanHttpRequest;
+import io.wcm.caravan.io.http.request.CaravanHttpRequestBuilder;
+import io.wcm.caravan.io.http.response.CaravanHttpResponse;
+import io.wcm.caravan.io.http.response.CaravanHttpResponseBuilder;
+
+public class DiskResponseCacheTest {
+
+  private static final String SERVICE_ID = "test-service";
+  private static final int SEGMENT_BYTES = 4096;
+  private static final List<String> NO_VARY = Collections.emptyList();
+
+  private File directory;
+  private FakeClock clock;
+  private DiskResponseCache underTest;
+
+  @Before
+  public void setUp() throws Exception {
+    directory = Files.createTempDirectory("caravan-response-cache").toFile();
+    clock = new FakeClock();
+    underTest = open();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    underTest.close();
+    FileUtils.deleteDirectory(directory);
+  }
+
+  @Test
+  public void testPutAndGet() throws Exception {
+    CacheKey key = key("/path");
+    assertTrue(underTest.put(key, NO_VARY, response("body"), 5, 60));
+
+    clock.advance(10);
+    DiskResponseCache.Hit hit = underTest.get(key);
+    assertNotNull(hit);
+    assertEquals(15, hit.getAgeSeconds());
+    assertEquals(60, hit.getFreshnessLifetime());
+    CaravanHttpResponse response = hit.getResponse().toResponse();
+    assertEquals(200, response.status());
+    assertEquals("OK", response.reason());
+    assertEquals("max-age=60", response.headers().get("Cache-Control").iterator().next());
+    assertEquals("body", response.body().asString());
+
+    assertNull(underTest.get(key("/other")));
+  }
+
+  @Test
+  public void testReplace() throws Exception {
+    CacheKey key = key("/path");
+    underTest.put(key, NO_VARY, response("old"), 0, 60);
+    underTest.put(key, NO_VARY, response("new"), 0, 60);
+
+    assertEquals(1, underTest.size());
+    assertEquals("new", underTest.get(key).getResponse().toResponse().body().asString());
+  }
+
+  @Test
+  public void testReopen() throws Exception {
+    List<String> varyNames = ImmutableList.of("accept");
+    CaravanHttpRequest request = new CaravanHttpRequestBuilder(SERVICE_ID).append("/path").header("Accept", "text/plain").build();
+    underTest.put(CacheKey.create(request, varyNames), varyNames, response("body"), 0, 60);
+    underTest.close();
+
+    clock.advance(30);
+    underTest = open();
+    assertEquals(1, underTest.size());
+    assertEquals(varyNames, underTest.getVaryHeaderNames(CacheKey.primaryKey(request)));
+    DiskResponseCache.Hit hit = underTest.get(CacheKey.create(request, varyNames));
+    assertEquals(30, hit.getAgeSeconds());
+    assertEquals("body", hit.getResponse().toResponse().body().asString());
+  }
+
+  @Test
+  public void testExpired() throws Exception {
+    CacheKey key = key("/path");
+    underTest.put(key, NO_VARY, response("body"), 0, 60);
+    clock.advance(60);
+    assertNull(underTest.get(key));
+    assertEquals(0, underTest.size());
+  }
+
+  @Test
+  public void testExpiredAfterReopen() throws Exception {
+    underTest.put(key("/short"), NO_VARY, response("body"), 0, 10);
+    underTest.put(key("/long"), NO_VARY, response("body"), 0, 60);
+    underTest.close();
+
+    clock.advance(30);
+    underTest = open();
+    assertEquals(1, underTest.size());
+    assertNotNull(underTest.get(key("/long")));
+  }
+
+  @Test
+  public void testSizeEviction() throws Exception {
+    String body = StringUtils.repeat("x", 1500);
+    for (int i = 0; i < 10; i++) {
+      assertTrue(underTest.put(key("/path" + i), NO_VARY, response(body), 0, 60));
+    }
+
+    // two records fit into a segment, only the latest two segments are kept
+    assertEquals(2 * SEGMENT_BYTES, underTest.getSize());
+    assertEquals(4, underTest.size());
+    assertNull(underTest.get(key("/path5")));
+    assertNotNull(underTest.get(key("/path6")));
+    assertEquals(2, directory.listFiles().length);
+
+    assertFalse(underTest.put(key("/large"), NO_VARY, response(StringUtils.repeat("x", SEGMENT_BYTES)), 0, 60));
+  }
+
+  @Test
+  public void testExpiredSegmentsDeleted() throws Exception {
+    String body = StringUtils.repeat("x", 1500);
+    underTest.put(key("/path1"), NO_VARY, response(body), 0, 10);
+    underTest.put(key("/path2"), NO_VARY, response(body), 0, 10);
+    clock.advance(20);
+
+    underTest.put(key("/path3"), NO_VARY, response(body), 0, 60);
+    assertEquals(1, underTest.size());
+    assertEquals(SEGMENT_BYTES, underTest.getSize());
+  }
+
+  @Test
+  public void testCorruptedRecordIgnored() throws Exception {
+    underTest.put(key("/path1"), NO_VARY, response("body1"), 0, 60);
+    underTest.put(key("/path2"), NO_VARY, response("body2"), 0, 60);
+    underTest.close();
+
+    // an invalid length in the header of the second record ends the scan
+    File segment = directory.listFiles()[0];
+    String content = FileUtils.readFileToString(segment, StandardCharsets.ISO_8859_1);
+    try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+      file.seek(content.lastIndexOf("\u00CA\u007A\u0000\u0001") + 4);
+      file.writeInt(Integer.MAX_VALUE);
+    }
+
+    underTest = open();
+    assertEquals(1, underTest.size());
+    assertNotNull(underTest.get(key("/path1")));
+
+    // new records are appended after the last valid one
+    underTest.put(key("/path3"), NO_VARY, response("body3"), 0, 60);
+    underTest.close();
+    underTest = open();
+    assertEquals(2, underTest.size());
+    assertNotNull(underTest.get(key("/path3")));
+  }
+
+  @Test
+  public void testCorruptedBodyIsMiss() throws Exception {
+    underTest.put(key("/path1"), NO_VARY, response("body1"), 0, 60);
+    underTest.put(key("/path2"), NO_VARY, response("body2"), 0, 60);
+    underTest.close();
+
+    File segment = directory.listFiles()[0];
+    String content = FileUtils.readFileToString(segment, StandardCharsets.ISO_8859_1);
+    try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+      file.seek(content.indexOf("body2"));
+      file.write('X');
+    }
+
+    // bodies are not read at startup, the checksum is verified when the response is read
+    underTest = open();
+    assertEquals(2, underTest.size());
+    assertNull(underTest.get(key("/path2")));
+    assertEquals(1, underTest.size());
+    assertEquals("body1", underTest.get(key("/path1")).getResponse().toResponse().body().asString());
+  }
+
+  private DiskResponseCache open() throws Exception {
+    return new DiskResponseCache(directory, 2 * SEGMENT_BYTES, SEGMENT_BYTES, clock);
+  }
+
+  private static CacheKey key(String path) {
+    return CacheKey.create(new CaravanHttpRequestBuilder(SERVICE_ID).append(path).build(), NO_VARY);
+  }
+
+  private static CachedResponse response(String body) throws Exception {
+    return CachedResponse.of(new CaravanHttpResponseBuilder().status(200).reason("OK")
+        .header("Cache-Control", "max-age=60")
+        .body(body, StandardCharsets.UTF_8)
+        .build());
+  }
+
+  private static final class FakeClock implements LongSupplier {
+
+    private long millis = 1000000;
+
+    @Override
+    public long getAsLong() {
+      return millis;
+    }
+
+    void advance(long seconds) {
+      millis += seconds * 1000;
+    }
+
+  }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.wcm.caravan.io.http.request.CaravanHttpRequest;
+import io.wcm.caravan.io.http.request.CaravanHttpRequestBuilder;
+import io.wcm.caravan.io.http.response.CaravanHttpResponse;
+import io.wcm.caravan.io.http.response.CaravanHttpResponseBuilder;
+import rx.Observable;
+import rx.observers.TestSubscriber;
+import rx.subjects.PublishSubject;
+
+public class RequestCoalescerTest {
+
+  private RequestCoalescer underTest;
+  private PublishSubject<CaravanHttpResponse> upstream;
+  private AtomicInteger subscriptions;
+  private Observable<CaravanHttpResponse> countingUpstream;
+
+  @Before
+  public void setUp() {
+    underTest = new RequestCoalescer();
+    upstream = PublishSubject.create();
+    subscriptions = new AtomicInteger();
+    countingUpstream = upstream.doOnSubscribe(() -> subscriptions.incrementAndGet());
+  }
+
+  @Test
+  public void testIsCoalescable() {
+    assertTrue(underTest.isCoalescable(request("corr1")));
+    assertFalse(underTest.isCoalescable(new CaravanHttpRequestBuilder("service").method("POST").append("/path").build()));
+    assertFalse(underTest.isCoalescable(new CaravanHttpRequestBuilder().append("http://localhost/path").build()));
+  }
+
+  @Test
+  public void testIdenticalRequestsShareUpstream() throws Exception {
+    TestSubscriber<CaravanHttpResponse> first = new TestSubscriber<>();
+    TestSubscriber<CaravanHttpResponse> second = new TestSubscriber<>();
+    underTest.execute(request("corr1"), countingUpstream).subscribe(first);
+    underTest.execute(request("corr2"), countingUpstream).subscribe(second);
+    assertEquals(1, subscriptions.get());
+    assertEquals(1, underTest.getInFlightCount());
+
+    upstream.onNext(new CaravanHttpResponseBuilder().status(200).reason("OK").body("body", StandardCharsets.UTF_8).build());
+    upstream.onCompleted();
+
+    first.assertCompleted();
+    second.assertCompleted();
+    CaravanHttpResponse firstResponse = first.getOnNextEvents().get(0);
+    CaravanHttpResponse secondResponse = second.getOnNextEvents().get(0);
+    assertNotSame(firstResponse, secondResponse);
+    assertEquals("body", firstResponse.body().asString());
+    assertEquals("body", secondResponse.body().asString());
+    assertEquals(0, underTest.getInFlightCount());
+  }
+
+  @Test
+  public void testRequestAfterCompletionIsExecutedAgain() {
+    underTest.execute(request("corr1"), countingUpstream).subscribe(new TestSubscriber<>());
+    upstream.onNext(new CaravanHttpResponseBuilder().status(200).reason("OK").body(new byte[0]).build());
+    upstream.onCompleted();
+
+    PublishSubject<CaravanHttpResponse> nextUpstream = PublishSubject.create();
+    TestSubscriber<CaravanHttpResponse> subscriber = new TestSubscriber<>();
+    underTest.execute(request("corr1"), nextUpstream).subscribe(subscriber);
+    assertEquals(1, underTest.getInFlightCount());
+    subscriber.assertNoTerminalEvent();
+  }
+
+  @Test
+  public void testErrorIsShared() {
+    TestSubscriber<CaravanHttpResponse> first = new TestSubscriber<>();
+    TestSubscriber<CaravanHttpResponse> second = new TestSubscriber<>();
+    underTest.execute(request("corr1"), countingUpstream).subscribe(first);
+    underTest.execute(request("corr2"), countingUpstream).subscribe(second);
+
+    upstream.onError(new IllegalStateException());
+
+    first.assertError(IllegalStateException.class);
+    second.assertError(IllegalStateException.class);
+    assertEquals(0, underTest.getInFlightCount());
+  }
+
+  @Test
+  public void testCreateKey() {
+    assertEquals(RequestCoalescer.createKey(request("corr1")), RequestCoalescer.createKey(request("corr2")));
+    CaravanHttpRequest withHeader = new CaravanHttpRequestBuilder("service").append("/path").header("Accept", "text/plain").build();
+    assertNotEquals(RequestCoalescer.createKey(request("corr1")), RequestCoalescer.createKey(withHeader));
+  }
+
+  private static CaravanHttpRequest request(String correlationId) {
+    return new CaravanHttpRequestBuilder("service").append("/path").correlationId(correlationId).build();
+  }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl.limit;
+
+import static io.wcm.caravan.io.http.impl.limit.AdaptiveConcurrencyLimiter.INITIAL_LIMIT;
+import static io.wcm.caravan.io.http.impl.limit.AdaptiveConcurrencyLimiter.MIN_LIMIT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+  private static final long RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+  @Test
+  public void testInitialLimit() {
+    AdaptiveConcurrencyLimiter underTest = new AdaptiveConcurrencyLimiter(1000);
+    assertEquals(INITIAL_LIMIT, underTest.getLimit());
+    for (int i = 1; i <= INITIAL_LIMIT; i++) {
+      assertEquals(i, underTest.tryAcquire());
+    }
+    assertEquals(-1, underTest.tryAcquire());
+    assertEquals(INITIAL_LIMIT, underTest.getInFlight());
+
+    underTest.release();
+    assertEquals(INITIAL_LIMIT, underTest.tryAcquire());
+  }
+
+  @Test
+  public void testInitialLimitCappedByMaxLimit() {
+    AdaptiveConcurrencyLimiter underTest = new AdaptiveConcurrencyLimiter(5);
+    assertEquals(5, underTest.getLimit());
+    assertEquals(MIN_LIMIT, new AdaptiveConcurrencyLimiter(0).getLimit());
+  }
+
+  @Test
+  public void testIncreaseWithStableResponseTimes() {
+    AdaptiveConcurrencyLimiter underTest = new AdaptiveConcurrencyLimiter(1000);
+    saturate(underTest, RTT, 10);
+    assertTrue(underTest.getLimit() > INITIAL_LIMIT);
+  }
+
+  @Test
+  public void testIncreaseLimitedByMaxLimit() {
+    AdaptiveConcurrencyLimiter underTest = new AdaptiveConcurrencyLimiter(30);
+    saturate(underTest, RTT, 10);
+    assertEquals(30, underTest.getLimit());
+
+    underTest.setMaxLimit(25);
+    assertEquals(25, underTest.getLimit());
+  }
+
+  @Test
+  public void testNoIncreaseIfApplicationLimited() {
+    AdaptiveConcurrencyLimiter underTest = new AdaptiveConcurrencyLimiter(1000);
+    for (int i = 0; i < 100; i++) {
+      int inFlight = underTest.tryAcquire();
+      underTest.release(RTT, inFlight, false);
+    }
+    assertEquals(INITIAL_LIMIT, underTest.getLimit());
+  }
+
+  @Test
+  public void testDecreaseWithGrowingResponseTimes() {
+    AdaptiveConcurrencyLimiter underTest = new AdaptiveConcurrencyLimiter(1000);
+    saturate(underTest, RTT, 1);
+    int limit = underTest.getLimit();
+
+    saturate(underTest, RTT * 10, 1);
+    assertTrue(underTest.getLimit() < limit);
+  }
+
+  @Test
+  public void testBackoffOnFailures() {
+    AdaptiveConcurrencyLimiter underTest = new AdaptiveConcurrencyLimiter(1000);
+    int inFlight = underTest.tryAcquire();
+    underTest.release(RTT, inFlight, true);
+    assertEquals((int)(INITIAL_LIMIT * AdaptiveConcurrencyLimiter.BACKOFF_RATIO), underTest.getLimit());
+    assertEquals(0, underTest.getInFlight());
+
+    for (int i = 0; i < 100; i++) {
+      inFlight = underTest.tryAcquire();
+      underTest.release(RTT, inFlight, true);
+    }
+    assertEquals(MIN_LIMIT, underTest.getLimit());
+  }
+
+  /**
+   * Fills the current limit with requests and completes them all with the given response time.
+   */
+  private static void saturate(AdaptiveConcurrencyLimiter limiter, long rttNanos, int rounds) {
+    for (int round = 0; round < rounds; round++) {
+      int limit = limiter.getLimit();
+      for (int i = 0; i < limit; i++) {
+        limiter.tryAcquire();
+      }
+      for (int i = 0; i < limit; i++) {
+        limiter.release(rttNanos, limit, false);
+      }
+    }
+  }
+
+}
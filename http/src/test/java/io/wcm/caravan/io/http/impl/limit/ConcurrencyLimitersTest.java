@@ -0,0 +1,108 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl.limit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.wcm.caravan.io.http.ConcurrencyLimitExceededRuntimeException;
+import io.wcm.caravan.io.http.impl.ArchaiusConfig;
+import io.wcm.caravan.io.http.impl.CaravanHttpServiceConfig;
+import io.wcm.caravan.io.http.request.CaravanHttpRequest;
+import io.wcm.caravan.io.http.request.CaravanHttpRequestBuilder;
+import io.wcm.caravan.io.http.response.CaravanHttpResponse;
+import rx.Observable;
+import rx.Subscription;
+import rx.observers.TestSubscriber;
+import rx.subjects.PublishSubject;
+
+public class ConcurrencyLimitersTest {
+
+  private static final String SERVICE_ID = "/test/limit";
+
+  private CaravanHttpRequest request;
+  private ConcurrencyLimiters underTest;
+
+  @Before
+  public void setUp() {
+    ArchaiusConfig.initialize();
+    request = new CaravanHttpRequestBuilder(SERVICE_ID).append("/path").build();
+    underTest = new ConcurrencyLimiters();
+  }
+
+  @After
+  public void tearDown() {
+    ArchaiusConfig.getConfiguration().clearProperty(SERVICE_ID + CaravanHttpServiceConfig.HTTP_PARAM_ADAPTIVE_CONCURRENCY_LIMIT);
+    ArchaiusConfig.getConfiguration().clearProperty(SERVICE_ID + CaravanHttpServiceConfig.HTTP_PARAM_MAX_CONCURRENT_REQUESTS);
+  }
+
+  private void enable(int maxConcurrentRequests) {
+    ArchaiusConfig.getConfiguration().setProperty(SERVICE_ID + CaravanHttpServiceConfig.HTTP_PARAM_ADAPTIVE_CONCURRENCY_LIMIT, true);
+    ArchaiusConfig.getConfiguration().setProperty(SERVICE_ID + CaravanHttpServiceConfig.HTTP_PARAM_MAX_CONCURRENT_REQUESTS,
+        maxConcurrentRequests);
+  }
+
+  @Test
+  public void testDisabled() {
+    Observable<CaravanHttpResponse> response = Observable.never();
+    assertSame(response, underTest.limit(request, response));
+  }
+
+  @Test
+  public void testRejectWhenLimitReached() {
+    enable(1);
+    PublishSubject<CaravanHttpResponse> pending = PublishSubject.create();
+    TestSubscriber<CaravanHttpResponse> first = new TestSubscriber<>();
+    underTest.limit(request, pending).subscribe(first);
+
+    TestSubscriber<CaravanHttpResponse> second = new TestSubscriber<>();
+    underTest.limit(request, Observable.never()).subscribe(second);
+    second.assertNoValues();
+    assertEquals(1, second.getOnErrorEvents().size());
+    assertTrue(second.getOnErrorEvents().get(0) instanceof ConcurrencyLimitExceededRuntimeException);
+    assertSame(request, ((ConcurrencyLimitExceededRuntimeException)second.getOnErrorEvents().get(0)).getRequest());
+
+    pending.onError(new RuntimeException("failed"));
+    assertEquals(0, underTest.get(SERVICE_ID, 1).getInFlight());
+  }
+
+  @Test
+  public void testReleaseOnUnsubscribe() {
+    enable(1);
+    Subscription subscription = underTest.limit(request, Observable.never()).subscribe(new TestSubscriber<>());
+    assertEquals(1, underTest.get(SERVICE_ID, 1).getInFlight());
+
+    subscription.unsubscribe();
+    assertEquals(0, underTest.get(SERVICE_ID, 1).getInFlight());
+  }
+
+  @Test
+  public void testMaxLimitUpdated() {
+    enable(1);
+    assertEquals(1, underTest.get(SERVICE_ID, 1).getLimit());
+    assertEquals(5, underTest.get(SERVICE_ID, 5).getMaxLimit());
+  }
+
+}
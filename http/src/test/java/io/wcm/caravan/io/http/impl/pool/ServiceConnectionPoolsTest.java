@@ -0,0 +1,218 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl.pool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Future;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.util.EntityUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.codahale.metrics.MetricRegistry;
+import com.sun.net.httpserver.HttpServer;
+
+import io.wcm.caravan.io.http.impl.ArchaiusConfig;
+import io.wcm.caravan.io.http.impl.CaravanHttpServiceConfig;
+
+public class ServiceConnectionPoolsTest {
+
+  private static final String SERVICE_ID = "/test/pool";
+  private static final String METRIC_PREFIX = "caravan.http.pool." + SERVICE_ID + ".";
+
+  private HttpServer server;
+  private String url;
+  private MetricRegistry metricRegistry;
+  private ServiceConnectionPools underTest;
+
+  @Before
+  public void setUp() throws IOException {
+    ArchaiusConfig.initialize();
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/", exchange -> {
+      byte[] response = "ok".getBytes();
+      exchange.sendResponseHeaders(200, response.length);
+      try (OutputStream os = exchange.getResponseBody()) {
+        os.write(response);
+      }
+    });
+    server.start();
+    url = "http://localhost:" + server.getAddress().getPort() + "/";
+    metricRegistry = new MetricRegistry();
+    underTest = new ServiceConnectionPools(metricRegistry);
+  }
+
+  @After
+  public void tearDown() {
+    underTest.close();
+    server.stop(0);
+    setProperty(CaravanHttpServiceConfig.HTTP_PARAM_MAX_CONNECTIONS_PER_ROUTE, null);
+    setProperty(CaravanHttpServiceConfig.HTTP_PARAM_MAX_TOTAL_CONNECTIONS, null);
+    setProperty(CaravanHttpServiceConfig.HTTP_PARAM_CONNECTION_TTL_MS, null);
+    setProperty(CaravanHttpServiceConfig.HTTP_PARAM_IDLE_CONNECTION_TIMEOUT_MS, null);
+  }
+
+  private static void setProperty(String param, Object value) {
+    if (value == null) {
+      ArchaiusConfig.getConfiguration().clearProperty(SERVICE_ID + param);
+    }
+    else {
+      ArchaiusConfig.getConfiguration().setProperty(SERVICE_ID + param, value);
+    }
+  }
+
+  @Test
+  public void testSharedPool() {
+    assertNull(underTest.get(SERVICE_ID));
+    assertNull(underTest.get(null));
+    assertTrue(metricRegistry.getNames().isEmpty());
+  }
+
+  @Test
+  public void testBlockingPool() throws IOException {
+    setProperty(CaravanHttpServiceConfig.HTTP_PARAM_MAX_CONNECTIONS_PER_ROUTE, 2);
+    ServiceConnectionPool pool = underTest.get(SERVICE_ID);
+    assertNotNull(pool);
+    assertSame(pool, underTest.get(SERVICE_ID));
+
+    try (CloseableHttpResponse response = pool.getHttpClient().execute(new HttpGet(url))) {
+      assertEquals(1, pool.getLeased());
+      assertEquals(1, metricRegistry.getGauges().get(METRIC_PREFIX + "leased").getValue());
+      EntityUtils.consume(response.getEntity());
+    }
+    assertEquals(0, pool.getLeased());
+    assertEquals(1, pool.getAvailable());
+    assertEquals(0, pool.getPending());
+    assertEquals(1, pool.getLeaseWait().getCount());
+    assertEquals(1, metricRegistry.getTimers().get(METRIC_PREFIX + "leaseWait").getCount());
+
+    // idle connections are evicted
+    setProperty(CaravanHttpServiceConfig.HTTP_PARAM_IDLE_CONNECTION_TIMEOUT_MS, 1);
+    sleep(10);
+    underTest.evictConnections();
+    assertEquals(0, pool.getAvailable());
+  }
+
+  @Test
+  public void testAsyncPool() throws Exception {
+    setProperty(CaravanHttpServiceConfig.HTTP_PARAM_MAX_CONNECTIONS_PER_ROUTE, 2);
+    ServiceConnectionPool pool = underTest.get(SERVICE_ID);
+
+    Future<HttpResponse> future = pool.getHttpAsyncClient().execute(new HttpGet(url), null);
+    assertEquals(200, future.get().getStatusLine().getStatusCode());
+    assertEquals(1, pool.getLeaseWait().getCount());
+    assertEquals(0, pool.getLeased());
+  }
+
+  @Test
+  public void testChangedSettings() {
+    setProperty(CaravanHttpServiceConfig.HTTP_PARAM_MAX_CONNECTIONS_PER_ROUTE, 2);
+    ServiceConnectionPool pool = underTest.get(SERVICE_ID);
+
+    // limits are applied to the existing pool
+    setProperty(CaravanHttpServiceConfig.HTTP_PARAM_MAX_CONNECTIONS_PER_ROUTE, 5);
+    setProperty(CaravanHttpServiceConfig.HTTP_PARAM_MAX_TOTAL_CONNECTIONS, 10);
+    assertSame(pool, underTest.get(SERVICE_ID));
+
+    // a changed TTL replaces the pool
+    setProperty(CaravanHttpServiceConfig.HTTP_PARAM_CONNECTION_TTL_MS, 60000);
+    ServiceConnectionPool newPool = underTest.get(SERVICE_ID);
+    assertNotSame(pool, newPool);
+    assertEquals(60000, newPool.getConnectionTtlMs());
+    assertTrue(metricRegistry.getNames().contains(METRIC_PREFIX + "leased"));
+
+    // unsetting the limit switches back to the shared pool
+    setProperty(CaravanHttpServiceConfig.HTTP_PARAM_MAX_CONNECTIONS_PER_ROUTE, 0);
+    assertNull(underTest.get(SERVICE_ID));
+    assertTrue(metricRegistry.getNames().isEmpty());
+  }
+
+  @Test
+  public void testRetiredPool() throws IOException {
+    setProperty(CaravanHttpServiceConfig.HTTP_PARAM_MAX_CONNECTIONS_PER_ROUTE, 2);
+    ServiceConnectionPool pool = underTest.get(SERVICE_ID);
+    long now;
+
+    try (CloseableHttpResponse response = pool.getHttpClient().execute(new HttpGet(url))) {
+      setProperty(CaravanHttpServiceConfig.HTTP_PARAM_CONNECTION_TTL_MS, 60000);
+      assertNotSame(pool, underTest.get(SERVICE_ID));
+      now = System.currentTimeMillis();
+
+      // the replaced pool is kept open while a connection is leased
+      underTest.closeRetiredPools(now + ServiceConnectionPools.EVICTION_INTERVAL_MS);
+      assertFalse(pool.isClosed());
+      EntityUtils.consume(response.getEntity());
+    }
+
+    // a drained pool is kept for at least one eviction interval
+    underTest.closeRetiredPools(now);
+    assertFalse(pool.isClosed());
+    underTest.closeRetiredPools(now + ServiceConnectionPools.EVICTION_INTERVAL_MS);
+    assertTrue(pool.isClosed());
+  }
+
+  @Test
+  public void testRetiredPoolGracePeriod() throws IOException {
+    setProperty(CaravanHttpServiceConfig.HTTP_PARAM_MAX_CONNECTIONS_PER_ROUTE, 2);
+    ServiceConnectionPool pool = underTest.get(SERVICE_ID);
+
+    try (CloseableHttpResponse response = pool.getHttpClient().execute(new HttpGet(url))) {
+      setProperty(CaravanHttpServiceConfig.HTTP_PARAM_MAX_CONNECTIONS_PER_ROUTE, 0);
+      assertNull(underTest.get(SERVICE_ID));
+      long now = System.currentTimeMillis();
+
+      // pools with leased connections are closed after the grace period
+      underTest.closeRetiredPools(now + ServiceConnectionPools.RETIRED_POOL_GRACE_PERIOD_MS);
+      assertTrue(pool.isClosed());
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testClosed() {
+    setProperty(CaravanHttpServiceConfig.HTTP_PARAM_MAX_CONNECTIONS_PER_ROUTE, 2);
+    ServiceConnectionPool pool = underTest.get(SERVICE_ID);
+    underTest.close();
+    pool.getHttpClient();
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    }
+    catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+}
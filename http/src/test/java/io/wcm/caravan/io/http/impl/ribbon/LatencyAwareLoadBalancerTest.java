@@ -0,0 +1,165 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl.ribbon;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.google.common.collect.ImmutableList;
+import com.netflix.client.config.CommonClientConfigKey;
+import com.netflix.client.config.IClientConfig;
+import com.netflix.loadbalancer.Server;
+
+import rx.Observable;
+import rx.Subscription;
+import rx.subjects.PublishSubject;
+
+public class LatencyAwareLoadBalancerTest {
+
+  private static final Server SERVER1 = new Server("host1:8080");
+  private static final Server SERVER2 = new Server("host2:8080");
+
+  private AtomicLong nanoClock;
+  private LatencyAwareLoadBalancer underTest;
+
+  @Before
+  public void setUp() {
+    nanoClock = new AtomicLong();
+    underTest = new LatencyAwareLoadBalancer(nanoClock::get);
+    underTest.addServers(ImmutableList.of(new Server("host1:8080"), new Server("host2:8080")));
+  }
+
+  @Test
+  public void testInitWithNiwsConfig() {
+    IClientConfig clientConfig = Mockito.mock(IClientConfig.class);
+    Mockito.when(clientConfig.get(CommonClientConfigKey.ListOfServers)).thenReturn("host1:8080, host2:8080,host3:8080");
+    LatencyAwareLoadBalancer loadBalancer = new LatencyAwareLoadBalancer();
+    loadBalancer.initWithNiwsConfig(clientConfig);
+    assertEquals(ImmutableList.of(SERVER1, SERVER2, new Server("host3:8080")), loadBalancer.getAllServers());
+  }
+
+  @Test
+  public void testNoServers() {
+    assertNull(new LatencyAwareLoadBalancer().chooseServer(null));
+  }
+
+  @Test
+  public void testAddServers() {
+    underTest.addServers(ImmutableList.of(new Server("host2:8080"), new Server("host3:8080")));
+    assertEquals(3, underTest.getAllServers().size());
+  }
+
+  @Test
+  public void testMarkServerDown() {
+    underTest.markServerDown(underTest.getAllServers().get(0));
+    assertEquals(ImmutableList.of(SERVER2), underTest.getReachableServers());
+    for (int i = 0; i < 20; i++) {
+      assertEquals(SERVER2, underTest.chooseServer(null));
+    }
+  }
+
+  @Test
+  public void testAddedServersAreAlive() {
+    Server server = new Server("host3:8080");
+    server.setAlive(false);
+    underTest.addServers(ImmutableList.of(server));
+    assertTrue(server.isAlive());
+    assertEquals(3, underTest.getReachableServers().size());
+  }
+
+  @Test
+  public void testMarkedDownServerIsRetried() {
+    underTest.markServerDown(SERVER1);
+    nanoClock.addAndGet(LatencyAwareLoadBalancer.DOWN_SERVER_RETRY_NANOS - 1);
+    assertEquals(ImmutableList.of(SERVER2), underTest.getReachableServers());
+
+    nanoClock.addAndGet(1);
+    assertEquals(ImmutableList.of(SERVER1, SERVER2), underTest.getReachableServers());
+    assertTrue(underTest.getAllServers().get(0).isAlive());
+  }
+
+  @Test
+  public void testPreferFasterServer() {
+    respond(SERVER1, 100);
+    respond(SERVER2, 10);
+    for (int i = 0; i < 20; i++) {
+      assertEquals(SERVER2, underTest.chooseServer(null));
+    }
+  }
+
+  @Test
+  public void testPreferServerWithLessRequestsInFlight() {
+    PublishSubject<String> response = PublishSubject.create();
+    Subscription subscription = underTest.track(SERVER1, response).subscribe();
+    assertEquals(1, underTest.getInFlight(SERVER1));
+    for (int i = 0; i < 20; i++) {
+      assertEquals(SERVER2, underTest.chooseServer(null));
+    }
+
+    // cancelled requests are no longer in flight
+    subscription.unsubscribe();
+    assertEquals(0, underTest.getInFlight(SERVER1));
+  }
+
+  @Test
+  public void testResponseTimeAverage() {
+    respond(SERVER1, 100);
+    assertEquals(TimeUnit.MILLISECONDS.toNanos(100), underTest.getAverageResponseTimeNanos(SERVER1), 1);
+    respond(SERVER1, 200);
+    // the previous average decays while the second request is in flight
+    double previous = TimeUnit.MILLISECONDS.toNanos(100) * Math.exp(-(double)TimeUnit.MILLISECONDS.toNanos(200)
+        / LatencyAwareLoadBalancer.DECAY_TIME_NANOS);
+    double expected = previous + LatencyAwareLoadBalancer.EWMA_ALPHA * (TimeUnit.MILLISECONDS.toNanos(200) - previous);
+    assertEquals(expected, underTest.getAverageResponseTimeNanos(SERVER1), 1);
+  }
+
+  @Test
+  public void testFailuresArePenalized() {
+    respond(SERVER1, 100);
+    underTest.track(SERVER1, Observable.error(new IllegalStateException())).subscribe(value -> { }, ex -> { });
+    assertTrue(underTest.getAverageResponseTimeNanos(SERVER1) > TimeUnit.MILLISECONDS.toNanos(100));
+    assertEquals(0, underTest.getInFlight(SERVER1));
+  }
+
+  @Test
+  public void testSlowServerRecovers() {
+    respond(SERVER1, 1000);
+    respond(SERVER2, 10);
+    nanoClock.addAndGet(10 * LatencyAwareLoadBalancer.DECAY_TIME_NANOS);
+    assertTrue(underTest.getAverageResponseTimeNanos(SERVER1) < TimeUnit.MILLISECONDS.toNanos(1));
+  }
+
+  private void respond(Server server, long responseTimeMs) {
+    PublishSubject<String> response = PublishSubject.create();
+    underTest.track(server, response).subscribe();
+    nanoClock.addAndGet(TimeUnit.MILLISECONDS.toNanos(responseTimeMs));
+    response.onNext("response");
+    response.onCompleted();
+  }
+
+}
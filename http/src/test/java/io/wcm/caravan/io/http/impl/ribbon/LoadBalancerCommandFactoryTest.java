@@ -19,7 +19,11 @@
  */
 package io.wcm.caravan.io.http.impl.ribbon;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.List;
@@ -36,6 +40,10 @@ import com.google.common.collect.ImmutableList;
 import com.netflix.loadbalancer.ILoadBalancer;
 import com.netflix.loadbalancer.Server;
 
+import io.wcm.caravan.io.http.impl.ArchaiusConfig;
+import io.wcm.caravan.io.http.impl.CaravanHttpServiceConfig;
+import io.wcm.caravan.io.http.impl.ribbon.LoadBalancerCommandFactory.CommandTemplate;
+
 @RunWith(MockitoJUnitRunner.class)
 public class LoadBalancerCommandFactoryTest {
 
@@ -68,4 +76,49 @@ public class LoadBalancerCommandFactoryTest {
     assertFalse(factory.isLocalRequest(SERVICE_ID));
   }
 
+  @Test
+  public void chooseOtherServer_shouldReturnServerChosenByLoadBalancer() {
+    Server server1 = new Server("host1:8080");
+    Server server2 = new Server("host2:8080");
+    Mockito.when(loadBalancer.chooseServer(null)).thenReturn(server1, server2);
+    assertEquals(server2, factory.chooseOtherServer(SERVICE_ID, server1));
+  }
+
+  @Test
+  public void chooseOtherServer_shouldFallBackToReachableServers() {
+    Server server1 = new Server("host1:8080");
+    Server server2 = new Server("host2:8080");
+    Mockito.when(loadBalancer.chooseServer(null)).thenReturn(server1);
+    Mockito.when(loadBalancer.getReachableServers()).thenReturn(ImmutableList.of(server1, server2));
+    assertEquals(server2, factory.chooseOtherServer(SERVICE_ID, server1));
+  }
+
+  @Test
+  public void chooseOtherServer_shouldReturnNullForSingleServer() {
+    Server server1 = new Server("host1:8080");
+    Mockito.when(loadBalancer.chooseServer(null)).thenReturn(server1);
+    Mockito.when(loadBalancer.getReachableServers()).thenReturn(ImmutableList.of(server1));
+    assertNull(factory.chooseOtherServer(SERVICE_ID, server1));
+  }
+
+  @Test
+  public void getTemplate_shouldBeReusedForService() {
+    CommandTemplate template = factory.getTemplate(SERVICE_ID);
+    assertSame(loadBalancer, template.getLoadBalancer());
+    assertSame(template, factory.getTemplate(SERVICE_ID));
+    Mockito.verify(loadBalancerFactory, Mockito.times(1)).getLoadBalancer(SERVICE_ID);
+  }
+
+  @Test
+  public void getTemplate_shouldBeRebuiltAfterConfigurationChange() {
+    CommandTemplate template = factory.getTemplate(SERVICE_ID);
+    ArchaiusConfig.getConfiguration().setProperty(SERVICE_ID + CaravanHttpServiceConfig.HTTP_PARAM_PROTOCOL, "https");
+    try {
+      assertNotSame(template, factory.getTemplate(SERVICE_ID));
+    }
+    finally {
+      ArchaiusConfig.getConfiguration().clearProperty(SERVICE_ID + CaravanHttpServiceConfig.HTTP_PARAM_PROTOCOL);
+    }
+  }
+
 }
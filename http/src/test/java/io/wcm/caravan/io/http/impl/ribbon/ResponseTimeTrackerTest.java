@@ -0,0 +1,71 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl.ribbon;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ResponseTimeTrackerTest {
+
+  private AtomicLong clock;
+  private ResponseTimeTracker underTest;
+
+  @Before
+  public void setUp() {
+    clock = new AtomicLong(1000000);
+    underTest = new ResponseTimeTracker(clock::get);
+  }
+
+  @Test
+  public void testNotEnoughSamples() {
+    for (int i = 1; i < ResponseTimeTracker.MIN_SAMPLES; i++) {
+      underTest.update(i);
+    }
+    assertEquals(-1, underTest.get95thPercentile());
+  }
+
+  @Test
+  public void test95thPercentile() {
+    for (int i = 1; i <= 100; i++) {
+      underTest.update(i);
+    }
+    assertEquals(95, underTest.get95thPercentile(), 1);
+  }
+
+  @Test
+  public void testRefreshInterval() {
+    for (int i = 1; i <= 100; i++) {
+      underTest.update(i);
+    }
+    long percentile95 = underTest.get95thPercentile();
+    for (int i = 0; i < 1000; i++) {
+      underTest.update(1000);
+    }
+    assertEquals(percentile95, underTest.get95thPercentile());
+
+    clock.addAndGet(ResponseTimeTracker.REFRESH_INTERVAL_MS);
+    assertEquals(1000, underTest.get95thPercentile());
+  }
+
+}
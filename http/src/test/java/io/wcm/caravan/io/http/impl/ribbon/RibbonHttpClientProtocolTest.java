@@ -40,7 +40,7 @@ import io.wcm.caravan.io.http.impl.ApacheHttpClient;
 import io.wcm.caravan.io.http.impl.ArchaiusConfig;
 import io.wcm.caravan.io.http.impl.CaravanHttpServiceConfig;
 import io.wcm.caravan.io.http.impl.CaravanHttpThreadPoolConfig;
-import io.wcm.caravan.io.http.request.CaravanHttpRequest;
+import io.wcm.caravan.io.http.impl.ResolvedRequest;
 import io.wcm.caravan.io.http.request.CaravanHttpRequestBuilder;
 import io.wcm.caravan.io.http.response.CaravanHttpResponse;
 import io.wcm.caravan.io.http.response.CaravanHttpResponseBuilder;
@@ -166,12 +166,12 @@ public class RibbonHttpClientProtocolTest {
     CaravanHttpServiceConfig serviceConfig = context.registerInjectActivateService(new CaravanHttpServiceConfig(),
         getServiceConfigProperties(serviceId, hostPort, protocol));
 
-    when(apacheClient.execute(any())).then(new Answer<Observable<CaravanHttpResponse>>() {
+    when(apacheClient.execute(any(ResolvedRequest.class))).then(new Answer<Observable<CaravanHttpResponse>>() {
 
       @Override
       public Observable<CaravanHttpResponse> answer(InvocationOnMock invocation) {
-        CaravanHttpRequest request = invocation.getArgument(0);
-        assertEquals(expectedUrl, request.getUrl().toString());
+        ResolvedRequest request = invocation.getArgument(0);
+        assertEquals(expectedUrl, request.getUrl());
         CaravanHttpResponse response = new CaravanHttpResponseBuilder().status(200).reason("OK").build();
         return Observable.just(response);
       }
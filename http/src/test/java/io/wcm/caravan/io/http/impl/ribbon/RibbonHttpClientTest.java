@@ -26,6 +26,8 @@ import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.io.IOException;
+
 import javax.servlet.http.HttpServletResponse;
 
 import org.apache.commons.lang3.CharEncoding;
@@ -56,6 +58,8 @@ public class RibbonHttpClientTest {
   private static final String SERVICE_NAME = "/test/ribbon/service";
   private static final String HTTP_200_URI = "/request";
   private static final String HTTP_404_URI = "/invalid";
+  private static final String HEDGING_URI = "/hedging";
+  private static final int SLOW_RESPONSE_MS = 3000;
 
   @Rule
   public OsgiContext context = new OsgiContext();
@@ -99,11 +103,21 @@ public class RibbonHttpClientTest {
         .willReturn(aResponse()
             .withStatus(HttpServletResponse.SC_NOT_FOUND)
             ));
+    workingServer.stubFor(get(urlEqualTo(HEDGING_URI))
+        .willReturn(aResponse()
+            .withBody("fast")
+            ));
 
     defectServer1.stubFor(get(urlMatching(".*"))
         .willReturn(aResponse()
             .withStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR)
             ));
+    // the most recently added stub takes precedence
+    defectServer1.stubFor(get(urlEqualTo(HEDGING_URI))
+        .willReturn(aResponse()
+            .withFixedDelay(SLOW_RESPONSE_MS)
+            .withBody("slow")
+            ));
     defectServer2.stubFor(get(urlMatching(".*"))
         .willReturn(aResponse()
             .withStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR)
@@ -197,4 +211,43 @@ public class RibbonHttpClientTest {
     assertEquals(HttpServletResponse.SC_NOT_FOUND, response.status());
   }
 
+  @Test
+  public void test_hedgedRequestToOtherServer() throws IOException {
+    context.registerInjectActivateService(new CaravanHttpServiceConfig(), ImmutableMap.<String, Object>builder()
+        .put(CaravanHttpServiceConfig.SERVICE_ID_PROPERTY, SERVICE_NAME)
+        .put(CaravanHttpServiceConfig.RIBBON_HOSTS_PROPERTY, Lists.newArrayList(workingServerHost, defectServer1Host))
+        .put(CaravanHttpServiceConfig.HEDGING_ENABLED_PROPERTY, true)
+        .put(CaravanHttpServiceConfig.HEDGE_DELAY_MS_PROPERTY, 100)
+        .build());
+
+    // whichever server is chosen first, the fast server answers before the slow one
+    for (int i = 0; i < 2; i++) {
+      long start = System.currentTimeMillis();
+      CaravanHttpResponse response = client.execute(new CaravanHttpRequestBuilder(SERVICE_NAME).append(HEDGING_URI).build())
+          .toBlocking().single();
+      assertEquals("fast", response.body().asString());
+      assertTrue(System.currentTimeMillis() - start < SLOW_RESPONSE_MS);
+    }
+  }
+
+  @Test
+  public void test_hedgedRequestToOtherServer_threadIsolation() throws IOException {
+    context.registerInjectActivateService(new CaravanHttpServiceConfig(), ImmutableMap.<String, Object>builder()
+        .put(CaravanHttpServiceConfig.SERVICE_ID_PROPERTY, SERVICE_NAME)
+        .put(CaravanHttpServiceConfig.RIBBON_HOSTS_PROPERTY, Lists.newArrayList(workingServerHost, defectServer1Host))
+        .put(CaravanHttpServiceConfig.HEDGING_ENABLED_PROPERTY, true)
+        .put(CaravanHttpServiceConfig.HEDGE_DELAY_MS_PROPERTY, 100)
+        .put("hystrixThreadPoolKeyOverride", "default")
+        .build());
+
+    // the losing blocking request is aborted, so it does not block the subscribing thread until the slow response
+    for (int i = 0; i < 4; i++) {
+      long start = System.currentTimeMillis();
+      CaravanHttpResponse response = client.execute(new CaravanHttpRequestBuilder(SERVICE_NAME).append(HEDGING_URI).build())
+          .toBlocking().single();
+      assertEquals("fast", response.body().asString());
+      assertTrue(System.currentTimeMillis() - start < SLOW_RESPONSE_MS);
+    }
+  }
+
 }
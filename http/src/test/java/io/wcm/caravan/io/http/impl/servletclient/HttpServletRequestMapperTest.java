@@ -20,6 +20,12 @@
 package io.wcm.caravan.io.http.impl.servletclient;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+
+import javax.servlet.ServletInputStream;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -75,4 +81,57 @@ public class HttpServletRequestMapperTest {
     assertEquals("/test?", mapper.getServletPath());
   }
 
+  @Test
+  public void shouldReturnNoContentForRequestWithoutBody() throws IOException {
+    assertEquals(-1, mapper.getContentLength());
+    assertNull(mapper.getContentType());
+    assertNull(mapper.getCharacterEncoding());
+    assertEquals(-1, mapper.getInputStream().read());
+  }
+
+  @Test
+  public void shouldStreamRequestBody() throws IOException {
+    byte[] data = new byte[] {
+        0x01, (byte)0xff, 0x03, 0x04, 0x05
+    };
+    HttpServletRequestMapper postMapper = new HttpServletRequestMapper(new CaravanHttpRequestBuilder(SERVICE_ID)
+        .method("PUT")
+        .append(SERVICE_ID)
+        .header("content-type", "application/octet-stream")
+        .body(data, null)
+        .build());
+
+    assertEquals("PUT", postMapper.getMethod());
+    assertEquals(5, postMapper.getContentLength());
+    assertEquals("application/octet-stream", postMapper.getContentType());
+
+    ServletInputStream in = postMapper.getInputStream();
+    assertSame(in, postMapper.getInputStream());
+    assertEquals(0x01, in.read());
+    assertEquals(0xff, in.read());
+    byte[] rest = new byte[10];
+    assertEquals(3, in.read(rest, 0, rest.length));
+    assertEquals(0x05, rest[2]);
+    assertEquals(-1, in.read(rest, 0, rest.length));
+  }
+
+  @Test
+  public void shouldReadTextBody() throws IOException {
+    HttpServletRequestMapper postMapper = new HttpServletRequestMapper(new CaravanHttpRequestBuilder(SERVICE_ID)
+        .method("POST")
+        .append(SERVICE_ID)
+        .body("text body")
+        .build());
+
+    assertEquals("UTF-8", postMapper.getCharacterEncoding());
+    assertEquals("text/plain; charset=UTF-8", postMapper.getContentType());
+    assertEquals("text body", postMapper.getReader().readLine());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void shouldNotAllowReaderAfterInputStream() throws IOException {
+    mapper.getInputStream();
+    mapper.getReader();
+  }
+
 }
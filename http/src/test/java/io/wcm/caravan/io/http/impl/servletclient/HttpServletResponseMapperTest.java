@@ -0,0 +1,85 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.http.impl.servletclient;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+import javax.servlet.ServletOutputStream;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+
+import io.wcm.caravan.io.http.response.Body;
+import io.wcm.caravan.io.http.response.CaravanHttpResponse;
+
+public class HttpServletResponseMapperTest {
+
+  private final HttpServletResponseMapper underTest = new HttpServletResponseMapper();
+
+  @Test
+  public void shouldWriteBulkToOutputStream() throws IOException {
+    String content = StringUtils.repeat("0123456789", 10000);
+    ServletOutputStream out = underTest.getOutputStream();
+    out.write(content.getBytes(StandardCharsets.UTF_8));
+    assertSame(out, underTest.getOutputStream());
+
+    assertBody(content, underTest.getResponse());
+  }
+
+  @Test
+  public void shouldFlushWriterForResponse() throws IOException {
+    PrintWriter writer = underTest.getWriter();
+    writer.write("text without flush");
+    assertSame(writer, underTest.getWriter());
+
+    assertBody("text without flush", underTest.getResponse());
+  }
+
+  @Test
+  public void shouldUseCharacterEncodingForWriter() throws IOException {
+    underTest.setCharacterEncoding("ISO-8859-1");
+    underTest.getWriter().write("\u00e4");
+
+    try (Body body = underTest.getResponse().body()) {
+      assertEquals(1, body.length().intValue());
+    }
+  }
+
+  @Test
+  public void shouldDiscardBufferedCharactersOnResetBuffer() throws IOException {
+    underTest.getWriter().write("discarded");
+    underTest.resetBuffer();
+    underTest.getWriter().write("kept");
+
+    assertBody("kept", underTest.getResponse());
+  }
+
+  private static void assertBody(String expected, CaravanHttpResponse response) throws IOException {
+    try (Body body = response.body()) {
+      assertEquals(expected, body.asString());
+    }
+  }
+
+}
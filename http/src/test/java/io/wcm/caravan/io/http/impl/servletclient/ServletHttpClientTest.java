@@ -26,6 +26,7 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 import javax.servlet.Servlet;
 import javax.servlet.ServletException;
@@ -102,6 +103,17 @@ public class ServletHttpClientTest {
     assertEquals(FALLBACK, response);
   }
 
+  @Test(expected = RequestFailedRuntimeException.class)
+  public void execute_shouldThrowRequestFailedRuntimeExceptionForRequestErrorOfNonIdempotentMethod() throws ServletException, IOException {
+    Mockito.doThrow(new NotSupportedByRequestMapperException()).when(servlet).service(any(), any());
+    CaravanHttpRequest request = new CaravanHttpRequestBuilder(SERVICE_ID)
+        .method("PATCH")
+        .append("/path/ro/resource")
+        .body("{}".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8)
+        .build();
+    client.execute(request).toBlocking().single();
+  }
+
   @Test(expected = RequestFailedRuntimeException.class)
   public void execute_shouldThrowRequestFailedRuntimeExceptionForServerError() throws ServletException, IOException {
     Mockito.doThrow(new ServletException()).when(servlet).service(any(), any());
@@ -27,6 +27,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.Multimap;
 
@@ -60,4 +61,10 @@ public class CaravanHttpRequestTest {
     assertEquals("test-id", request.getCorrelationId());
   }
 
+  @Test
+  public void testGetHeaderValues() throws Exception {
+    assertEquals(ImmutableList.of("public", "max-age= 100"), request.getHeaderValues("cache-control"));
+    assertTrue(request.getHeaderValues("Vary").isEmpty());
+  }
+
 }
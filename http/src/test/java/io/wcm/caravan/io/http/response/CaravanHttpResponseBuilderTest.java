@@ -84,4 +84,15 @@ public class CaravanHttpResponseBuilderTest {
     assertEquals("BODY", body.asString());
   }
 
+  @Test
+  public void testBody_Body() throws IOException {
+    Body body = ByteArrayBody.orNull("BODY", Charsets.UTF_8);
+    CaravanHttpResponse response = builder
+        .status(200)
+        .reason("OK")
+        .body(body)
+        .build();
+    assertEquals(body, response.body());
+  }
+
 }
@@ -28,6 +28,7 @@ import java.util.Map;
 import org.junit.Test;
 
 import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ImmutableMultimap;
 
@@ -77,6 +78,24 @@ public class CaravanHttpResponseTest {
     assertTrue(cacheControl.isEmpty());
   }
 
+  @Test
+  public void test_getCacheControl_mixedCase() throws Exception {
+    ImmutableListMultimap<String, String> headers = ImmutableListMultimap.<String, String>builder()
+        .put("CACHE-CONTROL", "public").put("cache-control", "max-age=1").build();
+    CaravanHttpResponse response = new CaravanHttpResponse(200, "OK", headers, null);
+
+    Map<String, String> cacheControl = response.getCacheControl();
+    assertTrue(cacheControl.containsKey("public"));
+    assertEquals("1", cacheControl.get("max-age"));
+  }
+
+  @Test
+  public void test_headerValues() {
+    CaravanHttpResponse response = new CaravanHttpResponse(200, "OK", ImmutableMultimap.of("Content-Type", "text/plain"), null);
+    assertEquals(ImmutableList.of("text/plain"), response.headerValues("content-type"));
+    assertTrue(response.headerValues("Vary").isEmpty());
+  }
+
   @Test(expected = IllegalStateException.class)
   public void test_invalidStatusCode() {
     new CaravanHttpResponse(100, "?", ImmutableMultimap.of(), null);
@@ -0,0 +1,55 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.jsontransform.benchmarks;
+
+/**
+ * Number of items in the generated feed documents.
+ */
+public enum DocumentSize {
+
+  /**
+   * About 2 KB of JSON
+   */
+  SMALL(10),
+
+  /**
+   * About 200 KB of JSON
+   */
+  MEDIUM(1000),
+
+  /**
+   * About 20 MB of JSON, comparable to a large legacy XML feed
+   */
+  LARGE(100000);
+
+  private final int items;
+
+  DocumentSize(int items) {
+    this.items = items;
+  }
+
+  /**
+   * @return Number of items
+   */
+  public int getItems() {
+    return items;
+  }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.jsontransform.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.wcm.caravan.io.jsontransform.element.JsonElement;
+import io.wcm.caravan.io.jsontransform.source.JacksonStreamSource;
+import io.wcm.caravan.io.jsontransform.source.Source;
+import io.wcm.caravan.io.jsontransform.source.XmlSource;
+
+/**
+ * Generated product feed in JSON and XML format, shared by all benchmarks. The JSON document has the structure the
+ * processors are configured for: string values for numeric fields, tags as object to convert into an array.
+ */
+@State(Scope.Benchmark)
+public class Documents {
+
+  static final String XML_ROOT = "Feed";
+
+  @Param({ "SMALL", "MEDIUM", "LARGE" })
+  public DocumentSize size;
+
+  byte[] json;
+  byte[] xml;
+  List<JsonElement> elements;
+
+  @Setup
+  public void setUp() throws IOException {
+    json = createJson(size.getItems()).getBytes(StandardCharsets.UTF_8);
+    xml = createXml(size.getItems()).getBytes(StandardCharsets.UTF_8);
+    elements = new ArrayList<>();
+    try (Source source = jsonSource()) {
+      while (source.hasNext()) {
+        elements.add(source.next());
+      }
+    }
+  }
+
+  Source jsonSource() throws IOException {
+    return new JacksonStreamSource(new ByteArrayInputStream(json));
+  }
+
+  Source xmlSource() throws XMLStreamException {
+    return new XmlSource(new ByteArrayInputStream(xml), XML_ROOT);
+  }
+
+  /**
+   * Reads all elements of the source and counts them for the {@link ElementsProfiler}.
+   * @param source Source
+   * @param documentBytes Size of the source document
+   * @param blackhole Blackhole
+   */
+  static void drain(Source source, long documentBytes, Blackhole blackhole) {
+    long count = 0;
+    while (source.hasNext()) {
+      blackhole.consume(source.next());
+      count++;
+    }
+    ElementsProfiler.count(documentBytes, count);
+  }
+
+  private static String createJson(int items) {
+    StringBuilder json = new StringBuilder("{\"feed\":{\"title\":\"Product feed\",\"items\":[");
+    for (int i = 0; i < items; i++) {
+      if (i > 0) {
+        json.append(',');
+      }
+      json.append("{\"id\":\"").append(i)
+          .append("\",\"name\":\"Product ").append(i)
+          .append("\",\"description\":\"Description of product ").append(i).append(" with some more text")
+          .append("\",\"price\":\"").append(i % 100).append(".99")
+          .append("\",\"stock\":\"").append(i % 17)
+          .append("\",\"tags\":{\"tag1\":\"new\",\"tag2\":\"sale\",\"tag3\":\"category-").append(i % 10)
+          .append("\"}}");
+    }
+    return json.append("]}}").toString();
+  }
+
+  private static String createXml(int items) {
+    StringBuilder xml = new StringBuilder("<Feed><Title>Product feed</Title><Items>");
+    for (int i = 0; i < items; i++) {
+      xml.append("<Item><Id>").append(i)
+          .append("</Id><Name>Product ").append(i)
+          .append("</Name><Description>Description of product ").append(i).append(" with some more text")
+          .append("</Description><Price>").append(i % 100).append(".99")
+          .append("</Price><Stock>").append(i % 17)
+          .append("</Stock><Tags><Tag>new</Tag><Tag>sale</Tag><Tag>category-").append(i % 10)
+          .append("</Tag></Tags></Item>");
+    }
+    return xml.append("</Items></Feed>").toString();
+  }
+
+}
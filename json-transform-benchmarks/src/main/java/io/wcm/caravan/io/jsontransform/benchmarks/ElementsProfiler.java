@@ -0,0 +1,94 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.jsontransform.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+/**
+ * Reports the document bytes and JSON elements processed per second, and the bytes allocated per JSON element. The
+ * benchmarks report their work with {@link #count(long, long)}; allocations are taken from the per-thread allocation
+ * counters of the JVM.
+ */
+public final class ElementsProfiler implements InternalProfiler {
+
+  private static final LongAdder BYTES = new LongAdder();
+  private static final LongAdder ELEMENTS = new LongAdder();
+
+  private long startNanos;
+  private long startAllocatedBytes;
+
+  /**
+   * @param bytes Number of document bytes read or written
+   * @param elements Number of JSON elements read or written
+   */
+  static void count(long bytes, long elements) {
+    BYTES.add(bytes);
+    ELEMENTS.add(elements);
+  }
+
+  @Override
+  public String getDescription() {
+    return "Bytes/s, elements/s and bytes allocated per JSON element";
+  }
+
+  @Override
+  public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+    BYTES.reset();
+    ELEMENTS.reset();
+    startAllocatedBytes = getAllocatedBytes();
+    startNanos = System.nanoTime();
+  }
+
+  @Override
+  public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams,
+      IterationResult result) {
+    double seconds = (System.nanoTime() - startNanos) / 1e9;
+    long allocatedBytes = getAllocatedBytes() - startAllocatedBytes;
+    long bytes = BYTES.sum();
+    long elements = ELEMENTS.sum();
+    return Arrays.asList(
+        new ScalarResult("elements.bytes.rate", bytes / seconds, "B/s", AggregationPolicy.AVG),
+        new ScalarResult("elements.rate", elements / seconds, "elements/s", AggregationPolicy.AVG),
+        new ScalarResult("elements.alloc.norm", elements > 0 ? (double)allocatedBytes / elements : Double.NaN,
+            "B/element", AggregationPolicy.AVG));
+  }
+
+  private static long getAllocatedBytes() {
+    com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+    long sum = 0;
+    for (long allocated : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+      // -1 for threads that terminated in the meantime
+      sum += Math.max(0, allocated);
+    }
+    return sum;
+  }
+
+}
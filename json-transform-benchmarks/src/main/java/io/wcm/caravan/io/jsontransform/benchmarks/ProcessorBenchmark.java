@@ -0,0 +1,109 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.jsontransform.benchmarks;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import io.wcm.caravan.io.jsontransform.processor.ArrayProcessor;
+import io.wcm.caravan.io.jsontransform.processor.NumericFieldsProcessor;
+import io.wcm.caravan.io.jsontransform.processor.RenameProcessor;
+import io.wcm.caravan.io.jsontransform.source.Source;
+
+/**
+ * {@link RenameProcessor}, {@link NumericFieldsProcessor} and {@link ArrayProcessor} on top of a JSON source, alone
+ * and chained. Subtract the {@link SourceBenchmark} results to get the cost of the processors.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ProcessorBenchmark {
+
+  private static final Map<String, String> NAME_MAPPING = ImmutableMap.of(
+      "name", "title",
+      "description", "text",
+      "Name", "title",
+      "Description", "text");
+
+  private static final Set<String> NUMERIC_FIELDS = ImmutableSet.of("id", "price", "stock");
+
+  private static final Set<String> ARRAY_KEYS = ImmutableSet.of("tags");
+
+  @Benchmark
+  public void rename(Documents documents, Blackhole blackhole) throws IOException {
+    try (Source source = new RenameProcessor(documents.jsonSource(), NAME_MAPPING)) {
+      Documents.drain(source, documents.json.length, blackhole);
+    }
+  }
+
+  @Benchmark
+  public void numericFields(Documents documents, Blackhole blackhole) throws IOException {
+    try (Source source = new NumericFieldsProcessor(documents.jsonSource(), NUMERIC_FIELDS)) {
+      Documents.drain(source, documents.json.length, blackhole);
+    }
+  }
+
+  @Benchmark
+  public void array(Documents documents, Blackhole blackhole) throws IOException {
+    try (Source source = new ArrayProcessor(documents.jsonSource(), ARRAY_KEYS)) {
+      Documents.drain(source, documents.json.length, blackhole);
+    }
+  }
+
+  @Benchmark
+  public void chain(Documents documents, Blackhole blackhole) throws IOException {
+    try (Source source = chain(documents.jsonSource())) {
+      Documents.drain(source, documents.json.length, blackhole);
+    }
+  }
+
+  /**
+   * Typical legacy feed transformation: XML source with all three processors.
+   */
+  @Benchmark
+  public void xmlChain(Documents documents, Blackhole blackhole) throws IOException, XMLStreamException {
+    try (Source source = chain(documents.xmlSource())) {
+      Documents.drain(source, documents.xml.length, blackhole);
+    }
+  }
+
+  private static Source chain(Source source) {
+    return new RenameProcessor(new NumericFieldsProcessor(new ArrayProcessor(source, ARRAY_KEYS), NUMERIC_FIELDS), NAME_MAPPING);
+  }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.jsontransform.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.output.CountingOutputStream;
+import org.apache.commons.io.output.NullOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.wcm.caravan.io.jsontransform.element.JsonElement;
+import io.wcm.caravan.io.jsontransform.sink.JacksonJsonNodeSink;
+import io.wcm.caravan.io.jsontransform.sink.JacksonStreamSink;
+import io.wcm.caravan.io.jsontransform.sink.Sink;
+
+/**
+ * Writing pre-parsed elements with {@link JacksonStreamSink} to a discarding output stream, compared to building a
+ * tree with {@link JacksonJsonNodeSink}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SinkBenchmark {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  @Benchmark
+  public long jacksonStreamSink(Documents documents) throws IOException {
+    CountingOutputStream output = new CountingOutputStream(NullOutputStream.NULL_OUTPUT_STREAM);
+    try (Sink sink = new JacksonStreamSink(output)) {
+      write(sink, documents);
+    }
+    return output.getByteCount();
+  }
+
+  @Benchmark
+  public JsonNode jacksonJsonNodeSink(Documents documents) throws IOException {
+    JacksonJsonNodeSink sink = new JacksonJsonNodeSink(JSON_FACTORY);
+    write(sink, documents);
+    sink.close();
+    return sink.getJsonNode();
+  }
+
+  private static void write(Sink sink, Documents documents) throws IOException {
+    for (JsonElement element : documents.elements) {
+      sink.write(element);
+    }
+    ElementsProfiler.count(documents.json.length, documents.elements.size());
+  }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.io.jsontransform.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.wcm.caravan.io.jsontransform.source.JacksonStreamSource;
+import io.wcm.caravan.io.jsontransform.source.Source;
+import io.wcm.caravan.io.jsontransform.source.XmlSource;
+
+/**
+ * Reading whole documents with {@link JacksonStreamSource} and {@link XmlSource}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SourceBenchmark {
+
+  @Benchmark
+  public void jacksonStreamSource(Documents documents, Blackhole blackhole) throws IOException {
+    try (Source source = documents.jsonSource()) {
+      Documents.drain(source, documents.json.length, blackhole);
+    }
+  }
+
+  @Benchmark
+  public void xmlSource(Documents documents, Blackhole blackhole) throws IOException, XMLStreamException {
+    try (Source source = documents.xmlSource()) {
+      Documents.drain(source, documents.xml.length, blackhole);
+    }
+  }
+
+}